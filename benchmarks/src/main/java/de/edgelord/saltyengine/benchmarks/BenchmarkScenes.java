@@ -0,0 +1,106 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.benchmarks;
+
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.scene.Scene;
+import de.edgelord.saltyengine.scene.SceneManager;
+import testing.dummys.DummyGameObject;
+import de.edgelord.saltyengine.transform.Vector2f;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Helpers shared by the benchmarks for building reproducible scenes.
+ */
+final class BenchmarkScenes {
+
+    /**
+     * The side length of the square area the benchmark objects are spread across.
+     * With the 100x100 {@link DummyGameObject}s, this gives a handful of overlaps per object at 1000 objects.
+     */
+    static final float WORLD_SIZE = 4000f;
+
+    private static final long SEED = 42L;
+
+    private BenchmarkScenes() {
+    }
+
+    /**
+     * Creates <code>count</code> {@link DummyGameObject}s at random but reproducible positions.
+     *
+     * @param count the number of objects to create
+     * @return a new list containing the objects
+     */
+    static List<GameObject> createObjects(int count) {
+        return createObjects(count, WORLD_SIZE, WORLD_SIZE);
+    }
+
+    /**
+     * Creates <code>count</code> {@link DummyGameObject}s at random but reproducible positions within the given area.
+     *
+     * @param count  the number of objects to create
+     * @param width  the width of the area
+     * @param height the height of the area
+     * @return a new list containing the objects
+     */
+    static List<GameObject> createObjects(int count, float width, float height) {
+
+        Random random = new Random(SEED);
+        List<GameObject> gameObjects = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            gameObjects.add(new DummyGameObject(new Vector2f(random.nextFloat() * width, random.nextFloat() * height)));
+        }
+
+        return gameObjects;
+    }
+
+    /**
+     * Creates a new {@link Scene} with the given objects, disables gravity so that the objects stay where they are
+     * across iterations and sets it as the current scene.
+     *
+     * @param gameObjects the objects to add to the scene
+     * @return the new scene
+     */
+    static Scene createScene(List<GameObject> gameObjects) {
+
+        Scene scene = new Scene();
+
+        for (GameObject gameObject : gameObjects) {
+            scene.addGameObject(gameObject);
+        }
+
+        scene.disableGravity();
+        SceneManager.setCurrentScene(scene);
+
+        return scene;
+    }
+}
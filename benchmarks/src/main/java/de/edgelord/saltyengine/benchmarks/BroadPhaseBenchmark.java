@@ -0,0 +1,127 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.benchmarks;
+
+import de.edgelord.saltyengine.collision.BroadPhase;
+import de.edgelord.saltyengine.collision.BruteForceBroadPhase;
+import de.edgelord.saltyengine.collision.IntList;
+import de.edgelord.saltyengine.collision.SpatialHash;
+import de.edgelord.saltyengine.collision.SweepAndPrune;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link BroadPhase} implementations with a complete collision pass: all objects move a little, the broad
+ * phase is prepared and every object detects its collisions with its candidates.
+ * The <code>sparse</code> layout spreads the objects over a square, the <code>horizontal</code> layout puts them into
+ * a long, flat strip like in a side scroller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadPhaseBenchmark {
+
+    @Param({"bruteForce", "spatialHash", "sweepAndPrune"})
+    public String broadPhaseType;
+
+    @Param({"1000", "5000"})
+    public int objectCount;
+
+    @Param({"sparse", "horizontal"})
+    public String layout;
+
+    private List<GameObject> gameObjects;
+    private BroadPhase broadPhase;
+    private final IntList indices = new IntList();
+    private final List<GameObject> candidates = new ArrayList<>();
+    private float shift = 2f;
+
+    @Setup
+    public void setup() {
+
+        if (layout.equals("horizontal")) {
+            gameObjects = BenchmarkScenes.createObjects(objectCount, BenchmarkScenes.WORLD_SIZE * 8, BenchmarkScenes.WORLD_SIZE / 8);
+        } else {
+            gameObjects = BenchmarkScenes.createObjects(objectCount);
+        }
+        BenchmarkScenes.createScene(gameObjects);
+
+        switch (broadPhaseType) {
+            case "spatialHash":
+                broadPhase = new SpatialHash();
+                break;
+            case "sweepAndPrune":
+                broadPhase = new SweepAndPrune();
+                break;
+            default:
+                broadPhase = new BruteForceBroadPhase();
+        }
+    }
+
+    @Benchmark
+    public int collisionPass() {
+
+        shift = -shift;
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            final GameObject gameObject = gameObjects.get(i);
+
+            gameObject.setX(gameObject.getX() + shift);
+            gameObject.getHitbox().recalculate();
+        }
+
+        broadPhase.prepare(gameObjects);
+
+        int collisions = 0;
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            broadPhase.query(i, indices, candidates);
+            collisions += gameObjects.get(i).detectCollisions(candidates).size();
+            candidates.clear();
+        }
+
+        return collisions;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.benchmarks;
+
+import de.edgelord.saltyengine.gameobject.GameObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GameObject#doCollisionDetection(List)} of a single object against all other objects of a scene,
+ * which is what every non-stationary object does once per tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionDetectionBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int objectCount;
+
+    private List<GameObject> gameObjects;
+    private GameObject subject;
+
+    @Setup
+    public void setup() {
+        gameObjects = BenchmarkScenes.createObjects(objectCount);
+        BenchmarkScenes.createScene(gameObjects);
+        subject = gameObjects.get(0);
+    }
+
+    @Benchmark
+    public void doCollisionDetection() {
+        subject.doCollisionDetection(gameObjects);
+    }
+}
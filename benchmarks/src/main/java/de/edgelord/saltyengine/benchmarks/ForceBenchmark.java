@@ -0,0 +1,72 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.benchmarks;
+
+import de.edgelord.saltyengine.core.physics.Force;
+import de.edgelord.saltyengine.scene.SceneManager;
+import de.edgelord.saltyengine.transform.Vector2f;
+import de.edgelord.saltyengine.utils.Directions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import testing.dummys.DummyGameObject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the integration step of a single {@link Force}, which the physics component runs for every force of every
+ * object each tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForceBenchmark {
+
+    private Force force;
+
+    @Setup
+    public void setup() {
+        BenchmarkScenes.createScene(BenchmarkScenes.createObjects(0));
+        force = new Force(0.001f, new DummyGameObject(Vector2f.zero()), Directions.Direction.DOWN, "benchmarkForce");
+    }
+
+    @Benchmark
+    public float deltaDistance() {
+        return force.deltaDistance(1);
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import java.util.Arrays;
+
+/**
+ * A bounding volume hierarchy over axis-aligned boxes, each identified by an <code>int</code>.
+ * It is built once from all boxes with {@link #build()} and can then be queried for all boxes that intersect a region
+ * in logarithmic time, which makes it a good index for boxes that rarely move, e.g. the walls and platforms of a level.
+ * <p>
+ * Boxes are added with {@link #add(int, float, float, float, float)}; changing them requires to {@link #clear()} and
+ * build the hierarchy again. {@link #query(float, float, float, float, IntList)} only reads, so it can be called from
+ * multiple threads at once.
+ */
+public strictfp class BoundingVolumeHierarchy {
+
+    private static final int MAX_LEAF_SIZE = 4;
+
+    private int size = 0;
+    private int[] ids = new int[16];
+    private float[] minX = new float[16];
+    private float[] minY = new float[16];
+    private float[] maxX = new float[16];
+    private float[] maxY = new float[16];
+
+    // The boxes, reordered so that the boxes of each node are next to each other
+    private int[] order = new int[16];
+
+    private int nodeCount = 0;
+    private float[] nodeMinX = new float[32];
+    private float[] nodeMinY = new float[32];
+    private float[] nodeMaxX = new float[32];
+    private float[] nodeMaxY = new float[32];
+    private int[] nodeStart = new int[32];
+    private int[] nodeEnd = new int[32];
+    private int[] nodeLeft = new int[32];
+    private int[] nodeRight = new int[32];
+
+    /**
+     * Removes all boxes.
+     */
+    public void clear() {
+        size = 0;
+        nodeCount = 0;
+    }
+
+    /**
+     * Adds a box. It's only found by queries after the next {@link #build()}.
+     *
+     * @param id   the id of the box that queries return
+     * @param minX the left edge of the box
+     * @param minY the top edge of the box
+     * @param maxX the right edge of the box
+     * @param maxY the bottom edge of the box
+     */
+    public void add(int id, float minX, float minY, float maxX, float maxY) {
+
+        if (size == ids.length) {
+            final int length = size * 2;
+
+            ids = Arrays.copyOf(ids, length);
+            this.minX = Arrays.copyOf(this.minX, length);
+            this.minY = Arrays.copyOf(this.minY, length);
+            this.maxX = Arrays.copyOf(this.maxX, length);
+            this.maxY = Arrays.copyOf(this.maxY, length);
+        }
+
+        ids[size] = id;
+        this.minX[size] = minX;
+        this.minY[size] = minY;
+        this.maxX[size] = maxX;
+        this.maxY[size] = maxY;
+        size++;
+    }
+
+    /**
+     * Builds the hierarchy from all boxes added since the last {@link #clear()}.
+     * Each node is split at the median of the longer axis, so the tree is balanced.
+     */
+    public void build() {
+
+        if (order.length < size) {
+            order = new int[ids.length];
+        }
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+
+        // A binary tree with leaves of at least one box never has more than 2n - 1 nodes
+        final int maxNodes = Math.max(1, 2 * size);
+        if (nodeStart.length < maxNodes) {
+            nodeMinX = new float[maxNodes];
+            nodeMinY = new float[maxNodes];
+            nodeMaxX = new float[maxNodes];
+            nodeMaxY = new float[maxNodes];
+            nodeStart = new int[maxNodes];
+            nodeEnd = new int[maxNodes];
+            nodeLeft = new int[maxNodes];
+            nodeRight = new int[maxNodes];
+        }
+
+        nodeCount = 0;
+
+        if (size > 0) {
+            buildNode(0, size);
+        }
+    }
+
+    private int buildNode(int start, int end) {
+
+        final int node = nodeCount++;
+
+        float boundsMinX = Float.POSITIVE_INFINITY;
+        float boundsMinY = Float.POSITIVE_INFINITY;
+        float boundsMaxX = Float.NEGATIVE_INFINITY;
+        float boundsMaxY = Float.NEGATIVE_INFINITY;
+
+        for (int i = start; i < end; i++) {
+            final int box = order[i];
+
+            boundsMinX = Math.min(boundsMinX, minX[box]);
+            boundsMinY = Math.min(boundsMinY, minY[box]);
+            boundsMaxX = Math.max(boundsMaxX, maxX[box]);
+            boundsMaxY = Math.max(boundsMaxY, maxY[box]);
+        }
+
+        nodeMinX[node] = boundsMinX;
+        nodeMinY[node] = boundsMinY;
+        nodeMaxX[node] = boundsMaxX;
+        nodeMaxY[node] = boundsMaxY;
+        nodeStart[node] = start;
+        nodeEnd[node] = end;
+
+        if (end - start <= MAX_LEAF_SIZE) {
+            nodeLeft[node] = -1;
+            nodeRight[node] = -1;
+            return node;
+        }
+
+        final boolean splitX = boundsMaxX - boundsMinX >= boundsMaxY - boundsMinY;
+        final int middle = (start + end) >>> 1;
+        selectMedian(start, end - 1, middle, splitX);
+
+        // The children have to be built one after another, so their indices are only assigned afterwards
+        final int left = buildNode(start, middle);
+        final int right = buildNode(middle, end);
+        nodeLeft[node] = left;
+        nodeRight[node] = right;
+
+        return node;
+    }
+
+    /**
+     * Reorders {@link #order} between <code>low</code> and <code>high</code> (both inclusive) so that the box at
+     * <code>k</code> has the median centre and all boxes before it have a smaller or equal one.
+     */
+    private void selectMedian(int low, int high, int k, boolean alongX) {
+
+        while (low < high) {
+            final float pivot = centre(order[(low + high) >>> 1], alongX);
+            int i = low;
+            int j = high;
+
+            while (i <= j) {
+                while (centre(order[i], alongX) < pivot) {
+                    i++;
+                }
+                while (centre(order[j], alongX) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    final int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private float centre(int box, boolean alongX) {
+        return alongX ? minX[box] + maxX[box] : minY[box] + maxY[box];
+    }
+
+    /**
+     * Adds the ids of all boxes that intersect or touch the given region to <code>result</code>, in no particular
+     * order. The ids are appended, the list isn't cleared.
+     *
+     * @param minX   the left edge of the region
+     * @param minY   the top edge of the region
+     * @param maxX   the right edge of the region
+     * @param maxY   the bottom edge of the region
+     * @param result the list to add the ids to
+     */
+    public void query(float minX, float minY, float maxX, float maxY, IntList result) {
+
+        if (nodeCount > 0) {
+            queryNode(0, minX, minY, maxX, maxY, result);
+        }
+    }
+
+    private void queryNode(int node, float minX, float minY, float maxX, float maxY, IntList result) {
+
+        if (nodeMinX[node] > maxX || nodeMaxX[node] < minX || nodeMinY[node] > maxY || nodeMaxY[node] < minY) {
+            return;
+        }
+
+        if (nodeLeft[node] == -1) {
+            for (int i = nodeStart[node]; i < nodeEnd[node]; i++) {
+                final int box = order[i];
+
+                if (this.minX[box] <= maxX && this.maxX[box] >= minX && this.minY[box] <= maxY && this.maxY[box] >= minY) {
+                    result.add(ids[box]);
+                }
+            }
+        } else {
+            queryNode(nodeLeft[node], minX, minY, maxX, maxY, result);
+            queryNode(nodeRight[node], minX, minY, maxX, maxY, result);
+        }
+    }
+
+    /**
+     * @return the number of boxes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of nodes of the hierarchy built by the last {@link #build()}
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.gameobject.GameObject;
+
+import java.util.List;
+
+/**
+ * The broad phase of the collision detection of a {@link de.edgelord.saltyengine.scene.Scene}.
+ * It cheaply narrows down the GameObjects that might collide with a GameObject, so that only those candidates have to
+ * be tested precisely by its {@link de.edgelord.saltyengine.components.collider.ColliderComponent}.
+ * <p>
+ * Per fixed tick, the scene calls {@link #prepare(List)} with all of its GameObjects, afterwards it refers to them by
+ * their index within that list. While ticking the GameObjects one after another, it calls {@link #query(int, IntList, List)}
+ * before a GameObject detects its collisions and {@link #update(int)} after it moved.
+ * <p>
+ * Implementations have to return a superset of the GameObjects whose hitboxes intersect the one of the queried
+ * GameObject, and they have to be symmetric: if B is a candidate of A, A has to be a candidate of B. {@link #query(int, IntList, List)} must only read, so that it can be called from multiple threads at
+ * once during a parallel tick.
+ *
+ * @see BruteForceBroadPhase
+ * @see SpatialHash
+ * @see SweepAndPrune
+ * @see StaticIndexBroadPhase
+ */
+public interface BroadPhase {
+
+    /**
+     * Takes in the GameObjects for the upcoming fixed tick.
+     *
+     * @param gameObjects all GameObjects of the scene
+     */
+    void prepare(List<GameObject> gameObjects);
+
+    /**
+     * Updates the GameObject with the given index after it moved.
+     *
+     * @param index the index of the GameObject in the list given to {@link #prepare(List)}
+     */
+    void update(int index);
+
+    /**
+     * Adds all GameObjects that might collide with the GameObject with the given index to <code>candidates</code>,
+     * in the order of the list given to {@link #prepare(List)} and without the GameObject itself.
+     *
+     * @param index      the index of the GameObject in the list given to {@link #prepare(List)}
+     * @param indices    a buffer that is cleared and afterwards contains the indices of the candidates, in the same order
+     * @param candidates the list to add the candidates to
+     */
+    void query(int index, IntList indices, List<GameObject> candidates);
+
+    /**
+     * Adds all GameObjects that might intersect or touch the given region to <code>candidates</code>, in the order of
+     * the list given to {@link #prepare(List)}. Like {@link #query(int, IntList, List)}, this must only read.
+     *
+     * @param minX       the left edge of the region
+     * @param minY       the top edge of the region
+     * @param maxX       the right edge of the region
+     * @param maxY       the bottom edge of the region
+     * @param indices    a buffer that is cleared and afterwards contains the indices of the candidates, in the same order
+     * @param candidates the list to add the candidates to
+     */
+    void queryRegion(float minX, float minY, float maxX, float maxY, IntList indices, List<GameObject> candidates);
+}
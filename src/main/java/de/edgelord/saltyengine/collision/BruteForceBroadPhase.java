@@ -0,0 +1,88 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@link BroadPhase} that makes every GameObject a candidate for every other one.
+ * This is the cheapest choice for scenes with only a few dozen GameObjects.
+ */
+public class BruteForceBroadPhase implements BroadPhase {
+
+    private GameObject[] objects = new GameObject[0];
+    private int objectCount = 0;
+
+    @Override
+    public void prepare(List<GameObject> gameObjects) {
+
+        objectCount = gameObjects.size();
+        objects = gameObjects.toArray(objects);
+
+        if (objects.length > objectCount) {
+            Arrays.fill(objects, objectCount, objects.length, null);
+        }
+    }
+
+    @Override
+    public void update(int index) {
+    }
+
+    @Override
+    public void query(int index, IntList indices, List<GameObject> candidates) {
+
+        indices.clear();
+
+        for (int i = 0; i < objectCount; i++) {
+            if (i != index) {
+                indices.add(i);
+                candidates.add(objects[i]);
+            }
+        }
+    }
+
+    @Override
+    public void queryRegion(float minX, float minY, float maxX, float maxY, IntList indices, List<GameObject> candidates) {
+
+        indices.clear();
+
+        for (int i = 0; i < objectCount; i++) {
+            final Transform bounds = objects[i].getHitbox().getTransform();
+
+            if (bounds.getX() <= maxX && bounds.getX() + bounds.getWidth() >= minX
+                    && bounds.getY() <= maxY && bounds.getY() + bounds.getHeight() >= minY) {
+                indices.add(i);
+                candidates.add(objects[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+/**
+ * Decides which collision layers collide with each other, e.g. to make bullets never test against other bullets.
+ * Every {@link de.edgelord.saltyengine.gameobject.GameObject} is on one of the {@link #LAYER_COUNT} layers, see
+ * {@link de.edgelord.saltyengine.gameobject.GameObject#setCollisionLayer(int)}. Two GameObjects are only tested for a
+ * collision if their layers collide, which is checked before any geometry test.
+ * <p>
+ * The matrix is symmetric and by default, all layers collide with each other.
+ */
+public class CollisionMatrix {
+
+    /**
+     * The number of collision layers.
+     */
+    public static final int LAYER_COUNT = 32;
+
+    /**
+     * A mask with the bits of all layers set.
+     */
+    public static final int ALL_LAYERS = -1;
+
+    // The bit of layer b in rows[a] is set if the layers a and b collide
+    private final int[] rows = new int[LAYER_COUNT];
+
+    public CollisionMatrix() {
+        reset();
+    }
+
+    /**
+     * Makes all layers collide with each other again.
+     */
+    public void reset() {
+        for (int i = 0; i < LAYER_COUNT; i++) {
+            rows[i] = ALL_LAYERS;
+        }
+    }
+
+    /**
+     * Sets whether GameObjects on the two given layers collide with each other.
+     *
+     * @param layerA  the first layer
+     * @param layerB  the second layer, which can be the same as the first
+     * @param collide whether the layers collide
+     */
+    public void setCollides(int layerA, int layerB, boolean collide) {
+
+        if (collide) {
+            rows[layerA] |= layerBit(layerB);
+            rows[layerB] |= layerBit(layerA);
+        } else {
+            rows[layerA] &= ~layerBit(layerB);
+            rows[layerB] &= ~layerBit(layerA);
+        }
+    }
+
+    /**
+     * @param layerA the first layer
+     * @param layerB the second layer
+     * @return whether GameObjects on the two given layers collide with each other
+     */
+    public boolean collides(int layerA, int layerB) {
+        return (rows[layerA] & (1 << layerB)) != 0;
+    }
+
+    /**
+     * @param layer a layer
+     * @return a mask with the bits of all layers set that collide with the given one
+     */
+    public int getMask(int layer) {
+        return rows[layer];
+    }
+
+    /**
+     * Returns the bit of the given layer within a collision mask.
+     *
+     * @param layer a layer between 0 and {@link #LAYER_COUNT} - 1
+     * @return the bit of the layer
+     * @throws IllegalArgumentException if there's no such layer
+     */
+    public static int layerBit(int layer) {
+
+        if (layer < 0 || layer >= LAYER_COUNT) {
+            throw new IllegalArgumentException("The collision layer " + layer + " doesn't exist, it has to be between 0 and " + (LAYER_COUNT - 1));
+        }
+
+        return 1 << layer;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive <code>int</code>s, used by the broad phase to avoid boxing.
+ */
+public final class IntList {
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private int[] values;
+    private int size = 0;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int initialCapacity) {
+        values = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int value) {
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public void set(int index, int value) {
+        values[index] = value;
+    }
+
+    /**
+     * Removes the first occurrence of the given value by replacing it with the last value of the list.
+     * This doesn't keep the order of the list.
+     *
+     * @param value the value to remove
+     * @return whether the value was found
+     */
+    public boolean removeUnordered(int value) {
+
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                values[i] = values[--size];
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Sorts the values in ascending order and removes duplicates.
+     */
+    public void sortUnique() {
+
+        if (size < 2) {
+            return;
+        }
+
+        sort(values, 0, size - 1);
+
+        int unique = 1;
+        for (int i = 1; i < size; i++) {
+            if (values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+
+        size = unique;
+    }
+
+    /**
+     * Sorts the values between <code>low</code> and <code>high</code> (both inclusive) in place.
+     * This is used instead of {@link Arrays#sort(int[], int, int)} because that might allocate a work array, and the
+     * lists of the broad phase are usually short and almost sorted, which is what an insertion sort is best at.
+     */
+    private static void sort(int[] values, int low, int high) {
+
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            final int middle = (low + high) >>> 1;
+
+            // Median of three, so that sorted input doesn't make the recursion linear
+            if (values[middle] < values[low]) {
+                swap(values, middle, low);
+            }
+            if (values[high] < values[low]) {
+                swap(values, high, low);
+            }
+            if (values[high] < values[middle]) {
+                swap(values, high, middle);
+            }
+
+            final int pivot = values[middle];
+            int i = low;
+            int j = high;
+
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(values, i++, j--);
+                }
+            }
+
+            // Recurse into the smaller part only, so that the stack stays logarithmic
+            if (j - low < high - i) {
+                sort(values, low, j);
+                low = i;
+            } else {
+                sort(values, i, high);
+                high = j;
+            }
+        }
+
+        for (int i = low + 1; i <= high; i++) {
+            final int value = values[i];
+            int j = i - 1;
+
+            while (j >= low && values[j] > value) {
+                values[j + 1] = values[j];
+                j--;
+            }
+
+            values[j + 1] = value;
+        }
+    }
+
+    private static void swap(int[] values, int a, int b) {
+        final int swap = values[a];
+        values[a] = values[b];
+        values[b] = swap;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
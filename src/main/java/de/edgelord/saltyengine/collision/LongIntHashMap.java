@@ -0,0 +1,216 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive <code>long</code> keys to primitive <code>int</code> values with open addressing and
+ * linear probing, used to avoid boxing on hot paths.
+ * The key {@link #EMPTY_KEY} is reserved and can't be stored.
+ */
+public final class LongIntHashMap {
+
+    /**
+     * Marks unused slots, so it can't be used as a key.
+     */
+    public static final long EMPTY_KEY = Long.MIN_VALUE;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size = 0;
+
+    public LongIntHashMap() {
+        this(64);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * @param key          the key to look up
+     * @param defaultValue the value to return if there is no mapping for the key
+     * @return the value mapped to the key or <code>defaultValue</code>
+     */
+    public int get(long key, int defaultValue) {
+
+        // The reserved key would match the first empty slot
+        if (key == EMPTY_KEY) {
+            return defaultValue;
+        }
+
+        int slot = slot(key);
+
+        while (true) {
+            final long current = keys[slot];
+
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY_KEY) {
+                return defaultValue;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return key != EMPTY_KEY && keys[find(key)] == key;
+    }
+
+    /**
+     * Maps the given key to the given value.
+     *
+     * @param key   the key, anything but {@link #EMPTY_KEY}
+     * @param value the value
+     */
+    public void put(long key, int value) {
+
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("The key " + EMPTY_KEY + " is reserved");
+        }
+
+        int slot = find(key);
+
+        if (keys[slot] == EMPTY_KEY) {
+            if (size + 1 > keys.length * LOAD_FACTOR) {
+                resize(keys.length * 2);
+                slot = find(key);
+            }
+
+            keys[slot] = key;
+            size++;
+        }
+
+        values[slot] = value;
+    }
+
+    /**
+     * Removes the mapping for the given key. The following entries are shifted back instead of leaving a tombstone,
+     * so that lookups stay as fast as before no matter how often keys are removed.
+     *
+     * @param key          the key to remove
+     * @param defaultValue the value to return if there is no mapping for the key
+     * @return the value that was mapped to the key or <code>defaultValue</code>
+     */
+    public int remove(long key, int defaultValue) {
+
+        if (key == EMPTY_KEY) {
+            return defaultValue;
+        }
+
+        int gap = find(key);
+
+        if (keys[gap] != key) {
+            return defaultValue;
+        }
+
+        final int value = values[gap];
+        int slot = (gap + 1) & mask;
+
+        while (keys[slot] != EMPTY_KEY) {
+            final int home = slot(keys[slot]);
+
+            // The entry can fill the gap if the gap lies between its home slot and its current slot
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        keys[gap] = EMPTY_KEY;
+        size--;
+
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+    }
+
+    private int find(long key) {
+
+        int slot = slot(key);
+
+        while (keys[slot] != key && keys[slot] != EMPTY_KEY) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(int capacity) {
+
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+
+        allocate(capacity);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY_KEY);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 16;
+
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+}
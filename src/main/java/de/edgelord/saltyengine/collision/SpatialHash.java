@@ -0,0 +1,395 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link BroadPhase} that puts the {@link GameObject}s into the cells of a uniform grid,
+ * keyed by the bounds of their {@link de.edgelord.saltyengine.hitbox.Hitbox}.
+ * Only objects that share at least one cell are candidates for a collision, so a GameObject only has to be tested
+ * against its neighbours instead of against all GameObjects of the scene.
+ * <p>
+ * {@link #prepare(List)} puts all GameObjects of the list into the grid, {@link #query(int, IntList, List)}
+ * returns the candidates of the GameObject with the given index in that list and {@link #update(int)} moves a
+ * GameObject to its new cells after it moved. This works best for GameObjects spread over a large area.
+ * <p>
+ * Only cells that contain something are stored, in a hash map, so the grid is unbounded.
+ * The cell size should be about twice the size of a typical hitbox. With a cell size of 0, which is the default,
+ * it's derived from the average hitbox size on every {@link #prepare(List)}.
+ * GameObjects that would cover more than {@link #MAX_CELLS_PER_OBJECT} cells are kept in a separate list instead and
+ * are a candidate for every other GameObject.
+ */
+public strictfp class SpatialHash implements BroadPhase {
+
+    /**
+     * The maximum number of cells a GameObject is put into.
+     */
+    public static final int MAX_CELLS_PER_OBJECT = 256;
+
+    // Keeps the cell coordinates far away from the reserved key of the map
+    private static final int MAX_CELL_COORDINATE = 1 << 28;
+
+    private float cellSize;
+    private float activeCellSize = 0f;
+
+    private final LongIntHashMap cellIndices = new LongIntHashMap(1024);
+    private IntList[] cells = new IntList[256];
+    private int cellCount = 0;
+
+    private GameObject[] objects = new GameObject[0];
+    private int objectCount = 0;
+    private int[] minCellX = new int[0];
+    private int[] minCellY = new int[0];
+    private int[] maxCellX = new int[0];
+    private int[] maxCellY = new int[0];
+    private boolean[] oversized = new boolean[0];
+    private final IntList oversizedObjects = new IntList();
+
+    /**
+     * Creates a spatial hash that derives its cell size from the average hitbox size.
+     */
+    public SpatialHash() {
+        this(0f);
+    }
+
+    /**
+     * @param cellSize the side length of a cell, or 0 to derive it from the average hitbox size
+     */
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Puts all the given GameObjects into the grid, replacing the previous content.
+     * Afterwards, the GameObjects are referred to by their index within the given list.
+     *
+     * @param gameObjects the GameObjects to put into the grid
+     */
+    @Override
+    public void prepare(List<GameObject> gameObjects) {
+
+        objectCount = gameObjects.size();
+        ensureCapacity(objectCount);
+
+        for (int i = 0; i < objectCount; i++) {
+            objects[i] = gameObjects.get(i);
+        }
+        Arrays.fill(objects, objectCount, objects.length, null);
+
+        final float nextCellSize = cellSize > 0f ? cellSize : averageCellSize();
+
+        // Forget the empty cells from time to time, so that moving objects don't make the map grow forever
+        if (nextCellSize != activeCellSize || cellCount > 2 * objectCount + 256) {
+            cellIndices.clear();
+            cellCount = 0;
+            activeCellSize = nextCellSize;
+        } else {
+            for (int i = 0; i < cellCount; i++) {
+                cells[i].clear();
+            }
+        }
+
+        oversizedObjects.clear();
+
+        for (int i = 0; i < objectCount; i++) {
+            computeCellRange(i);
+            insert(i);
+        }
+    }
+
+    /**
+     * Moves the GameObject with the given index to the cells its hitbox covers now.
+     * This is cheap if the GameObject didn't leave its cells.
+     *
+     * @param index the index of the GameObject in the list given to {@link #prepare(List)}
+     */
+    @Override
+    public void update(int index) {
+
+        final int oldMinX = minCellX[index];
+        final int oldMinY = minCellY[index];
+        final int oldMaxX = maxCellX[index];
+        final int oldMaxY = maxCellY[index];
+
+        computeCellRange(index);
+
+        if (oldMinX == minCellX[index] && oldMinY == minCellY[index] && oldMaxX == maxCellX[index] && oldMaxY == maxCellY[index]) {
+            return;
+        }
+
+        if (oversized[index]) {
+            oversizedObjects.removeUnordered(index);
+            insert(index);
+            return;
+        }
+
+        for (int x = oldMinX; x <= oldMaxX; x++) {
+            for (int y = oldMinY; y <= oldMaxY; y++) {
+                final int cell = cellIndices.get(key(x, y), -1);
+
+                if (cell != -1) {
+                    cells[cell].removeUnordered(index);
+                }
+            }
+        }
+
+        insert(index);
+    }
+
+    /**
+     * Adds all GameObjects that share a cell with the GameObject with the given index to <code>candidates</code>,
+     * in the order of the list given to {@link #prepare(List)} and without the GameObject itself.
+     * This only reads the grid, so it can be called from multiple threads at once as long as each of them uses its own
+     * <code>indices</code> and <code>candidates</code>.
+     *
+     * @param index      the index of the GameObject in the list given to {@link #prepare(List)}
+     * @param indices    a buffer for the indices of the candidates, it's cleared first
+     * @param candidates the list to add the candidates to
+     */
+    @Override
+    public void query(int index, IntList indices, List<GameObject> candidates) {
+
+        indices.clear();
+
+        if (oversized[index]) {
+            for (int i = 0; i < objectCount; i++) {
+                if (i != index) {
+                    indices.add(i);
+                }
+            }
+        } else {
+            queryCells(index, indices);
+
+            for (int i = 0; i < oversizedObjects.size(); i++) {
+                indices.add(oversizedObjects.get(i));
+            }
+        }
+
+        indices.sortUnique();
+
+        for (int i = 0; i < indices.size(); i++) {
+            candidates.add(objects[indices.get(i)]);
+        }
+    }
+
+    /**
+     * Adds all GameObjects in the cells the given region covers to <code>candidates</code>.
+     * If the region covers more cells than there are GameObjects, all of them are tested directly instead.
+     */
+    @Override
+    public void queryRegion(float minX, float minY, float maxX, float maxY, IntList indices, List<GameObject> candidates) {
+
+        indices.clear();
+
+        final int minCellX = cellCoordinate(minX);
+        final int minCellY = cellCoordinate(minY);
+        final int maxCellX = cellCoordinate(maxX);
+        final int maxCellY = cellCoordinate(maxY);
+
+        if ((long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > objectCount) {
+            for (int i = 0; i < objectCount; i++) {
+                final Transform bounds = objects[i].getHitbox().getTransform();
+
+                if (bounds.getX() <= maxX && bounds.getX() + bounds.getWidth() >= minX
+                        && bounds.getY() <= maxY && bounds.getY() + bounds.getHeight() >= minY) {
+                    indices.add(i);
+                }
+            }
+        } else {
+            for (int x = minCellX; x <= maxCellX; x++) {
+                for (int y = minCellY; y <= maxCellY; y++) {
+                    final int cell = cellIndices.get(key(x, y), -1);
+
+                    if (cell == -1) {
+                        continue;
+                    }
+
+                    final IntList content = cells[cell];
+                    for (int i = 0; i < content.size(); i++) {
+                        indices.add(content.get(i));
+                    }
+                }
+            }
+
+            for (int i = 0; i < oversizedObjects.size(); i++) {
+                indices.add(oversizedObjects.get(i));
+            }
+
+            indices.sortUnique();
+        }
+
+        for (int i = 0; i < indices.size(); i++) {
+            candidates.add(objects[indices.get(i)]);
+        }
+    }
+
+    private void queryCells(int index, IntList indices) {
+
+        for (int x = minCellX[index]; x <= maxCellX[index]; x++) {
+            for (int y = minCellY[index]; y <= maxCellY[index]; y++) {
+                final int cell = cellIndices.get(key(x, y), -1);
+
+                if (cell == -1) {
+                    continue;
+                }
+
+                final IntList content = cells[cell];
+                for (int i = 0; i < content.size(); i++) {
+                    final int other = content.get(i);
+
+                    if (other != index) {
+                        indices.add(other);
+                    }
+                }
+            }
+        }
+    }
+
+    private void insert(int index) {
+
+        final long cellsCovered = (long) (maxCellX[index] - minCellX[index] + 1) * (maxCellY[index] - minCellY[index] + 1);
+        oversized[index] = cellsCovered > MAX_CELLS_PER_OBJECT;
+
+        if (oversized[index]) {
+            oversizedObjects.add(index);
+            return;
+        }
+
+        for (int x = minCellX[index]; x <= maxCellX[index]; x++) {
+            for (int y = minCellY[index]; y <= maxCellY[index]; y++) {
+                cellFor(key(x, y)).add(index);
+            }
+        }
+    }
+
+    private IntList cellFor(long key) {
+
+        int cell = cellIndices.get(key, -1);
+
+        if (cell == -1) {
+            cell = cellCount++;
+
+            if (cell == cells.length) {
+                cells = Arrays.copyOf(cells, cells.length * 2);
+            }
+            if (cells[cell] == null) {
+                cells[cell] = new IntList(8);
+            }
+
+            cells[cell].clear();
+            cellIndices.put(key, cell);
+        }
+
+        return cells[cell];
+    }
+
+    private void computeCellRange(int index) {
+
+        final Transform bounds = objects[index].getHitbox().getTransform();
+
+        minCellX[index] = cellCoordinate(bounds.getX());
+        minCellY[index] = cellCoordinate(bounds.getY());
+        maxCellX[index] = cellCoordinate(bounds.getX() + bounds.getWidth());
+        maxCellY[index] = cellCoordinate(bounds.getY() + bounds.getHeight());
+    }
+
+    private int cellCoordinate(float position) {
+        final double cell = Math.floor(position / activeCellSize);
+        return (int) Math.max(-MAX_CELL_COORDINATE, Math.min(MAX_CELL_COORDINATE, cell));
+    }
+
+    private float averageCellSize() {
+
+        if (objectCount == 0) {
+            return activeCellSize > 0f ? activeCellSize : 64f;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < objectCount; i++) {
+            final Transform bounds = objects[i].getHitbox().getTransform();
+            sum += Math.max(bounds.getWidth(), bounds.getHeight());
+        }
+
+        // Round to a power of two, so that small changes of the average don't rebuild the cell map
+        final float size = (float) Math.max(1.0, 2.0 * sum / objectCount);
+        return Integer.highestOneBit((int) Math.ceil(size)) * 2f;
+    }
+
+    private void ensureCapacity(int capacity) {
+
+        if (objects.length < capacity) {
+            final int length = Math.max(capacity, objects.length * 2);
+
+            objects = Arrays.copyOf(objects, length);
+            minCellX = Arrays.copyOf(minCellX, length);
+            minCellY = Arrays.copyOf(minCellY, length);
+            maxCellX = Arrays.copyOf(maxCellX, length);
+            maxCellY = Arrays.copyOf(maxCellY, length);
+            oversized = Arrays.copyOf(oversized, length);
+        }
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the side length of a cell, or 0 if it's derived from the average hitbox size
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Sets the side length of a cell. It takes effect with the next {@link #prepare(List)}.
+     *
+     * @param cellSize the side length of a cell, or 0 to derive it from the average hitbox size
+     */
+    public void setCellSize(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * @return the side length of the cells currently in use
+     */
+    public float getActiveCellSize() {
+        return activeCellSize;
+    }
+
+    /**
+     * @return the number of GameObjects given to the last {@link #prepare(List)}
+     */
+    public int getObjectCount() {
+        return objectCount;
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link BroadPhase} that keeps the {@link GameObject#isStationary() stationary} GameObjects in a separate
+ * {@link BoundingVolumeHierarchy} and hands only the moving ones to another broad phase.
+ * <p>
+ * Stationary GameObjects, like the walls and platforms of a level, are usually the majority of a scene but don't
+ * detect collisions themselves. With this, a moving GameObject finds the stationary ones it touches in logarithmic
+ * time instead of testing all of them. The hierarchy is only built again when a stationary GameObject is added,
+ * removed or moved, which is noticed by comparing their bounds on every {@link #prepare(List)} and {@link #update(int)}.
+ */
+public class StaticIndexBroadPhase implements BroadPhase {
+
+    private final BroadPhase dynamicBroadPhase;
+    private final BoundingVolumeHierarchy staticIndex = new BoundingVolumeHierarchy();
+
+    private GameObject[] objects = new GameObject[0];
+    private int objectCount = 0;
+    private boolean[] stationary = new boolean[0];
+
+    // The index of each GameObject within dynamicObjects or stationaryIndices
+    private int[] localIndices = new int[0];
+
+    private final List<GameObject> dynamicObjects = new ArrayList<>();
+    private int[] dynamicIndices = new int[0];
+
+    // The stationary GameObjects in the static index with their bounds at the time it was built
+    private final IntList stationaryIndices = new IntList();
+    private GameObject[] indexedObjects = new GameObject[0];
+    private float[] indexedBounds = new float[0];
+    private int indexedCount = 0;
+
+    private int rebuildCount = 0;
+
+    /**
+     * @param dynamicBroadPhase the broad phase for the GameObjects that are not stationary
+     */
+    public StaticIndexBroadPhase(BroadPhase dynamicBroadPhase) {
+        this.dynamicBroadPhase = dynamicBroadPhase;
+    }
+
+    @Override
+    public void prepare(List<GameObject> gameObjects) {
+
+        objectCount = gameObjects.size();
+        ensureCapacity(objectCount);
+
+        dynamicObjects.clear();
+        stationaryIndices.clear();
+
+        for (int i = 0; i < objectCount; i++) {
+            final GameObject gameObject = gameObjects.get(i);
+
+            objects[i] = gameObject;
+            stationary[i] = gameObject.isStationary();
+
+            if (stationary[i]) {
+                localIndices[i] = stationaryIndices.size();
+                stationaryIndices.add(i);
+            } else {
+                localIndices[i] = dynamicObjects.size();
+                dynamicIndices[dynamicObjects.size()] = i;
+                dynamicObjects.add(gameObject);
+            }
+        }
+        Arrays.fill(objects, objectCount, objects.length, null);
+
+        if (!isIndexUpToDate()) {
+            rebuildStaticIndex();
+        }
+
+        dynamicBroadPhase.prepare(dynamicObjects);
+    }
+
+    @Override
+    public void update(int index) {
+
+        if (objects[index].isStationary() != stationary[index]) {
+            prepare(Arrays.asList(objects).subList(0, objectCount));
+        } else if (stationary[index]) {
+            if (!isIndexed(localIndices[index])) {
+                rebuildStaticIndex();
+            }
+        } else {
+            dynamicBroadPhase.update(localIndices[index]);
+        }
+    }
+
+    @Override
+    public void query(int index, IntList indices, List<GameObject> candidates) {
+
+        if (stationary[index]) {
+            indices.clear();
+
+            for (int i = 0; i < dynamicObjects.size(); i++) {
+                indices.add(dynamicIndices[i]);
+            }
+        } else {
+            final int previousSize = candidates.size();
+            dynamicBroadPhase.query(localIndices[index], indices, candidates);
+
+            // The candidates are merged with the stationary ones below
+            while (candidates.size() > previousSize) {
+                candidates.remove(candidates.size() - 1);
+            }
+            for (int i = 0; i < indices.size(); i++) {
+                indices.set(i, dynamicIndices[indices.get(i)]);
+            }
+        }
+
+        final int dynamicCount = indices.size();
+        final Transform bounds = objects[index].getHitbox().getTransform();
+        staticIndex.query(bounds.getX(), bounds.getY(), bounds.getX() + bounds.getWidth(), bounds.getY() + bounds.getHeight(), indices);
+
+        for (int i = dynamicCount; i < indices.size(); i++) {
+            indices.set(i, stationaryIndices.get(indices.get(i)));
+        }
+        if (stationary[index]) {
+            indices.removeUnordered(index);
+        }
+
+        indices.sortUnique();
+
+        for (int i = 0; i < indices.size(); i++) {
+            candidates.add(objects[indices.get(i)]);
+        }
+    }
+
+    @Override
+    public void queryRegion(float minX, float minY, float maxX, float maxY, IntList indices, List<GameObject> candidates) {
+
+        final int previousSize = candidates.size();
+        dynamicBroadPhase.queryRegion(minX, minY, maxX, maxY, indices, candidates);
+
+        while (candidates.size() > previousSize) {
+            candidates.remove(candidates.size() - 1);
+        }
+        for (int i = 0; i < indices.size(); i++) {
+            indices.set(i, dynamicIndices[indices.get(i)]);
+        }
+
+        final int dynamicCount = indices.size();
+        staticIndex.query(minX, minY, maxX, maxY, indices);
+
+        for (int i = dynamicCount; i < indices.size(); i++) {
+            indices.set(i, stationaryIndices.get(indices.get(i)));
+        }
+
+        indices.sortUnique();
+
+        for (int i = 0; i < indices.size(); i++) {
+            candidates.add(objects[indices.get(i)]);
+        }
+    }
+
+    private boolean isIndexUpToDate() {
+
+        if (indexedCount != stationaryIndices.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < indexedCount; i++) {
+            if (!isIndexed(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns whether the stationary GameObject with the given index in {@link #stationaryIndices} is in the static
+     * index with its current bounds.
+     */
+    private boolean isIndexed(int stationaryIndex) {
+
+        final GameObject gameObject = objects[stationaryIndices.get(stationaryIndex)];
+
+        if (indexedObjects[stationaryIndex] != gameObject) {
+            return false;
+        }
+
+        final Transform bounds = gameObject.getHitbox().getTransform();
+        final int offset = stationaryIndex * 4;
+
+        return indexedBounds[offset] == bounds.getX() && indexedBounds[offset + 1] == bounds.getY()
+                && indexedBounds[offset + 2] == bounds.getWidth() && indexedBounds[offset + 3] == bounds.getHeight();
+    }
+
+    private void rebuildStaticIndex() {
+
+        indexedCount = stationaryIndices.size();
+        if (indexedObjects.length < indexedCount) {
+            indexedObjects = new GameObject[Math.max(indexedCount, indexedObjects.length * 2)];
+            indexedBounds = new float[indexedObjects.length * 4];
+        }
+
+        staticIndex.clear();
+
+        for (int i = 0; i < indexedCount; i++) {
+            final GameObject gameObject = objects[stationaryIndices.get(i)];
+            final Transform bounds = gameObject.getHitbox().getTransform();
+            final int offset = i * 4;
+
+            indexedObjects[i] = gameObject;
+            indexedBounds[offset] = bounds.getX();
+            indexedBounds[offset + 1] = bounds.getY();
+            indexedBounds[offset + 2] = bounds.getWidth();
+            indexedBounds[offset + 3] = bounds.getHeight();
+
+            staticIndex.add(i, bounds.getX(), bounds.getY(), bounds.getX() + bounds.getWidth(), bounds.getY() + bounds.getHeight());
+        }
+        Arrays.fill(indexedObjects, indexedCount, indexedObjects.length, null);
+
+        staticIndex.build();
+        rebuildCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+
+        if (objects.length < capacity) {
+            final int length = Math.max(capacity, objects.length * 2);
+
+            objects = Arrays.copyOf(objects, length);
+            stationary = Arrays.copyOf(stationary, length);
+            localIndices = Arrays.copyOf(localIndices, length);
+            dynamicIndices = Arrays.copyOf(dynamicIndices, length);
+        }
+    }
+
+    /**
+     * @return the broad phase for the GameObjects that are not stationary
+     */
+    public BroadPhase getDynamicBroadPhase() {
+        return dynamicBroadPhase;
+    }
+
+    /**
+     * @return the number of stationary GameObjects in the static index
+     */
+    public int getStationaryCount() {
+        return indexedCount;
+    }
+
+    /**
+     * @return how often the static index was built, which should only grow when stationary GameObjects change
+     */
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link BroadPhase} that keeps the left and right edges of all hitboxes in one array sorted along the x axis.
+ * Two GameObjects overlap on the x axis exactly when the edges of one are not both on the same side of the other, so
+ * the overlapping pairs change only when two edges swap places. Because GameObjects move only a little per tick, the
+ * array stays nearly sorted and an insertion sort fixes it in close to linear time, updating the overlapping pairs
+ * with every swap on the way. A query then only checks the y axis of the pairs that overlap on the x axis.
+ * <p>
+ * This works best for GameObjects that are spread along the x axis, e.g. in a side scroller or horizontal shooter.
+ * If the GameObjects are not the same as in the previous tick, everything is sorted again from scratch.
+ */
+public strictfp class SweepAndPrune implements BroadPhase {
+
+    // An edge is stored as one long: the sortable bits of its coordinate in the upper half, then whether it's a
+    // right edge and the index of its GameObject. That way, comparing two edges is comparing two longs and left edges
+    // come before right edges with the same coordinate, so touching hitboxes count as overlapping.
+    private static final long RIGHT_EDGE = 0x80000000L;
+    private static final long INDEX_MASK = 0x7FFFFFFFL;
+
+    private long[] edges = new long[0];
+    private int[] leftEdgePositions = new int[0];
+    private int[] rightEdgePositions = new int[0];
+
+    private GameObject[] objects = new GameObject[0];
+    private int objectCount = 0;
+    private float[] minX = new float[0];
+    private float[] maxX = new float[0];
+    private float[] minY = new float[0];
+    private float[] maxY = new float[0];
+
+    /**
+     * For each GameObject, the indices of all GameObjects it overlaps with on the x axis.
+     */
+    private IntList[] overlaps = new IntList[0];
+    private final IntList active = new IntList();
+
+    @Override
+    public void prepare(List<GameObject> gameObjects) {
+
+        if (isSameObjects(gameObjects)) {
+            for (int i = 0; i < objectCount; i++) {
+                readBounds(i);
+            }
+            for (int i = 0; i < objectCount * 2; i++) {
+                edges[i] = edgeKey(edgeIndex(edges[i]), isRightEdge(edges[i]));
+            }
+
+            insertionSort();
+        } else {
+            rebuild(gameObjects);
+        }
+    }
+
+    @Override
+    public void update(int index) {
+
+        readBounds(index);
+
+        final long leftEdge = edgeKey(index, false);
+        final long rightEdge = edgeKey(index, true);
+
+        // The left edge must never pass the right edge of the same GameObject, otherwise the swaps in between would
+        // update the overlaps wrongly. So the edge in the direction of the movement goes first.
+        if (rightEdge > edges[rightEdgePositions[index]]) {
+            moveEdge(rightEdgePositions[index], rightEdge);
+            moveEdge(leftEdgePositions[index], leftEdge);
+        } else {
+            moveEdge(leftEdgePositions[index], leftEdge);
+            moveEdge(rightEdgePositions[index], rightEdge);
+        }
+    }
+
+    @Override
+    public void query(int index, IntList indices, List<GameObject> candidates) {
+
+        indices.clear();
+
+        final IntList overlapping = overlaps[index];
+        for (int i = 0; i < overlapping.size(); i++) {
+            final int other = overlapping.get(i);
+
+            if (minY[other] <= maxY[index] && maxY[other] >= minY[index]) {
+                indices.add(other);
+            }
+        }
+
+        indices.sortUnique();
+
+        for (int i = 0; i < indices.size(); i++) {
+            candidates.add(objects[indices.get(i)]);
+        }
+    }
+
+    /**
+     * Finds the edges left of the right end of the region with a binary search and takes the GameObjects whose left
+     * edge is among them and which overlap the region on both axes.
+     */
+    @Override
+    public void queryRegion(float minX, float minY, float maxX, float maxY, IntList indices, List<GameObject> candidates) {
+
+        indices.clear();
+
+        // The greatest possible key with the coordinate maxX
+        final long lastKey = ((long) sortableBits(maxX) << 32) | 0xFFFFFFFFL;
+        int low = 0;
+        int high = objectCount * 2;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (edges[middle] <= lastKey) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        for (int i = 0; i < low; i++) {
+            final long edge = edges[i];
+            final int other = edgeIndex(edge);
+
+            if (!isRightEdge(edge) && this.maxX[other] >= minX && this.minY[other] <= maxY && this.maxY[other] >= minY) {
+                indices.add(other);
+            }
+        }
+
+        indices.sortUnique();
+
+        for (int i = 0; i < indices.size(); i++) {
+            candidates.add(objects[indices.get(i)]);
+        }
+    }
+
+    private boolean isSameObjects(List<GameObject> gameObjects) {
+
+        if (gameObjects.size() != objectCount) {
+            return false;
+        }
+
+        for (int i = 0; i < objectCount; i++) {
+            if (gameObjects.get(i) != objects[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void rebuild(List<GameObject> gameObjects) {
+
+        objectCount = gameObjects.size();
+        ensureCapacity(objectCount);
+
+        for (int i = 0; i < objectCount; i++) {
+            objects[i] = gameObjects.get(i);
+            overlaps[i].clear();
+            readBounds(i);
+
+            edges[i * 2] = edgeKey(i, false);
+            edges[i * 2 + 1] = edgeKey(i, true);
+        }
+        Arrays.fill(objects, objectCount, objects.length, null);
+
+        Arrays.sort(edges, 0, objectCount * 2);
+
+        // Sweep along the axis once, every GameObject overlaps with all that are open when its left edge comes up
+        active.clear();
+
+        for (int position = 0; position < objectCount * 2; position++) {
+            final long edge = edges[position];
+            final int index = edgeIndex(edge);
+
+            if (isRightEdge(edge)) {
+                rightEdgePositions[index] = position;
+                active.removeUnordered(index);
+            } else {
+                leftEdgePositions[index] = position;
+
+                for (int i = 0; i < active.size(); i++) {
+                    addOverlap(index, active.get(i));
+                }
+                active.add(index);
+            }
+        }
+    }
+
+    private void insertionSort() {
+
+        for (int position = 1; position < objectCount * 2; position++) {
+            for (int current = position; current > 0 && edges[current - 1] > edges[current]; current--) {
+                swapWithPrevious(current);
+            }
+        }
+    }
+
+    /**
+     * Sets the edge at the given position to the given key and moves it to where it belongs.
+     */
+    private void moveEdge(int position, long key) {
+
+        edges[position] = key;
+
+        while (position > 0 && edges[position - 1] > key) {
+            swapWithPrevious(position);
+            position--;
+        }
+
+        while (position < objectCount * 2 - 1 && edges[position + 1] < key) {
+            swapWithPrevious(position + 1);
+            position++;
+        }
+    }
+
+    /**
+     * Swaps the edge at the given position with the one before it, which is greater, and updates the overlaps.
+     */
+    private void swapWithPrevious(int position) {
+
+        final long moving = edges[position];
+        final long passed = edges[position - 1];
+
+        final int movingIndex = edgeIndex(moving);
+        final int passedIndex = edgeIndex(passed);
+
+        if (movingIndex != passedIndex) {
+            final boolean movingIsRight = isRightEdge(moving);
+
+            if (!movingIsRight && isRightEdge(passed)) {
+                // A left edge moved before a right edge: they overlap now
+                addOverlap(movingIndex, passedIndex);
+            } else if (movingIsRight && !isRightEdge(passed)) {
+                // A right edge moved before a left edge: they don't overlap anymore
+                removeOverlap(movingIndex, passedIndex);
+            }
+        }
+
+        edges[position] = passed;
+        edges[position - 1] = moving;
+
+        setPosition(passed, position);
+        setPosition(moving, position - 1);
+    }
+
+    private void setPosition(long edge, int position) {
+        if (isRightEdge(edge)) {
+            rightEdgePositions[edgeIndex(edge)] = position;
+        } else {
+            leftEdgePositions[edgeIndex(edge)] = position;
+        }
+    }
+
+    private void addOverlap(int a, int b) {
+        overlaps[a].add(b);
+        overlaps[b].add(a);
+    }
+
+    private void removeOverlap(int a, int b) {
+        overlaps[a].removeUnordered(b);
+        overlaps[b].removeUnordered(a);
+    }
+
+    private void readBounds(int index) {
+
+        final Transform bounds = objects[index].getHitbox().getTransform();
+
+        minX[index] = bounds.getX();
+        minY[index] = bounds.getY();
+        maxX[index] = bounds.getX() + bounds.getWidth();
+        maxY[index] = bounds.getY() + bounds.getHeight();
+    }
+
+    private long edgeKey(int index, boolean right) {
+
+        final float coordinate = right ? maxX[index] : minX[index];
+
+        return ((long) sortableBits(coordinate) << 32) | (right ? RIGHT_EDGE : 0L) | index;
+    }
+
+    /**
+     * @return the bits of the given float, flipped so that they sort like the float when compared as ints
+     */
+    private static int sortableBits(float value) {
+        final int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
+    private static int edgeIndex(long edge) {
+        return (int) (edge & INDEX_MASK);
+    }
+
+    private static boolean isRightEdge(long edge) {
+        return (edge & RIGHT_EDGE) != 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+
+        if (objects.length < capacity) {
+            final int length = Math.max(capacity, objects.length * 2);
+            final int oldLength = overlaps.length;
+
+            objects = Arrays.copyOf(objects, length);
+            minX = Arrays.copyOf(minX, length);
+            maxX = Arrays.copyOf(maxX, length);
+            minY = Arrays.copyOf(minY, length);
+            maxY = Arrays.copyOf(maxY, length);
+            leftEdgePositions = Arrays.copyOf(leftEdgePositions, length);
+            rightEdgePositions = Arrays.copyOf(rightEdgePositions, length);
+            edges = Arrays.copyOf(edges, length * 2);
+            overlaps = Arrays.copyOf(overlaps, length);
+
+            for (int i = oldLength; i < length; i++) {
+                overlaps[i] = new IntList(8);
+            }
+        }
+    }
+
+    /**
+     * @return the number of GameObjects given to the last {@link #prepare(List)}
+     */
+    public int getObjectCount() {
+        return objectCount;
+    }
+}
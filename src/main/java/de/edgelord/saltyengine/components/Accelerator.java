@@ -29,15 +29,22 @@ package de.edgelord.saltyengine.components;
 
 import de.edgelord.saltyengine.core.Component;
 import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.core.physics.Force;
+import de.edgelord.saltyengine.core.physics.ForceHandle;
 import de.edgelord.saltyengine.gameobject.Components;
 import de.edgelord.saltyengine.gameobject.GameObject;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import de.edgelord.saltyengine.utils.Time;
 
+/**
+ * Sets the acceleration of a force of the parent for a certain time and resets it to 0 afterwards.
+ */
 public class Accelerator extends Component<GameObject> {
 
-    private long ticks;
+    private long elapsed;
     private long duration;
-    private String forceName;
+    private ForceHandle force;
     private boolean accelerationFinished = true;
 
     public Accelerator(GameObject parent, String name) {
@@ -48,12 +55,16 @@ public class Accelerator extends Component<GameObject> {
     public void onFixedTick() {
 
         if (!accelerationFinished) {
-            ticks++;
+            elapsed += SaltySystem.fixedTickMillis;
+
+            if (elapsed >= duration) {
 
-            if (ticks >= duration) {
+                final Force force = getParent().getPhysics().getForce(this.force);
 
-                getParent().getPhysics().getForce(forceName).setAcceleration(0f);
-                ticks = 0;
+                if (force != null) {
+                    force.setAcceleration(0f);
+                }
+                elapsed = 0;
                 duration = 0;
                 accelerationFinished = true;
             }
@@ -70,11 +81,57 @@ public class Accelerator extends Component<GameObject> {
 
     }
 
+    /**
+     * Accelerates the force with the given name for the given number of fixed ticks.
+     * The duration is converted into milliseconds using the current {@link SaltySystem#fixedTickMillis}.
+     *
+     * @param forceName    the name of the force to accelerate
+     * @param acceleration the acceleration
+     * @param duration     the number of fixed ticks after which the acceleration is reset to 0
+     * @see #accelerateFor(String, float, long)
+     */
     public void accelerate(String forceName, float acceleration, long duration) {
-        getParent().getPhysics().getForce(forceName).setAcceleration(acceleration);
+        accelerateFor(forceName, acceleration, Time.ticksToMillis(duration));
+    }
+
+    /**
+     * Accelerates the force with the given handle for the given number of fixed ticks.
+     *
+     * @param force        the handle of the force to accelerate
+     * @param acceleration the acceleration
+     * @param duration     the number of fixed ticks after which the acceleration is reset to 0
+     * @see #accelerate(String, float, long)
+     */
+    public void accelerate(ForceHandle force, float acceleration, long duration) {
+        accelerateFor(force, acceleration, Time.ticksToMillis(duration));
+    }
+
+    /**
+     * Accelerates the force with the given name for the given time. The name is only resolved once, the handle of
+     * the force is used from then on.
+     *
+     * @param forceName      the name of the force to accelerate
+     * @param acceleration   the acceleration
+     * @param durationMillis the time in milliseconds after which the acceleration is reset to 0
+     * @see #accelerateFor(ForceHandle, float, long)
+     */
+    public void accelerateFor(String forceName, float acceleration, long durationMillis) {
+        accelerateFor(getParent().getPhysics().getHandle(forceName), acceleration, durationMillis);
+    }
+
+    /**
+     * Accelerates the force with the given handle for the given time.
+     *
+     * @param force          the handle of the force to accelerate
+     * @param acceleration   the acceleration
+     * @param durationMillis the time in milliseconds after which the acceleration is reset to 0
+     */
+    public void accelerateFor(ForceHandle force, float acceleration, long durationMillis) {
+        getParent().getPhysics().getForce(force).setAcceleration(acceleration);
 
         this.accelerationFinished = false;
-        this.forceName = forceName;
-        this.duration = duration;
+        this.force = force;
+        this.duration = durationMillis;
+        this.elapsed = 0;
     }
 }
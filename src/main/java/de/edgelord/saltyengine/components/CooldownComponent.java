@@ -32,19 +32,21 @@ import de.edgelord.saltyengine.core.event.CollisionEvent;
 import de.edgelord.saltyengine.core.stereotypes.ComponentParent;
 import de.edgelord.saltyengine.gameobject.Components;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import de.edgelord.saltyengine.utils.Time;
 
 import java.util.function.BooleanSupplier;
 
 /**
  * Activates a cooldown for what happens in {@link #run()}.
- * Whenever the cooldown is done after {@link #cooldownTime} ticks, {@link #shouldRun} is tested and if it returns true,
+ * Whenever the cooldown is done after {@link #cooldownTime} milliseconds, {@link #shouldRun} is tested and if it returns true,
  * {@link #run()} is called and the cooldown restarts.
  */
 public abstract class CooldownComponent extends Component implements Runnable {
 
-    private int cooldownTime;
+    private long cooldownTime;
     private boolean coolingDown = false;
-    private int ticks = 0;
+    private long elapsed = 0;
 
     private BooleanSupplier shouldRun;
 
@@ -53,13 +55,14 @@ public abstract class CooldownComponent extends Component implements Runnable {
      *
      * @param parent the parent of this component
      * @param name the id-name of this component
-     * @param cooldownTime the time that the cooldown takes.
+     * @param cooldownTime the time that the cooldown takes in fixed ticks.
      * @param shouldRun the test for if {@link #run()} should be called. This is only tested if the cooldown was performed
+     * @see #setCooldownMillis(long)
      */
     public CooldownComponent(ComponentParent parent, String name, int cooldownTime, BooleanSupplier shouldRun) {
         super(parent, name, Components.TIMING_COMPONENT);
 
-        this.cooldownTime = cooldownTime;
+        setCooldownTime(cooldownTime);
         this.shouldRun = shouldRun;
     }
 
@@ -72,12 +75,12 @@ public abstract class CooldownComponent extends Component implements Runnable {
     public void onFixedTick() {
 
         if (coolingDown) {
-            ticks++;
-        }
+            elapsed += SaltySystem.fixedTickMillis;
 
-        if (ticks == cooldownTime) {
-            coolingDown = false;
-            ticks = 0;
+            if (elapsed >= cooldownTime) {
+                coolingDown = false;
+                elapsed = 0;
+            }
         }
 
         if (!coolingDown) {
@@ -88,13 +91,46 @@ public abstract class CooldownComponent extends Component implements Runnable {
         }
     }
 
-
-
     @Override
     public void onCollision(CollisionEvent e) {
 
     }
 
+    /**
+     * @return the time the cooldown takes in fixed ticks
+     * @see #getCooldownMillis()
+     */
+    public int getCooldownTime() {
+        return (int) Time.millisToTicks(cooldownTime);
+    }
+
+    /**
+     * Sets the time the cooldown takes in fixed ticks.
+     * The value is converted into milliseconds using the current {@link SaltySystem#fixedTickMillis}.
+     *
+     * @param cooldownTime the time the cooldown takes in fixed ticks
+     * @see #setCooldownMillis(long)
+     */
+    public void setCooldownTime(int cooldownTime) {
+        setCooldownMillis(Time.ticksToMillis(cooldownTime));
+    }
+
+    /**
+     * @return the time the cooldown takes in milliseconds
+     */
+    public long getCooldownMillis() {
+        return cooldownTime;
+    }
+
+    /**
+     * Sets the time the cooldown takes in milliseconds.
+     *
+     * @param cooldownMillis the time the cooldown takes in milliseconds
+     */
+    public void setCooldownMillis(long cooldownMillis) {
+        this.cooldownTime = cooldownMillis;
+    }
+
     @Override
     public abstract void run();
 }
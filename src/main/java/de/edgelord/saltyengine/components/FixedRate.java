@@ -32,17 +32,35 @@ import de.edgelord.saltyengine.core.event.CollisionEvent;
 import de.edgelord.saltyengine.core.stereotypes.ComponentParent;
 import de.edgelord.saltyengine.gameobject.Components;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import de.edgelord.saltyengine.utils.Time;
 
+/**
+ * A gate that opens once every {@link #interval} milliseconds.
+ * {@link #now()} returns <code>true</code> during the fixed tick in which the interval elapsed and <code>false</code>
+ * during all other ticks.
+ * <p>
+ * A gate given in fixed ticks stays closed for that many ticks and opens on the tick after, so a gate of
+ * <code>n</code> ticks opens every <code>n + 1</code> ticks.
+ */
 public class FixedRate extends Component {
 
-    private int gate;
-    private int ticks = 0;
+    private long interval;
+    private long elapsed = 0;
 
     private boolean now = false;
 
+    /**
+     * Creates a new gate that opens every <code>gate</code> fixed ticks.
+     *
+     * @param parent the parent of this component
+     * @param name   the id-name of this component
+     * @param gate   the number of fixed ticks between two openings of the gate
+     * @see #setGate(int)
+     */
     public FixedRate(ComponentParent parent, String name, int gate) {
         super(parent, name, Components.TIMING_COMPONENT);
-        this.gate = gate;
+        setGate(gate);
     }
 
     public boolean now() {
@@ -52,12 +70,18 @@ public class FixedRate extends Component {
     @Override
     public void onFixedTick() {
 
-        if (ticks == gate) {
+        elapsed += SaltySystem.fixedTickMillis;
+
+        if (elapsed >= interval) {
             now = true;
-            ticks = 0;
+            elapsed -= interval;
+
+            // The gate opens at most once per tick, so there is nothing to catch up with
+            if (elapsed >= interval) {
+                elapsed = 0;
+            }
         } else {
             now = false;
-            ticks++;
         }
     }
 
@@ -71,11 +95,38 @@ public class FixedRate extends Component {
 
     }
 
+    /**
+     * @return the number of fixed ticks between two openings of the gate
+     * @see #getInterval()
+     */
     public int getGate() {
-        return gate;
+        return (int) Math.max(0, Time.millisToTicks(interval) - 1);
     }
 
+    /**
+     * Sets the number of fixed ticks between two openings of the gate, so that it opens every <code>gate + 1</code>
+     * ticks. The period is converted into milliseconds using the current {@link SaltySystem#fixedTickMillis}.
+     *
+     * @param gate the number of fixed ticks between two openings of the gate
+     * @see #setInterval(long)
+     */
     public void setGate(int gate) {
-        this.gate = gate;
+        setInterval(Time.ticksToMillis(gate + 1));
+    }
+
+    /**
+     * @return the time in milliseconds between two openings of the gate
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Sets the time in milliseconds between two openings of the gate.
+     *
+     * @param interval the time between two openings of the gate in milliseconds
+     */
+    public void setInterval(long interval) {
+        this.interval = interval;
     }
 }
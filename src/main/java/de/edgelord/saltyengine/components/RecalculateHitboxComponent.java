@@ -42,7 +42,10 @@ public class RecalculateHitboxComponent extends Component<GameObject> {
     @Override
     public void onFixedTick() {
 
-        getParent().getHitbox().recalculate();
+        // A sleeping GameObject is woken up before its hitbox could be outdated
+        if (!getParent().isSleeping()) {
+            getParent().getHitbox().recalculate();
+        }
     }
 
     @Override
@@ -30,38 +30,107 @@ package de.edgelord.saltyengine.components;
 import de.edgelord.saltyengine.core.Component;
 import de.edgelord.saltyengine.core.event.CollisionEvent;
 import de.edgelord.saltyengine.core.physics.Force;
+import de.edgelord.saltyengine.core.physics.ForceHandle;
+import de.edgelord.saltyengine.core.physics.Integrator;
+import de.edgelord.saltyengine.core.physics.PhysicsContext;
+import de.edgelord.saltyengine.core.physics.PhysicsWorld;
 import de.edgelord.saltyengine.gameobject.Components;
 import de.edgelord.saltyengine.gameobject.GameObject;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
-import de.edgelord.saltyengine.scene.SceneManager;
+import de.edgelord.saltyengine.scene.Scene;
 import de.edgelord.saltyengine.utils.Directions;
-import de.edgelord.saltyengine.utils.SaltySystem;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-public class SimplePhysicsComponent extends Component<GameObject> {
+public strictfp class SimplePhysicsComponent extends Component<GameObject> {
 
     public static final String DEFAULT_GRAVITY = "de.edgelord.saltyengine.core.physics.default_gravityForce";
     public static final float DEFAULT_GRAVITY_ACCELERATION = 4000f;
 
-    private boolean gravityForThisEnabled = true;
+    /**
+     * The handle of the default gravity force. The handles of the default forces are the same for every component.
+     *
+     * @see #getForce(ForceHandle)
+     */
+    public static final ForceHandle DEFAULT_GRAVITY_HANDLE = new ForceHandle(0);
+    public static final ForceHandle DEFAULT_UPWARDS_FORCE_HANDLE = new ForceHandle(1);
+    public static final ForceHandle DEFAULT_DOWNWARDS_FORCE_HANDLE = new ForceHandle(2);
+    public static final ForceHandle DEFAULT_RIGHTWARDS_FORCE_HANDLE = new ForceHandle(3);
+    public static final ForceHandle DEFAULT_LEFTWARDS_FORCE_HANDLE = new ForceHandle(4);
+    public static final ForceHandle DEFAULT_UPWARDS_VELOCITY_FORCE_HANDLE = new ForceHandle(5);
+    public static final ForceHandle DEFAULT_DOWNWARDS_VELOCITY_FORCE_HANDLE = new ForceHandle(6);
+    public static final ForceHandle DEFAULT_RIGHTWARDS_VELOCITY_FORCE_HANDLE = new ForceHandle(7);
+    public static final ForceHandle DEFAULT_LEFTWARDS_VELOCITY_FORCE_HANDLE = new ForceHandle(8);
+
+    private static final int DEFAULT_FORCE_COUNT = 9;
 
+    // Indexed by the ordinal of a Directions.Direction, null for EMPTY
+    private static final ForceHandle[] DEFAULT_FORCE_HANDLES = {DEFAULT_RIGHTWARDS_FORCE_HANDLE, DEFAULT_LEFTWARDS_FORCE_HANDLE, DEFAULT_UPWARDS_FORCE_HANDLE, DEFAULT_DOWNWARDS_FORCE_HANDLE, null};
+    private static final ForceHandle[] DEFAULT_VELOCITY_FORCE_HANDLES = {DEFAULT_RIGHTWARDS_VELOCITY_FORCE_HANDLE, DEFAULT_LEFTWARDS_VELOCITY_FORCE_HANDLE, DEFAULT_UPWARDS_VELOCITY_FORCE_HANDLE, DEFAULT_DOWNWARDS_VELOCITY_FORCE_HANDLE, null};
+
+    private static final Directions.Direction[] LOCKABLE_DIRECTIONS = {Directions.Direction.UP, Directions.Direction.DOWN, Directions.Direction.LEFT, Directions.Direction.RIGHT};
+
+    /**
+     * Collisions with GameObjects with one of these tags don't stop the parent. They are still detected though, to
+     * not detect them at all, use {@link GameObject#setCollisionLayer(int)} and {@link GameObject#setCollisionMask(int)}.
+     */
     private List<String> tagsToIgnore = new ArrayList<>();
 
-    private final List<Force> forces = new LinkedList<>();
+    /**
+     * The world the state of the parent's body and of its forces is stored in, and the slot of the body there.
+     * That's the world of the Scene the parent is part of, or a small one of this component otherwise.
+     */
+    private PhysicsWorld world;
+    private int body;
+
+    /**
+     * The forces of the parent in the order they were added, indexed by their {@link ForceHandle}s.
+     * The slots of removed forces are not reused, so that an old handle can't point to another force.
+     */
+    private Force[] forceTable = new Force[DEFAULT_FORCE_COUNT];
+    private int forceTableSize = 0;
+
+    /**
+     * Caches the handles that {@link #getHandle(String)} resolved, so that looking up a force by its name only scans
+     * the force table once.
+     */
+    private final Map<String, ForceHandle> handlesByName = new HashMap<>();
+
+    /**
+     * The directions in which the parent collided with something during the last collision detection, which become its
+     * {@link GameObject#getLockedDirections() locked directions}. Reused for every collision detection.
+     */
+    private final Directions collisionDirections = new Directions();
+
+    /**
+     * The number of fixed ticks the parent has been at rest for in a row, to put it to sleep once that lasted for the
+     * {@link Scene#getSleepDelay() sleep delay} of the scene. Only counted if the scene allows sleeping.
+     */
+    private int restingTicks = 0;
+
+    // The position of the parent at the end of the last fixed tick, to measure how far it moved since
+    private float lastX = Float.NaN;
+    private float lastY = Float.NaN;
 
     public SimplePhysicsComponent(final GameObject parent, final String name) {
         super(parent, name, Components.PHYSICS_COMPONENT);
 
+        world = new PhysicsWorld(1, 9);
+        body = world.addBody(this, 1f);
+
         addDefaultForces();
     }
 
     private void addGravityForce() {
 
-        forces.add(new Force(DEFAULT_GRAVITY_ACCELERATION, getParent(), Directions.Direction.DOWN, SimplePhysicsComponent.DEFAULT_GRAVITY));
+        final Force gravity = world.createForce(body, DEFAULT_GRAVITY_ACCELERATION, getParent(), Directions.Direction.DOWN, SimplePhysicsComponent.DEFAULT_GRAVITY);
+        world.setGravityForce(body, gravity.getSlot());
+        register(gravity);
     }
 
     private void addDefaultForces() {
@@ -79,43 +148,92 @@ public class SimplePhysicsComponent extends Component<GameObject> {
         addForce(SimplePhysicsComponent.DEFAULT_LEFTWARDS_VELOCITY_FORCE, Directions.Direction.LEFT);
     }
 
+    /**
+     * Moves the parent by the distance its forces move it within one fixed tick. If the Scene
+     * {@link PhysicsWorld#integrateAll(PhysicsContext) integrated} the whole world already, that result is
+     * used, otherwise the body of the parent is integrated right here with the
+     * {@link PhysicsWorld#getContext() context} of its world.
+     */
     @Override
     public void onFixedTick() {
 
-        if (gravityForThisEnabled) {
-            getForce(DEFAULT_GRAVITY).setAcceleration(SceneManager.getCurrentScene().getGravity());
-        } else {
-            getForce(DEFAULT_GRAVITY).setAcceleration(0f);
+        if (getParent().isSleeping()) {
+            return;
         }
 
-        if (!getParent().isStationary()) {
-            float horizontalDelta = 0f;
-            float verticalDelta = 0f;
-            final int deltaT = (int) SaltySystem.fixedTickMillis;
-
-            for (final Force force : forces) {
-
-                switch (force.getDirection()) {
-                    case RIGHT:
-                        horizontalDelta += force.deltaDistance(deltaT);
-                        break;
-                    case LEFT:
-                        horizontalDelta -= force.deltaDistance(deltaT);
-                        break;
-                    case UP:
-                        verticalDelta -= force.deltaDistance(deltaT);
-                        break;
-                    case DOWN:
-                        verticalDelta += force.deltaDistance(deltaT);
-                        break;
-                }
+        final PhysicsContext context = world.getContext();
+
+        if (!world.takeIntegration(body)) {
+            world.applyGravity(body, context.getGravity());
+
+            if (getParent().isStationary()) {
+                world.clearForces(body);
+                return;
             }
 
-            getParent().moveX(horizontalDelta);
-            getParent().moveY(verticalDelta);
+            world.integrateBody(body, context);
+
+            getParent().moveX(world.getDeltaX(body));
+            getParent().moveY(world.getDeltaY(body));
+        }
+
+        if (context.isSleepingEnabled()) {
+            updateRestingTime(context, world.getAccelerationX(body), world.getAccelerationY(body));
         }
     }
 
+    /**
+     * Counts the ticks the parent is at rest for and puts it to sleep once that lasted long enough.
+     * The parent is at rest if it moved slower than the {@link Scene#getSleepVelocity() sleep velocity} since the
+     * last tick, no matter by what, and the forces that aren't countered by a collision wouldn't accelerate it beyond
+     * that within the {@link Scene#getSleepDelay() sleep delay} either.
+     */
+    private void updateRestingTime(final PhysicsContext context, final float horizontalAcceleration, final float verticalAcceleration) {
+
+        final float x = getParent().getX();
+        final float y = getParent().getY();
+        final float deltaX = x - lastX;
+        final float deltaY = y - lastY;
+        lastX = x;
+        lastY = y;
+
+        // In units per millisecond, like the velocities of the forces
+        final float sleepVelocity = context.getSleepVelocity() / 1000f;
+        final float sleepDelay = context.getSleepDelay();
+        final float deltaT = context.getDeltaMillis();
+        final float velocity = (float) Math.sqrt(deltaX * deltaX + deltaY * deltaY) / deltaT;
+        final float acceleration = (float) Math.sqrt(horizontalAcceleration * horizontalAcceleration + verticalAcceleration * verticalAcceleration);
+
+        if (velocity < sleepVelocity && acceleration * sleepDelay < sleepVelocity) {
+            restingTicks++;
+
+            if (restingTicks * deltaT >= sleepDelay) {
+                getParent().sleep();
+
+                if (getParent().isSleeping()) {
+                    world.setVelocity(body, 0f, 0f);
+                }
+            }
+        } else {
+            restingTicks = 0;
+        }
+    }
+
+    /**
+     * @return whether the parent didn't move on its last fixed tick, as far as the scene
+     * {@link Scene#isSleepingEnabled() tracks that}
+     */
+    public boolean isResting() {
+        return restingTicks > 0;
+    }
+
+    /**
+     * Starts the time until the parent is put to sleep over.
+     */
+    public void resetRestingTime() {
+        restingTicks = 0;
+    }
+
     @Override
     public void draw(final SaltyGraphics saltyGraphics) {
 
@@ -130,86 +248,311 @@ public class SimplePhysicsComponent extends Component<GameObject> {
     public void onCollisionDetectionFinish(List<CollisionEvent> collisions) {
 
         Directions directions;
-        Directions collisionDirections = new Directions();
-        boolean upCollision = false;
-        boolean downCollision = false;
-        boolean leftCollision = false;
-        boolean rightCollision = false;
+        collisionDirections.clear();
+        int lockedDirections = 0;
 
-        for (CollisionEvent collisionEvent : collisions) {
+        for (int i = 0; i < collisions.size(); i++) {
+            final CollisionEvent collisionEvent = collisions.get(i);
 
             if (tagsToIgnore.contains(collisionEvent.getRoot().getTag()) || collisionEvent.getRoot().isTrigger()) {
                 continue;
             }
             directions = collisionEvent.getCollisionDirections();
 
-            if (directions.hasDirection(Directions.Direction.UP)) {
-                upCollision = true;
-                collisionDirections.setDirection(Directions.Direction.UP);
-            }
+            for (int d = 0; d < LOCKABLE_DIRECTIONS.length; d++) {
+                final Directions.Direction direction = LOCKABLE_DIRECTIONS[d];
 
-            if (directions.hasDirection(Directions.Direction.DOWN)) {
-                downCollision = true;
-                collisionDirections.setDirection(Directions.Direction.DOWN);
+                if (directions.hasDirection(direction)) {
+                    lockedDirections |= PhysicsWorld.directionBit(direction);
+                    collisionDirections.setDirection(direction);
+                }
             }
+        }
 
-            if (directions.hasDirection(Directions.Direction.LEFT)) {
-                leftCollision = true;
-                collisionDirections.setDirection(Directions.Direction.LEFT);
-            }
+        getParent().setLockedDirections(collisionDirections);
+        world.setLockedDirections(body, lockedDirections);
+    }
 
-            if (directions.hasDirection(Directions.Direction.RIGHT)) {
-                rightCollision = true;
-                collisionDirections.setDirection(Directions.Direction.RIGHT);
-            }
+    /**
+     * Moves the body of the parent with all of its forces to the given world, which the Scene does when the parent is
+     * added to it.
+     *
+     * @param world the world to move to
+     */
+    public void setWorld(final PhysicsWorld world) {
+
+        if (world != this.world) {
+            body = this.world.moveBody(body, world);
+            this.world = world;
         }
+    }
 
-        getParent().setLockedDirections(collisionDirections);
+    /**
+     * Moves the body of the parent out of the world of a Scene into a world of its own again.
+     */
+    public void detachFromWorld() {
+        setWorld(new PhysicsWorld(1, 9));
+    }
 
-        for (final Force force : forces) {
-
-            switch (force.getDirection()) {
-
-                case RIGHT:
-                    force.setCountersCollision(rightCollision);
-                    break;
-                case LEFT:
-                    force.setCountersCollision(leftCollision);
-                    break;
-                case UP:
-                    force.setCountersCollision(upCollision);
-                    break;
-                case DOWN:
-                    force.setCountersCollision(downCollision);
-                    break;
-            }
+    /**
+     * @return the world the state of the parent's body is stored in
+     */
+    public PhysicsWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * @return the slot of the parent's body in its {@link #getWorld() world}
+     */
+    public int getBody() {
+        return body;
+    }
+
+    public float getMass() {
+        return world.getMass(body);
+    }
+
+    /**
+     * @return whether the parent is moved by its {@link Force}s, which is the case unless the world uses one of the
+     * vector {@link Integrator}s
+     */
+    public boolean usesForces() {
+        return world.getIntegrator() == Integrator.FORCES;
+    }
+
+    /**
+     * Applies the given acceleration to the parent for this tick. It's added to the other forces applied during this
+     * tick, which are integrated together once the world uses one of the vector {@link Integrator}s.
+     * An acceleration other than 0 wakes up the parent if it's sleeping.
+     *
+     * @param x the horizontal acceleration, in the same scale as {@link Force#setAcceleration(float)}
+     * @param y the vertical acceleration, in the same scale as {@link Force#setAcceleration(float)}
+     */
+    public void applyForce(final float x, final float y) {
+        world.addForce(body, x / Force.ACCELERATION_SCALE, y / Force.ACCELERATION_SCALE);
+
+        if (x != 0f || y != 0f) {
+            getParent().wakeUp();
         }
     }
 
+    /**
+     * Changes the velocity of the parent at once by the given impulse divided by its mass, if the world uses one of
+     * the vector {@link Integrator}s. An impulse other than 0 wakes up the parent if it's sleeping.
+     *
+     * @param x the horizontal impulse, in the same scale as {@link Force#setVelocity(float)}
+     * @param y the vertical impulse, in the same scale as {@link Force#setVelocity(float)}
+     */
+    public void applyImpulse(final float x, final float y) {
+
+        final float mass = world.getMass(body);
+        world.setVelocity(body, world.getVelocityX(body) + x / Force.VELOCITY_SCALE / mass, world.getVelocityY(body) + y / Force.VELOCITY_SCALE / mass);
+
+        if (x != 0f || y != 0f) {
+            getParent().wakeUp();
+        }
+    }
+
+    /**
+     * Moves the parent with the given velocity for this tick only, which is what
+     * {@link GameObject#accelerateTo(float, Directions.Direction)} does if the world uses one of the vector
+     * {@link Integrator}s. A velocity other than 0 wakes up the parent if it's sleeping.
+     *
+     * @param x the horizontal velocity, in the same scale as {@link Force#setVelocity(float)}
+     * @param y the vertical velocity, in the same scale as {@link Force#setVelocity(float)}
+     */
+    public void addTickVelocity(final float x, final float y) {
+        world.addTickVelocity(body, x / Force.VELOCITY_SCALE, y / Force.VELOCITY_SCALE);
+
+        if (x != 0f || y != 0f) {
+            getParent().wakeUp();
+        }
+    }
+
+    /**
+     * @return the horizontal velocity of the parent with one of the vector {@link Integrator}s, in the same scale as
+     * {@link Force#setVelocity(float)}
+     */
+    public float getVelocityX() {
+        return world.getVelocityX(body) * Force.VELOCITY_SCALE;
+    }
+
+    /**
+     * @return the vertical velocity of the parent with one of the vector {@link Integrator}s, in the same scale as
+     * {@link Force#setVelocity(float)}
+     */
+    public float getVelocityY() {
+        return world.getVelocityY(body) * Force.VELOCITY_SCALE;
+    }
+
+    /**
+     * Sets the velocity of the parent for the vector {@link Integrator}s. A velocity other than 0 wakes up the parent
+     * if it's sleeping.
+     *
+     * @param x the horizontal velocity, in the same scale as {@link Force#setVelocity(float)}
+     * @param y the vertical velocity, in the same scale as {@link Force#setVelocity(float)}
+     */
+    public void setVelocity(final float x, final float y) {
+        world.setVelocity(body, x / Force.VELOCITY_SCALE, y / Force.VELOCITY_SCALE);
+
+        if (x != 0f || y != 0f) {
+            getParent().wakeUp();
+        }
+    }
+
+    public void setMass(final float mass) {
+        world.setMass(body, mass);
+    }
+
+    /**
+     * Removes all forces with the given name.
+     *
+     * @param name the name of the forces to remove
+     */
     public void removeForce(final String name) {
-        forces.removeIf(force -> force.getName().equals(name));
+
+        for (int i = 0; i < forceTableSize; i++) {
+            final Force force = forceTable[i];
+
+            if (force != null && force.getName().equals(name)) {
+                world.removeForce(force.getSlot());
+                forceTable[i] = null;
+            }
+        }
+
+        handlesByName.remove(name);
+    }
+
+    /**
+     * Removes the force with the given handle.
+     *
+     * @param handle the handle of the force to remove
+     */
+    public void removeForce(final ForceHandle handle) {
+
+        final Force force = getForce(handle);
+
+        if (force != null) {
+            world.removeForce(force.getSlot());
+            forceTable[handle.getIndex()] = null;
+            handlesByName.remove(force.getName());
+        }
     }
 
-    public void addForce(final String name, final Directions.Direction direction) {
-        forces.add(new Force(0, getParent(), direction, name));
+    /**
+     * Adds a new force without acceleration or velocity.
+     *
+     * @param name      the name of the force
+     * @param direction the direction of the force
+     * @return the handle of the new force
+     */
+    public ForceHandle addForce(final String name, final Directions.Direction direction) {
+        return register(world.createForce(body, 0, getParent(), direction, name));
     }
 
-    public void addForce(final Force force) {
+    /**
+     * Adds the given force, which is moved out of the world it was stored in before.
+     *
+     * @param force the force to add
+     * @return the handle of the force
+     */
+    public ForceHandle addForce(final Force force) {
+
+        world.addForce(body, force);
+
+        return register(force);
+    }
+
+    private ForceHandle register(final Force force) {
+
+        if (forceTableSize == forceTable.length) {
+            forceTable = Arrays.copyOf(forceTable, forceTableSize * 2);
+        }
+
+        forceTable[forceTableSize] = force;
 
-        forces.add(force);
+        return new ForceHandle(forceTableSize++);
     }
 
+    /**
+     * Returns the force with the given handle in constant time.
+     *
+     * @param handle the handle of the force, one of the default handles like {@link #DEFAULT_GRAVITY_HANDLE} or one
+     *               that this component handed out
+     * @return the force with the given handle, or <code>null</code> if it was removed
+     */
+    public Force getForce(final ForceHandle handle) {
+        return handle.getIndex() < forceTableSize ? forceTable[handle.getIndex()] : null;
+    }
+
+    /**
+     * Returns the force with the given name. This resolves its handle with {@link #getHandle(String)}, so only the
+     * first lookup of a name has to compare it with the names of the forces.
+     *
+     * @param name the name of the force
+     * @return the first force with the given name, or <code>null</code> if there is none
+     * @see #getForce(ForceHandle)
+     */
     public Force getForce(final String name) {
-        for (final Force force : forces) {
 
-            if (force.getName().equals(name)) {
-                return force;
+        final ForceHandle handle = getHandle(name);
+
+        return handle == null ? null : forceTable[handle.getIndex()];
+    }
+
+    /**
+     * Resolves the handle of the first force with the given name and caches it. A cached handle is checked before
+     * it's returned, so it stays correct if forces are removed or renamed.
+     *
+     * @param name the name of the force
+     * @return the handle of the first force with the given name, or <code>null</code> if there is none
+     */
+    public ForceHandle getHandle(final String name) {
+
+        final ForceHandle cached = handlesByName.get(name);
+
+        if (cached != null) {
+            final Force force = forceTable[cached.getIndex()];
+
+            if (force != null && force.getName().equals(name)) {
+                return cached;
+            }
+        }
+
+        for (int i = 0; i < forceTableSize; i++) {
+            final Force force = forceTable[i];
+
+            if (force != null && force.getName().equals(name)) {
+                final ForceHandle handle = new ForceHandle(i);
+                handlesByName.put(name, handle);
+
+                return handle;
             }
         }
 
+        handlesByName.remove(name);
+
         return null;
     }
 
+    /**
+     * @param direction a direction
+     * @return the handle of the default acceleration force in the given direction, <code>null</code> for
+     * {@link Directions.Direction#EMPTY}
+     */
+    public static ForceHandle getDefaultForceHandle(final Directions.Direction direction) {
+        return DEFAULT_FORCE_HANDLES[direction.ordinal()];
+    }
+
+    /**
+     * @param direction a direction
+     * @return the handle of the default velocity force in the given direction, <code>null</code> for
+     * {@link Directions.Direction#EMPTY}
+     */
+    public static ForceHandle getDefaultVelocityForceHandle(final Directions.Direction direction) {
+        return DEFAULT_VELOCITY_FORCE_HANDLES[direction.ordinal()];
+    }
+
     public boolean addTagToIgnore(String s) {
         return tagsToIgnore.add(s);
     }
@@ -235,7 +578,11 @@ public class SimplePhysicsComponent extends Component<GameObject> {
     }
 
     public void setGravityEnabled(boolean enabled) {
-        this.gravityForThisEnabled = enabled;
+        world.setGravityEnabled(body, enabled);
+
+        if (enabled) {
+            getParent().wakeUp();
+        }
     }
 
     /**
@@ -34,6 +34,7 @@ import de.edgelord.saltyengine.core.event.CollisionEvent;
 import de.edgelord.saltyengine.gameobject.Components;
 import de.edgelord.saltyengine.gameobject.GameObject;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.utils.SaltySystem;
 
 /**
  * Animates the basic state of its {@link #parent}.
@@ -93,7 +94,7 @@ public class BasicGameObjectAnimation extends Component<GameObject> {
             }
         }
 
-        float delta = animation.nextDelta();
+        float delta = animation.nextDelta(SaltySystem.fixedTickMillis);
 
         switch (control) {
 
@@ -65,6 +65,18 @@ public abstract class ColliderComponent extends Component<GameObject> {
 
     public abstract Directions.Direction getCollisionDirection(GameObject other);
 
+    /**
+     * Returns whether this collider is symmetric to the ones of the same kind: if it collides with another GameObject
+     * whose collider is symmetric as well, that collider collides with the parent of this one, in the
+     * {@link Directions#mirrorDirection(Directions.Direction) mirrored direction}.
+     * The collision detection then tests such pairs only once.
+     *
+     * @return whether this collider is symmetric, <code>false</code> by default
+     */
+    public boolean isSymmetric() {
+        return false;
+    }
+
     public String getType() {
         return type;
     }
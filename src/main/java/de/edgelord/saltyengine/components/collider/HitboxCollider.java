@@ -27,10 +27,32 @@
 
 package de.edgelord.saltyengine.components.collider;
 
+import de.edgelord.saltyengine.collision.CollisionMatrix;
 import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.hitbox.SimpleHitbox;
+import de.edgelord.saltyengine.transform.Transform;
 import de.edgelord.saltyengine.utils.Directions;
 
-public class HitboxCollider extends ColliderComponent {
+import java.util.List;
+
+/**
+ * A collider that tests the {@link de.edgelord.saltyengine.hitbox.Hitbox}es of two GameObjects for an intersection.
+ * <p>
+ * With {@link #setContinuous(boolean) continuous collision detection}, the scene additionally sweeps the hitbox along
+ * the way it moved since the last fixed tick before the collisions are detected, see {@link #sweep(List, CollisionMatrix)}.
+ * That way, fast GameObjects like projectiles don't tunnel through thin hitboxes even with long fixed ticks.
+ */
+public strictfp class HitboxCollider extends ColliderComponent {
+
+    /**
+     * How far a swept hitbox is moved into the hitbox it hit, so that the collision is detected as usual afterwards.
+     */
+    public static final float CONTACT_DEPTH = 0.01f;
+
+    private boolean continuous = false;
+    private boolean sweepStarted = false;
+    private float sweepStartX;
+    private float sweepStartY;
 
     public HitboxCollider(GameObject parent, String name) {
         super(parent, name, TYPE_HITBOX_COLLIDER);
@@ -54,4 +76,171 @@ public class HitboxCollider extends ColliderComponent {
     public Directions.Direction getCollisionDirection(GameObject other) {
         return getParent().getHitbox().getTransform().getRelation(other.getHitbox().getTransform());
     }
+
+    /**
+     * Two {@link SimpleHitbox}es intersect each other both ways and their relations are mirrored.
+     *
+     * @return whether the hitbox of the parent is a {@link SimpleHitbox}
+     */
+    @Override
+    public boolean isSymmetric() {
+        return getParent().getHitbox() instanceof SimpleHitbox;
+    }
+
+    /**
+     * Moves the parent back to where its hitbox first hit one of the given GameObjects on the way from the start of
+     * the sweep to its current position, a bit inside the hit hitbox, so that the collision is detected as usual.
+     * The time of impact is computed with a swept AABB test against the current hitboxes of the given GameObjects.
+     * Triggers and GameObjects the parent can't collide with are ignored, as well as GameObjects whose hitbox the
+     * parent already intersected at the start.
+     * <p>
+     * The hitbox is recalculated first, so the sweep ends at the current position of the parent. Afterwards, that
+     * position is the start of the next sweep. The first sweep only sets the start.
+     *
+     * @param gameObjects the GameObjects that might be on the way, e.g. from a region query of the broad phase
+     * @param matrix      the collision matrix of the scene
+     * @return the GameObject that was hit first, or <code>null</code> if the way was free
+     */
+    public GameObject sweep(List<GameObject> gameObjects, CollisionMatrix matrix) {
+
+        final GameObject parent = getParent();
+
+        // The hitbox is only recalculated by the components, before the parent moved in its own fixed tick
+        parent.getHitbox().recalculate();
+
+        final Transform hitbox = parent.getHitbox().getTransform();
+        final float endX = hitbox.getX();
+        final float endY = hitbox.getY();
+        final float width = hitbox.getWidth();
+        final float height = hitbox.getHeight();
+
+        if (!sweepStarted || (endX == sweepStartX && endY == sweepStartY)) {
+            startSweep(endX, endY);
+            return null;
+        }
+
+        final float startX = sweepStartX;
+        final float startY = sweepStartY;
+        final float deltaX = endX - startX;
+        final float deltaY = endY - startY;
+
+        GameObject firstHit = null;
+        float firstTime = Float.POSITIVE_INFINITY;
+        boolean firstHitOnX = false;
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            final GameObject other = gameObjects.get(i);
+
+            if (other == parent || other.isTrigger() || !parent.canCollideWith(other, matrix)
+                    || !TYPE_HITBOX_COLLIDER.equals(other.requestCollider().getType())) {
+                continue;
+            }
+
+            final Transform bounds = other.getHitbox().getTransform();
+            final float otherMinX = bounds.getX();
+            final float otherMinY = bounds.getY();
+            final float otherMaxX = otherMinX + bounds.getWidth();
+            final float otherMaxY = otherMinY + bounds.getHeight();
+
+            float entryX = Float.NEGATIVE_INFINITY;
+            float exitX = Float.POSITIVE_INFINITY;
+            if (deltaX > 0) {
+                entryX = (otherMinX - (startX + width)) / deltaX;
+                exitX = (otherMaxX - startX) / deltaX;
+            } else if (deltaX < 0) {
+                entryX = (otherMaxX - startX) / deltaX;
+                exitX = (otherMinX - (startX + width)) / deltaX;
+            } else if (startX >= otherMaxX || startX + width <= otherMinX) {
+                continue;
+            }
+
+            float entryY = Float.NEGATIVE_INFINITY;
+            float exitY = Float.POSITIVE_INFINITY;
+            if (deltaY > 0) {
+                entryY = (otherMinY - (startY + height)) / deltaY;
+                exitY = (otherMaxY - startY) / deltaY;
+            } else if (deltaY < 0) {
+                entryY = (otherMaxY - startY) / deltaY;
+                exitY = (otherMinY - (startY + height)) / deltaY;
+            } else if (startY >= otherMaxY || startY + height <= otherMinY) {
+                continue;
+            }
+
+            final float entry = Math.max(entryX, entryY);
+            final float exit = Math.min(exitX, exitY);
+
+            if (entry >= 0f && entry <= 1f && entry < exit && entry < firstTime) {
+                firstHit = other;
+                firstTime = entry;
+                firstHitOnX = entryX >= entryY;
+            }
+        }
+
+        if (firstHit == null) {
+            startSweep(endX, endY);
+            return null;
+        }
+
+        final Transform hitBounds = firstHit.getHitbox().getTransform();
+        float impactX = startX + firstTime * deltaX;
+        float impactY = startY + firstTime * deltaY;
+
+        // Place the hit edge exactly, the time of impact isn't precise enough for that
+        if (firstHitOnX) {
+            impactX = deltaX > 0 ? hitBounds.getX() - width + CONTACT_DEPTH : hitBounds.getX() + hitBounds.getWidth() - CONTACT_DEPTH;
+        } else {
+            impactY = deltaY > 0 ? hitBounds.getY() - height + CONTACT_DEPTH : hitBounds.getY() + hitBounds.getHeight() - CONTACT_DEPTH;
+        }
+
+        parent.setX(parent.getX() + impactX - endX);
+        parent.setY(parent.getY() + impactY - endY);
+        parent.getHitbox().recalculate();
+
+        startSweep(hitbox.getX(), hitbox.getY());
+        return firstHit;
+    }
+
+    private void startSweep(float x, float y) {
+        sweepStartX = x;
+        sweepStartY = y;
+        sweepStarted = true;
+    }
+
+    /**
+     * Forgets the start of the current sweep, so that the next sweep starts at the position of the hitbox then.
+     * Call this after teleporting the parent, otherwise it would hit everything on the way.
+     */
+    public void resetSweep() {
+        sweepStarted = false;
+    }
+
+    /**
+     * @return the x position of the hitbox at the start of the current sweep, or the current one if none was started
+     */
+    public float getSweepStartX() {
+        return sweepStarted ? sweepStartX : getParent().getHitbox().getTransform().getX();
+    }
+
+    /**
+     * @return the y position of the hitbox at the start of the current sweep, or the current one if none was started
+     */
+    public float getSweepStartY() {
+        return sweepStarted ? sweepStartY : getParent().getHitbox().getTransform().getY();
+    }
+
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    /**
+     * Sets whether the hitbox is swept along the way it moved during each fixed tick, so that it can't tunnel through
+     * thin hitboxes. This costs a region query of the broad phase per fixed tick, so it's meant for fast GameObjects
+     * like projectiles.
+     *
+     * @param continuous whether to use continuous collision detection
+     */
+    public void setContinuous(boolean continuous) {
+        this.continuous = continuous;
+        this.sweepStarted = false;
+    }
 }
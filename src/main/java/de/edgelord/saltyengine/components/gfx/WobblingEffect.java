@@ -29,8 +29,9 @@ package de.edgelord.saltyengine.components.gfx;
 
 import de.edgelord.saltyengine.core.stereotypes.ComponentParent;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
-
-import java.util.Random;
+import de.edgelord.saltyengine.utils.Randomness;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import de.edgelord.saltyengine.utils.Time;
 
 public class WobblingEffect extends GFXComponent {
 
@@ -40,8 +41,9 @@ public class WobblingEffect extends GFXComponent {
     private int minWidthDelta;
     private int widthDeltaPerTick = 2;
     private int heightDeltaPerTick = 2;
-    private int pause = 250;
-    private int ticks = 0;
+    // The time in milliseconds between two steps of the effect, by default a pause of 250 ticks at 1 ms
+    private long pause = 250 + 1;
+    private long elapsed = 0;
 
     private boolean initRun = true;
     private int heightDelta = 0;
@@ -56,8 +58,6 @@ public class WobblingEffect extends GFXComponent {
         linear
     }
 
-    Random random = new Random();
-
     public WobblingEffect(ComponentParent parent, String name) {
         super(parent, name);
     }
@@ -86,7 +86,9 @@ public class WobblingEffect extends GFXComponent {
     @Override
     public void onFixedTick() {
 
-        if (ticks == pause) {
+        elapsed += SaltySystem.fixedTickMillis;
+
+        if (elapsed >= pause) {
             int currentHeightDelta = 0;
             int currentWidthDelta = 0;
 
@@ -100,8 +102,8 @@ public class WobblingEffect extends GFXComponent {
             switch (mode) {
 
                 case random:
-                    currentHeightDelta = random.nextInt(maxHeightDelta - minHeightDelta) + minHeightDelta;
-                    currentWidthDelta = random.nextInt(maxWidthDelta - minWidthDelta) + minWidthDelta;
+                    currentHeightDelta = Randomness.nextInt(maxHeightDelta - minHeightDelta) + minHeightDelta;
+                    currentWidthDelta = Randomness.nextInt(maxWidthDelta - minWidthDelta) + minWidthDelta;
                     break;
                 case linear:
                     currentHeightDelta = heightDeltaPerTick;
@@ -142,9 +144,12 @@ public class WobblingEffect extends GFXComponent {
             getParent().setWidth(getParent().getWidth() + currentWidthDelta);
             getParent().setX(getParent().getX() + ((float) (currentWidthDelta / 2)) * (-1));
 
-            ticks = 0;
-        } else {
-            ticks++;
+            elapsed -= pause;
+
+            // Don't try to catch up with more than one step, e.g. after a long fixed tick
+            if (elapsed >= pause) {
+                elapsed = 0;
+            }
         }
     }
 
@@ -178,11 +183,38 @@ public class WobblingEffect extends GFXComponent {
         this.heightDeltaPerTick = heightDeltaPerTick;
     }
 
+    /**
+     * @return the number of fixed ticks between two steps of the effect
+     * @see #getPauseMillis()
+     */
     public int getPause() {
-        return pause;
+        return (int) Math.max(0, Time.millisToTicks(pause) - 1);
     }
 
+    /**
+     * Sets the number of fixed ticks between two steps of the effect, so that it steps every <code>pause + 1</code>
+     * ticks. The period is converted into milliseconds using the current {@link SaltySystem#fixedTickMillis}.
+     *
+     * @param pause the number of fixed ticks between two steps
+     * @see #setPauseMillis(long)
+     */
     public void setPause(int pause) {
-        this.pause = pause;
+        setPauseMillis(Time.ticksToMillis(pause + 1));
+    }
+
+    /**
+     * @return the time in milliseconds between two steps of the effect
+     */
+    public long getPauseMillis() {
+        return pause;
+    }
+
+    /**
+     * Sets the time in milliseconds between two steps of the effect.
+     *
+     * @param pauseMillis the time between two steps in milliseconds
+     */
+    public void setPauseMillis(long pauseMillis) {
+        this.pause = pauseMillis;
     }
 }
@@ -31,18 +31,19 @@ import de.edgelord.saltyengine.core.stereotypes.ComponentParent;
 import de.edgelord.saltyengine.cosmetic.Animation;
 import de.edgelord.saltyengine.gameobject.Components;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import de.edgelord.saltyengine.utils.Time;
 
 public class AnimationRender extends RenderComponent {
 
     // The Animation which should be drawn
     private Animation animation = null;
 
-    // The number of fixed ticks (default would be something like 1 milli; set i the Engine constructor)
-    // after which the next frame should be drawn
-    private int ticksPerFrame = 75;
+    // The time in milliseconds after which the next frame should be drawn, by default 75 ticks per frame at 1 ms
+    private long frameDuration = 75 + 1;
 
-    // The current number of fixed ticks; when it reaches #ticksPerFrame it will be reset to 0 again
-    private int ticks = 0;
+    // The time in milliseconds since the last frame was triggered
+    private long elapsed = 0;
 
     /**
      * The default super constructor for gameObjectComponent, which takes in the parent GameObject and the
@@ -63,11 +64,12 @@ public class AnimationRender extends RenderComponent {
      * @param name          the id-name of this Component
      * @param animation     the animation that should be rendered
      * @param ticksPerFrame after how many fixed ticks the next frame of the animation should be triggered
+     * @see #setTicksPerFrame(int)
      */
     public AnimationRender(ComponentParent parent, String name, Animation animation, int ticksPerFrame) {
         super(parent, name, Components.RENDER_COMPONENT);
         this.animation = animation;
-        this.ticksPerFrame = ticksPerFrame;
+        setTicksPerFrame(ticksPerFrame);
     }
 
     /**
@@ -89,19 +91,22 @@ public class AnimationRender extends RenderComponent {
     }
 
     /**
-     * On every fixed tick, #ticks is incremented; when it reaches #ticksPerFrame,
-     * the next frame of #animation gets triggered and ticks will be reset to 0
+     * On every fixed tick, #elapsed is increased by the duration of a fixed tick; when it reaches #frameDuration,
+     * the next frame of #animation gets triggered and #frameDuration is subtracted from #elapsed
      */
     @Override
     public void onFixedTick() {
-        if (isEnabled()) {
-            if (ticks == ticksPerFrame) {
-                if (animation != null) {
-                    animation.nextFrame();
-                    ticks = 0;
+        if (isEnabled() && animation != null) {
+            elapsed += SaltySystem.fixedTickMillis;
+
+            if (elapsed >= frameDuration) {
+                animation.nextFrame();
+                elapsed -= frameDuration;
+
+                // Don't try to catch up with more than one frame, e.g. after a long fixed tick
+                if (elapsed >= frameDuration) {
+                    elapsed = 0;
                 }
-            } else if (animation != null) {
-                ticks++;
             }
         }
     }
@@ -114,11 +119,40 @@ public class AnimationRender extends RenderComponent {
         this.animation = animation;
     }
 
+    /**
+     * @return the duration of one frame in fixed ticks
+     * @see #getFrameDuration()
+     */
     public int getTicksPerFrame() {
-        return ticksPerFrame;
+        return (int) Math.max(0, Time.millisToTicks(frameDuration) - 1);
     }
 
+    /**
+     * Sets the duration of one frame in fixed ticks. Each frame is shown for <code>ticksPerFrame</code> ticks and the
+     * next one is triggered on the tick after, so a frame lasts <code>ticksPerFrame + 1</code> ticks.
+     * That duration is converted into milliseconds using the current {@link SaltySystem#fixedTickMillis}.
+     *
+     * @param ticksPerFrame after how many fixed ticks the next frame of the animation should be triggered
+     * @see #setFrameDuration(long)
+     */
     public void setTicksPerFrame(int ticksPerFrame) {
-        this.ticksPerFrame = ticksPerFrame;
+        setFrameDuration(Time.ticksToMillis(ticksPerFrame + 1));
+    }
+
+    /**
+     * @return the time in milliseconds after which the next frame of the animation is triggered
+     */
+    public long getFrameDuration() {
+        return frameDuration;
+    }
+
+    /**
+     * Sets the time in milliseconds after which the next frame of the animation is triggered.
+     * Unlike {@link #setTicksPerFrame(int)}, this doesn't depend on the duration of a fixed tick.
+     *
+     * @param frameDuration the duration of one frame in milliseconds
+     */
+    public void setFrameDuration(long frameDuration) {
+        this.frameDuration = frameDuration;
     }
 }
@@ -45,6 +45,12 @@ public abstract class Component<T extends ComponentParent> implements Drawable,
 
     private boolean enabled = true;
 
+    /**
+     * The contact events this component subscribed to, as a bitmask of {@link CollisionEvent#ENTER},
+     * {@link CollisionEvent#STAY} and {@link CollisionEvent#EXIT}.
+     */
+    private int contactEvents = 0;
+
     public Component(T parent, String name, String tag) {
         this.parent = parent;
         this.name = name;
@@ -76,6 +82,30 @@ public abstract class Component<T extends ComponentParent> implements Drawable,
 
     }
 
+    /*
+     * Only called if the component subscribed to CollisionEvent.ENTER, see setContactEvents(int)
+     */
+    @Override
+    public void onCollisionEnter(CollisionEvent e) {
+
+    }
+
+    /*
+     * Only called if the component subscribed to CollisionEvent.STAY, see setContactEvents(int)
+     */
+    @Override
+    public void onCollisionStay(CollisionEvent e) {
+
+    }
+
+    /*
+     * Only called if the component subscribed to CollisionEvent.EXIT, see setContactEvents(int)
+     */
+    @Override
+    public void onCollisionExit(CollisionEvent e) {
+
+    }
+
     public void remove() {
         getParent().removeComponent(this);
     }
@@ -112,6 +142,21 @@ public abstract class Component<T extends ComponentParent> implements Drawable,
         this.enabled = enabled;
     }
 
+    public int getContactEvents() {
+        return contactEvents;
+    }
+
+    /**
+     * Subscribes this component to the given contact events of its parent GameObject. The contacts of a GameObject are
+     * only tracked if it or one of its components subscribed to any of them.
+     *
+     * @param contactEvents a bitmask of {@link CollisionEvent#ENTER}, {@link CollisionEvent#STAY} and
+     *                      {@link CollisionEvent#EXIT}
+     */
+    public void setContactEvents(int contactEvents) {
+        this.contactEvents = contactEvents;
+    }
+
     public void enable() {
         setEnabled(true);
     }
@@ -34,28 +34,80 @@ import de.edgelord.saltyengine.utils.Time;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 public class Engine {
 
+    /**
+     * The default value for {@link #maxCatchUpTicks}.
+     */
+    public static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+
+    private static final long RATE_SAMPLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private long fixedTickMillis;
-    private Timer fixedTimer = new Timer();
-    private Timer repaintTimer = new Timer();
-    private boolean isCloseRequested = false;
+    private Timer fixedTimer = null;
+    private Timer repaintTimer = null;
+    private volatile boolean isCloseRequested = false;
+
+    /**
+     * The way the fixed ticks and the repainting are scheduled.
+     * This has to be set before the engine is started.
+     */
+    private LoopMode loopMode = LoopMode.TIMERS;
+
+    /**
+     * The maximum number of fixed ticks the {@link LoopMode#SINGLE_THREAD} loop runs in a row
+     * to catch up with the time before it renders the next frame.
+     * When the loop falls behind more than that, the remaining ticks are dropped
+     * instead of being fired as a burst afterwards.
+     */
+    private int maxCatchUpTicks = DEFAULT_MAX_CATCH_UP_TICKS;
+    private Thread loopThread = null;
+
+    /**
+     * If this is not <code>null</code>, it paces the repainting instead of a <code>Timer</code> or an uncapped loop.
+     * This has to be set before the engine is started.
+     */
+    private FramePacer framePacer = null;
+    private Thread renderThread = null;
+
+    private final AtomicLong tickCount = new AtomicLong();
+    private final AtomicLong frameCount = new AtomicLong();
+    private final AtomicLong droppedTicks = new AtomicLong();
+    private long rateSampleStart = System.nanoTime();
+    private long sampledTickCount = 0;
+    private long sampledFrameCount = 0;
+    private volatile float ticksPerSecond = 0f;
+    private volatile float framesPerSecond = 0f;
 
     public Engine(long fixedTickMillis) {
         this.fixedTickMillis = fixedTickMillis;
+
+        // Set it right away so that durations given in ticks are converted correctly before the engine starts
+        SaltySystem.fixedTickMillis = fixedTickMillis;
     }
 
     public void start() {
 
-        startFixedTicks();
-        startRendering();
+        if (loopMode == LoopMode.SINGLE_THREAD) {
+            startGameLoop(-1);
+        } else {
+            startFixedTicks();
+            startRendering();
+        }
     }
 
     public void start(long FPS) {
-        startFixedTicks();
-        startRepainting(FPS);
 
+        if (loopMode == LoopMode.SINGLE_THREAD) {
+            startGameLoop(FPS);
+        } else {
+            startFixedTicks();
+            startRepainting(FPS);
+        }
     }
 
     private void startRendering() {
@@ -66,72 +118,325 @@ public class Engine {
     public void render(SaltyGraphics saltyGraphics) {
 
         SceneManager.getCurrentScene().draw(saltyGraphics);
+        frameCount.incrementAndGet();
     }
 
     public void startFixedTicks() {
 
         SaltySystem.fixedTickMillis = fixedTickMillis;
 
+        fixedTimer = new Timer();
         fixedTimer.scheduleAtFixedRate(new TimerTask() {
 
             @Override
             public void run() {
 
-                if (!Game.isPaused()) {
+                tick();
+            }
+        }, 0, fixedTickMillis);
+    }
+
+    /**
+     * Runs one fixed tick of the current {@link de.edgelord.saltyengine.scene.Scene} if the game is not paused
+     * and updates {@link #getTicksPerSecond()} and {@link #getFramesPerSecond()}.
+     */
+    void tick() {
+
+        if (!Game.isPaused()) {
+
+            SceneManager.getCurrentScene().onFixedTick();
+            tickCount.incrementAndGet();
+        }
+
+        sampleRates();
+    }
+
+    private void sampleRates() {
+
+        final long now = System.nanoTime();
+        final long elapsed = now - rateSampleStart;
+
+        if (elapsed >= RATE_SAMPLE_NANOS) {
+
+            final long ticks = tickCount.get();
+            final long frames = frameCount.get();
+
+            ticksPerSecond = (ticks - sampledTickCount) * (float) RATE_SAMPLE_NANOS / elapsed;
+            framesPerSecond = (frames - sampledFrameCount) * (float) RATE_SAMPLE_NANOS / elapsed;
+
+            sampledTickCount = ticks;
+            sampledFrameCount = frames;
+            rateSampleStart = now;
+        }
+    }
+
+    /**
+     * Starts the {@link LoopMode#SINGLE_THREAD} loop. The loop accumulates the passed time
+     * and runs one fixed tick for every <code>fixedTickMillis</code> within that time, but no more than
+     * {@link #maxCatchUpTicks} in a row. After the ticks, the {@link Host} {@link Game#getHost()} is repainted,
+     * either each time the loop runs or with the given FPS. If there is a {@link #framePacer}, it decides when to
+     * repaint and how to wait for the next tick or frame.
+     * Ticking and repainting are started from the same thread, but whether the frame is also rendered on that thread
+     * depends on the <code>Host</code>. The default {@link de.edgelord.saltyengine.display.DisplayManager} only
+     * schedules the painting on the Swing event dispatch thread, which still competes with the ticks for
+     * {@link de.edgelord.saltyengine.scene.Scene#concurrentBlock}, unless
+     * {@link de.edgelord.saltyengine.display.DisplayManager#setActiveRendering(boolean) active rendering} is enabled.
+     *
+     * @param FPS the frames per second to repaint with, or <code>-1</code> to repaint once per loop iteration, which
+     *            waits for the next tick in between
+     */
+    private void startGameLoop(final long FPS) {
+
+        SaltySystem.fixedTickMillis = fixedTickMillis;
+
+        final long tickNanos = TimeUnit.MILLISECONDS.toNanos(fixedTickMillis);
+        final long frameNanos = FPS > 0 ? TimeUnit.SECONDS.toNanos(1) / FPS : 0;
+        final FramePacer pacer = framePacer;
+
+        if (pacer != null && FPS > 0) {
+            pacer.setTargetFPS(FPS);
+        }
+
+        loopThread = new Thread(() -> {
+
+            long previousNanos = System.nanoTime();
+            long lastFrameNanos = previousNanos;
+            long nextFrameNanos = previousNanos;
+            long accumulator = 0;
+
+            if (pacer != null) {
+                pacer.reset(previousNanos);
+            }
+
+            while (!isCloseRequested) {
+
+                final long now = System.nanoTime();
+                accumulator += now - previousNanos;
+                previousNanos = now;
+
+                int catchUpTicks = 0;
+                while (accumulator >= tickNanos && catchUpTicks < maxCatchUpTicks) {
+                    tick();
+                    accumulator -= tickNanos;
+                    catchUpTicks++;
+                }
+
+                if (accumulator >= tickNanos) {
+                    droppedTicks.addAndGet(accumulator / tickNanos);
+                    accumulator %= tickNanos;
+                }
+
+                if (pacer != null) {
+
+                    if (pacer.isFrameDue(now) && pacer.beginFrame(now)) {
+                        Time.setDeltaNanos(pacer.getFrameDeltaNanos());
+                        Game.getHost().repaint();
+                    }
+
+                    // Only the frame deadlines have to be met precisely, being a bit late for a tick is caught up
+                    final long nextTickNanos = now + tickNanos - accumulator;
+                    if (pacer.getNextFrameNanos() - nextTickNanos <= 0) {
+                        pacer.awaitNextFrame();
+                    } else {
+                        pacer.sleepUntil(nextTickNanos);
+                    }
+
+                    continue;
+                }
+
+                if (now - nextFrameNanos >= 0) {
+
+                    Time.setDeltaNanos(now - lastFrameNanos);
+                    lastFrameNanos = now;
+
+                    Game.getHost().repaint();
+
+                    nextFrameNanos += frameNanos;
+                    if (System.nanoTime() - nextFrameNanos >= frameNanos) {
+                        nextFrameNanos = System.nanoTime() + frameNanos;
+                    }
+                }
+
+                final long untilNextTick = tickNanos - accumulator;
 
-                    SceneManager.getCurrentScene().onFixedTick();
+                if (frameNanos > 0) {
+                    final long untilNextFrame = nextFrameNanos - System.nanoTime();
+
+                    LockSupport.parkNanos(Math.min(untilNextTick, untilNextFrame));
+                } else {
+                    // Without a frame rate there is nothing new to render before the next tick
+                    LockSupport.parkNanos(untilNextTick);
                 }
             }
-        }, 0, fixedTickMillis);
+        }, "salty-engine-loop");
+
+        loopThread.start();
     }
 
     /**
      * Repaints the {@link Host} {@link Game#getHost()} with the given FPS.
      * It makes the <code>Host</code> repaint each <code>1000 / FPS</code>.
      * This is limited to 1000 FPS, for higher FPS please use {@link #startRepainting()}
+     * If there is a {@link #framePacer}, it paces the repainting with the given FPS instead.
      *
      * @param FPS
      */
     private void startRepainting(long FPS) {
 
+        if (framePacer != null) {
+            framePacer.setTargetFPS(FPS);
+            startPacedRepainting();
+            return;
+        }
+
+        repaintTimer = new Timer();
         repaintTimer.scheduleAtFixedRate(new TimerTask() {
 
-            long nanosBeforeLastTime = 0;
+            long nanosBeforeLastTime = System.nanoTime();
 
             @Override
             public void run() {
 
-                Time.setDeltaNanos((System.nanoTime() - nanosBeforeLastTime) / 1000);
-                nanosBeforeLastTime = System.nanoTime();
+                final long now = System.nanoTime();
+                Time.setDeltaNanos(now - nanosBeforeLastTime);
+                nanosBeforeLastTime = now;
 
                 Game.getHost().repaint();
             }
         }, 0, 1000 / FPS);
     }
 
+    /**
+     * Repaints the {@link Host} {@link Game#getHost()} as often as possible,
+     * or with the target FPS of the {@link #framePacer} if there is one.
+     */
     private void startRepainting() {
 
+        if (framePacer != null) {
+            startPacedRepainting();
+            return;
+        }
+
+        repaintTimer = new Timer();
         repaintTimer.schedule(new TimerTask() {
 
-            long nanosBefore;
+            long nanosBefore = System.nanoTime();
 
             @Override
             public void run() {
 
                 while (!isCloseRequested) {
 
-                    nanosBefore = System.nanoTime();
-
                     Game.getHost().repaint();
 
-                    Time.setDeltaNanos(System.nanoTime() - nanosBefore);
+                    final long now = System.nanoTime();
+                    Time.setDeltaNanos(now - nanosBefore);
+                    nanosBefore = now;
                 }
             }
         }, 0);
     }
 
+    private void startPacedRepainting() {
+
+        final FramePacer pacer = framePacer;
+
+        renderThread = new Thread(() -> pacer.run(() -> !isCloseRequested, () -> {
+            Time.setDeltaNanos(pacer.getFrameDeltaNanos());
+            Game.getHost().repaint();
+        }), "salty-engine-render");
+
+        renderThread.start();
+    }
+
+    /**
+     * Tells the {@link #framePacer}, if there is one, that the next frame has to be rendered.
+     *
+     * @see FramePacer#markDirty()
+     */
+    public void markDirty() {
+
+        final FramePacer pacer = framePacer;
+
+        if (pacer != null) {
+            pacer.markDirty();
+        }
+    }
+
     public void close() {
 
         isCloseRequested = true;
     }
+
+    public LoopMode getLoopMode() {
+        return loopMode;
+    }
+
+    public void setLoopMode(LoopMode loopMode) {
+        this.loopMode = loopMode;
+    }
+
+    public FramePacer getFramePacer() {
+        return framePacer;
+    }
+
+    public void setFramePacer(FramePacer framePacer) {
+        this.framePacer = framePacer;
+    }
+
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    public void setMaxCatchUpTicks(int maxCatchUpTicks) {
+        this.maxCatchUpTicks = maxCatchUpTicks;
+    }
+
+    /**
+     * @return the number of fixed ticks that were run within the last second
+     */
+    public float getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    /**
+     * @return the number of frames that were rendered within the last second
+     */
+    public float getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /**
+     * @return the total number of fixed ticks that were run since the engine was created
+     */
+    public long getTickCount() {
+        return tickCount.get();
+    }
+
+    /**
+     * @return the number of fixed ticks the {@link LoopMode#SINGLE_THREAD} loop dropped because it fell
+     * behind more than {@link #maxCatchUpTicks}
+     */
+    public long getDroppedTicks() {
+        return droppedTicks.get();
+    }
+
+    public long getFixedTickMillis() {
+        return fixedTickMillis;
+    }
+
+    public enum LoopMode {
+
+        /**
+         * Fixed ticks and repainting are scheduled on two separate {@link Timer} threads.
+         */
+        TIMERS,
+
+        /**
+         * Fixed ticks and repainting are run from one loop thread, using a fixed timestep.
+         *
+         * @see #maxCatchUpTicks
+         */
+        SINGLE_THREAD
+    }
 }
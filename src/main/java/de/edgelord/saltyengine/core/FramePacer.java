@@ -0,0 +1,354 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Paces the rendering of the {@link Engine} to a target FPS.
+ * <p>
+ * The time until the next frame is slept away, except for the last {@link #spinThresholdNanos}, which are spent
+ * yielding in a loop. That way, frames start within a few microseconds of their deadline without burning a whole core
+ * like an uncapped repaint loop does. The deadlines are absolute, so the frame rate doesn't drift like with a
+ * <code>Timer</code> that repaints every <code>1000 / FPS</code> milliseconds.
+ * <p>
+ * In {@link #idleMode}, a frame is only rendered if something changed since the last one, i.e. if {@link #markDirty()}
+ * was called, or if the last frame is older than {@link #heartbeatNanos}. Input, switching the current scene and
+ * adding or removing objects do that automatically, everything else can call {@link Game#requestRender()}.
+ * <p>
+ * To use it, set it to the engine before starting it:
+ * <pre>
+ * {@code
+ * Game.getEngine().setFramePacer(new FramePacer(60));
+ * Game.start();
+ * }
+ * </pre>
+ */
+public class FramePacer {
+
+    /**
+     * The default value for {@link #spinThresholdNanos}.
+     */
+    public static final long DEFAULT_SPIN_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * The default value for {@link #heartbeatNanos}.
+     */
+    public static final long DEFAULT_HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private long targetFPS;
+    private long frameNanos;
+
+    /**
+     * The time before a deadline that is spent yielding instead of sleeping, because sleeping isn't precise enough.
+     */
+    private long spinThresholdNanos = DEFAULT_SPIN_THRESHOLD_NANOS;
+
+    /**
+     * If this is <code>true</code>, frames are only rendered when something changed.
+     */
+    private boolean idleMode = false;
+
+    /**
+     * In {@link #idleMode}, a frame is rendered at least this often even if nothing changed.
+     */
+    private long heartbeatNanos = DEFAULT_HEARTBEAT_NANOS;
+
+    private volatile boolean dirty = true;
+
+    private long nextFrameNanos;
+    private long lastRenderNanos;
+    private long startNanos;
+    private volatile long frameDeltaNanos = 0;
+
+    private final AtomicLong renderedFrames = new AtomicLong();
+    private final AtomicLong skippedFrames = new AtomicLong();
+    private final AtomicLong deadlineMisses = new AtomicLong();
+    private final AtomicLong sleptNanos = new AtomicLong();
+    private final AtomicLong spunNanos = new AtomicLong();
+
+    /**
+     * Creates a new pacer.
+     *
+     * @param targetFPS the frames per second to render with
+     */
+    public FramePacer(long targetFPS) {
+        setTargetFPS(targetFPS);
+        reset(System.nanoTime());
+    }
+
+    /**
+     * Resets the deadlines and the statistics, so that the next frame is due immediately.
+     *
+     * @param now the current time as given by {@link System#nanoTime()}
+     */
+    public void reset(long now) {
+        nextFrameNanos = now;
+        lastRenderNanos = now;
+        startNanos = now;
+        dirty = true;
+
+        renderedFrames.set(0);
+        skippedFrames.set(0);
+        deadlineMisses.set(0);
+        sleptNanos.set(0);
+        spunNanos.set(0);
+    }
+
+    /**
+     * Renders frames with the target FPS until <code>running</code> returns <code>false</code>.
+     *
+     * @param running     tested before every frame
+     * @param renderFrame renders one frame
+     */
+    public void run(BooleanSupplier running, Runnable renderFrame) {
+
+        reset(System.nanoTime());
+
+        while (running.getAsBoolean()) {
+
+            awaitNextFrame();
+
+            if (beginFrame(System.nanoTime())) {
+                renderFrame.run();
+            }
+        }
+    }
+
+    /**
+     * Marks the current frame as outdated, so that the next frame is rendered in {@link #idleMode}.
+     * This can be called from any thread.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * @param now the current time as given by {@link System#nanoTime()}
+     * @return whether the deadline of the next frame has passed
+     */
+    public boolean isFrameDue(long now) {
+        return now - nextFrameNanos >= 0;
+    }
+
+    /**
+     * Moves on to the next deadline and decides whether the frame that is due should be rendered.
+     * A rendered frame that starts more than half a frame after its deadline counts as a deadline miss, and if the
+     * pacer fell behind by more than a whole frame, the missed deadlines are skipped instead of being rendered as a burst.
+     *
+     * @param now the current time as given by {@link System#nanoTime()}
+     * @return <code>true</code> if the frame should be rendered, <code>false</code> if it can be skipped because
+     * nothing changed in {@link #idleMode}
+     */
+    public boolean beginFrame(long now) {
+
+        final boolean late = now - nextFrameNanos > frameNanos / 2;
+
+        nextFrameNanos += frameNanos;
+        if (now - nextFrameNanos >= 0) {
+            nextFrameNanos = now + frameNanos;
+        }
+
+        if (idleMode && !dirty && now - lastRenderNanos < heartbeatNanos) {
+            skippedFrames.incrementAndGet();
+            return false;
+        }
+
+        if (late) {
+            deadlineMisses.incrementAndGet();
+        }
+
+        dirty = false;
+        frameDeltaNanos = now - lastRenderNanos;
+        lastRenderNanos = now;
+        renderedFrames.incrementAndGet();
+
+        return true;
+    }
+
+    /**
+     * Waits until the deadline of the next frame.
+     * In {@link #idleMode}, a frame that will most likely be skipped doesn't need a precise start, so the whole time
+     * is slept away then.
+     *
+     * @see #waitUntil(long)
+     */
+    public void awaitNextFrame() {
+        if (idleMode && !dirty && nextFrameNanos - lastRenderNanos < heartbeatNanos) {
+            sleepUntil(nextFrameNanos);
+        } else {
+            waitUntil(nextFrameNanos);
+        }
+    }
+
+    /**
+     * Sleeps until {@link #spinThresholdNanos} before the given deadline and yields until the deadline afterwards.
+     *
+     * @param deadlineNanos the time to wait for as given by {@link System#nanoTime()}
+     */
+    public void waitUntil(long deadlineNanos) {
+
+        sleepUntil(deadlineNanos - spinThresholdNanos);
+
+        final long spinStart = System.nanoTime();
+        long now = spinStart;
+
+        while (deadlineNanos - now > 0) {
+            Thread.yield();
+            now = System.nanoTime();
+        }
+
+        spunNanos.addAndGet(now - spinStart);
+    }
+
+    /**
+     * Sleeps until about the given time without spinning.
+     * This is enough for deadlines that don't have to be met precisely.
+     *
+     * @param deadlineNanos the time to sleep until as given by {@link System#nanoTime()}
+     */
+    public void sleepUntil(long deadlineNanos) {
+
+        long now = System.nanoTime();
+
+        while (deadlineNanos - now > 0) {
+            LockSupport.parkNanos(deadlineNanos - now);
+
+            final long woken = System.nanoTime();
+            sleptNanos.addAndGet(woken - now);
+            now = woken;
+        }
+    }
+
+    public long getTargetFPS() {
+        return targetFPS;
+    }
+
+    public void setTargetFPS(long targetFPS) {
+        if (targetFPS <= 0) {
+            throw new IllegalArgumentException("The target FPS of a FramePacer has to be positive, but was " + targetFPS);
+        }
+
+        this.targetFPS = targetFPS;
+        this.frameNanos = TimeUnit.SECONDS.toNanos(1) / targetFPS;
+    }
+
+    public long getSpinThresholdNanos() {
+        return spinThresholdNanos;
+    }
+
+    public void setSpinThresholdNanos(long spinThresholdNanos) {
+        this.spinThresholdNanos = spinThresholdNanos;
+    }
+
+    public boolean isIdleMode() {
+        return idleMode;
+    }
+
+    public void setIdleMode(boolean idleMode) {
+        this.idleMode = idleMode;
+        markDirty();
+    }
+
+    public long getHeartbeatNanos() {
+        return heartbeatNanos;
+    }
+
+    public void setHeartbeatNanos(long heartbeatNanos) {
+        this.heartbeatNanos = heartbeatNanos;
+    }
+
+    /**
+     * @return the time of the next deadline as given by {@link System#nanoTime()}
+     */
+    public long getNextFrameNanos() {
+        return nextFrameNanos;
+    }
+
+    /**
+     * @return the time between the last two rendered frames in nanoseconds
+     */
+    public long getFrameDeltaNanos() {
+        return frameDeltaNanos;
+    }
+
+    /**
+     * @return the number of frames that were rendered since the last {@link #reset(long)}
+     */
+    public long getRenderedFrames() {
+        return renderedFrames.get();
+    }
+
+    /**
+     * @return the number of frames that were skipped in {@link #idleMode} because nothing changed
+     */
+    public long getSkippedFrames() {
+        return skippedFrames.get();
+    }
+
+    /**
+     * @return the number of rendered frames that started more than half a frame after their deadline
+     */
+    public long getDeadlineMisses() {
+        return deadlineMisses.get();
+    }
+
+    /**
+     * @return the total time in nanoseconds the pacer slept instead of rendering or spinning
+     */
+    public long getSleptNanos() {
+        return sleptNanos.get();
+    }
+
+    /**
+     * @return the total time in nanoseconds the pacer spent yielding right before deadlines
+     */
+    public long getSpunNanos() {
+        return spunNanos.get();
+    }
+
+    /**
+     * Returns the share of the time since the last {@link #reset(long)} that the rendering thread slept.
+     * An uncapped repaint loop keeps its core busy all the time, so this is the share of that core the pacer saves.
+     *
+     * @return the share of the time the pacer slept, between 0 and 1
+     */
+    public float getCpuSavedFraction() {
+
+        final long elapsed = System.nanoTime() - startNanos;
+
+        if (elapsed <= 0) {
+            return 0f;
+        }
+
+        return Math.min(1f, sleptNanos.get() / (float) elapsed);
+    }
+}
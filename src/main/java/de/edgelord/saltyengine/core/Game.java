@@ -140,6 +140,18 @@ public class Game {
         Game.paused = paused;
     }
 
+    /**
+     * Tells the {@link FramePacer} of the {@link #engine}, if there is one, that the next frame has to be rendered
+     * in {@link FramePacer#isIdleMode() idle mode}.
+     * Input, switching the current scene and adding or removing things from it do that automatically,
+     * call this whenever something else changes what is visible.
+     */
+    public static void requestRender() {
+        if (engine != null) {
+            engine.markDirty();
+        }
+    }
+
     public static GFXController getDefaultGFXController() {
         return defaultGFXController;
     }
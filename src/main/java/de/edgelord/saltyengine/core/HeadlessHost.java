@@ -0,0 +1,241 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.edgelord.saltyengine.core;
+
+import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.transform.Dimensions;
+import de.edgelord.saltyengine.utils.ImageUtils;
+import de.edgelord.saltyengine.utils.SaltySystem;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static java.awt.RenderingHints.KEY_ANTIALIASING;
+import static java.awt.RenderingHints.VALUE_ANTIALIAS_ON;
+
+/**
+ * A {@link Host} without any window, used to run {@link de.edgelord.saltyengine.scene.Scene}s on machines
+ * without a display, e.g. for batch simulations or benchmarks.
+ * <p>
+ * The scene can either be driven by the {@link Engine} with a fixed rate, by starting the game as usual
+ * (with {@link de.edgelord.saltyengine.display.SplashWindow.Splash#NO_SPLASH}), or as fast as possible by calling
+ * {@link #simulate(long)}.
+ * <p>
+ * When {@link #rendering} is enabled, every {@link #renderEveryTicks}th fixed tick is rendered into an offscreen
+ * {@link BufferedImage}, which can be obtained via {@link #getImage()}. It is recommended to also run the JVM with
+ * <code>-Djava.awt.headless=true</code>.
+ * <p>
+ * An example usage would be:
+ * <pre>
+ * {@code
+ * HeadlessHost host = new HeadlessHost(1200, 900);
+ * new Game(host, "simulation", 1);
+ * SceneManager.setCurrentScene(new MyLevel());
+ *
+ * long nanos = host.simulate(100000);
+ * }
+ * </pre>
+ */
+public class HeadlessHost extends Host {
+
+    private Dimensions dimensions;
+    private Color backgroundColor = Color.WHITE;
+    private RenderingHints renderingHints = new RenderingHints(KEY_ANTIALIASING, VALUE_ANTIALIAS_ON);
+
+    private BufferedImage image = null;
+
+    /**
+     * Whether the scene is rendered into {@link #image} or not. Simulations without any visual
+     * output should leave this <code>false</code>.
+     */
+    private boolean rendering = false;
+
+    /**
+     * The number of fixed ticks after which the next frame is rendered into {@link #image}.
+     */
+    private long renderEveryTicks = 16;
+    private long lastRenderedTick = -1;
+
+    public HeadlessHost(float width, float height) {
+        this(new Dimensions(width, height));
+    }
+
+    public HeadlessHost(Dimensions dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public void create() {
+    }
+
+    /**
+     * Runs the given number of fixed ticks of the current {@link de.edgelord.saltyengine.scene.Scene} on the
+     * calling thread, as fast as possible. If {@link #rendering} is enabled, a frame is rendered
+     * each {@link #renderEveryTicks} ticks.
+     *
+     * @param ticks the number of fixed ticks to run
+     * @return the time the simulation took in nanoseconds
+     */
+    public long simulate(long ticks) {
+
+        final Engine engine = Game.getEngine();
+        SaltySystem.fixedTickMillis = engine.getFixedTickMillis();
+
+        final long nanosBefore = System.nanoTime();
+
+        for (long i = 0; i < ticks; i++) {
+            engine.tick();
+            repaint();
+        }
+
+        return System.nanoTime() - nanosBefore;
+    }
+
+    /**
+     * Runs as many fixed ticks as are within the given time in game time.
+     *
+     * @param millis the game time to simulate in milliseconds
+     * @return the time the simulation took in nanoseconds
+     * @see #simulate(long)
+     */
+    public long simulateMillis(long millis) {
+        return simulate(millis / Game.getEngine().getFixedTickMillis());
+    }
+
+    /**
+     * Renders a frame into {@link #image} if {@link #rendering} is enabled and at least
+     * {@link #renderEveryTicks} fixed ticks were run since the last frame.
+     */
+    @Override
+    public void repaint() {
+
+        if (rendering) {
+            final long tick = Game.getEngine().getTickCount();
+
+            if (lastRenderedTick == -1 || tick - lastRenderedTick >= renderEveryTicks) {
+                lastRenderedTick = tick;
+                renderToImage();
+            }
+        }
+    }
+
+    /**
+     * Renders the current scene into {@link #image}, independently from {@link #rendering}.
+     *
+     * @return the image the scene was rendered into
+     */
+    public BufferedImage renderToImage() {
+
+        final int width = Math.max(1, Math.round(dimensions.getWidth()));
+        final int height = Math.max(1, Math.round(dimensions.getHeight()));
+
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        final Graphics2D graphics2D = image.createGraphics();
+        graphics2D.setColor(backgroundColor);
+        graphics2D.fillRect(0, 0, width, height);
+        graphics2D.setRenderingHints(renderingHints);
+
+        Game.getCamera().setViewToGraphics(graphics2D);
+        Game.getEngine().render(new SaltyGraphics(graphics2D));
+        graphics2D.dispose();
+
+        return image;
+    }
+
+    @Override
+    public float getHorizontalCentrePosition(float width) {
+        return (getWidth() / 2) - (width / 2);
+    }
+
+    @Override
+    public float getVerticalCentrePosition(float height) {
+        return (getHeight() / 2) - (height / 2);
+    }
+
+    @Override
+    public Dimensions getDimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public void setBackgroundColor(Color color) {
+        this.backgroundColor = color;
+    }
+
+    @Override
+    public RenderingHints getRenderHints() {
+        return renderingHints;
+    }
+
+    @Override
+    public void setDimensions(Dimensions dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public String takeScreenshot() {
+        String name = "screenshot_";
+        name += LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+
+        try {
+            ImageUtils.saveImage(renderToImage(), ImageUtils.IMAGE_FORMAT_PNG, name, SaltySystem.defaultOuterResource);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return name;
+    }
+
+    /**
+     * @return the last frame rendered into the offscreen image, or <code>null</code> if nothing was rendered yet
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public boolean isRendering() {
+        return rendering;
+    }
+
+    public void setRendering(boolean rendering) {
+        this.rendering = rendering;
+    }
+
+    public long getRenderEveryTicks() {
+        return renderEveryTicks;
+    }
+
+    public void setRenderEveryTicks(long renderEveryTicks) {
+        this.renderEveryTicks = renderEveryTicks;
+    }
+}
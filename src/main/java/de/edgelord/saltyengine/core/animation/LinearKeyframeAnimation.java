@@ -32,6 +32,11 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 
+/**
+ * An animation that linearly interpolates between {@link Keyframe}s.
+ * The timing of the keyframes is in milliseconds, one frame of the animation lasts one millisecond.
+ * Use {@link #nextDelta(long)} to advance the animation by the duration of a fixed tick.
+ */
 public class LinearKeyframeAnimation {
 
     private List<Keyframe> keyframes;
@@ -76,6 +81,24 @@ public class LinearKeyframeAnimation {
         }
     }
 
+    /**
+     * Advances the animation by the given time and returns the sum of the deltas of all frames within that time.
+     * With a time step of one millisecond, this is the same as {@link #nextDelta()}.
+     *
+     * @param deltaMillis the time step in milliseconds, usually {@link de.edgelord.saltyengine.utils.SaltySystem#fixedTickMillis}
+     * @return the delta of the animation over the given time step
+     */
+    public float nextDelta(long deltaMillis) {
+
+        float delta = 0f;
+
+        for (long i = 0; i < deltaMillis && !animationEnded(); i++) {
+            delta += nextDelta();
+        }
+
+        return delta;
+    }
+
     public void calculateAnimation() {
 
         currentFrame = 0;
@@ -32,10 +32,36 @@ import de.edgelord.saltyengine.utils.Directions;
 
 /**
  * This class is used for handling collisions between GameObjects. It has all necessary parameters for physics etc.
+ * <p>
+ * The events passed to a GameObject are reused by its next collision detection, so don't keep them beyond the
+ * collision callbacks, copy what you need instead.
  */
 public class CollisionEvent {
 
-    private final GameObject root;
+    /**
+     * The contact event of a collision that began on this tick.
+     *
+     * @see de.edgelord.saltyengine.core.interfaces.CollideAble#onCollisionEnter(CollisionEvent)
+     */
+    public static final int ENTER = 1;
+
+    /**
+     * The contact event of a collision that already existed on the tick before.
+     *
+     * @see de.edgelord.saltyengine.core.interfaces.CollideAble#onCollisionStay(CollisionEvent)
+     */
+    public static final int STAY = 1 << 1;
+
+    /**
+     * The contact event of a collision that existed on the tick before but not anymore.
+     *
+     * @see de.edgelord.saltyengine.core.interfaces.CollideAble#onCollisionExit(CollisionEvent)
+     */
+    public static final int EXIT = 1 << 2;
+
+    public static final int ALL_CONTACT_EVENTS = ENTER | STAY | EXIT;
+
+    private GameObject root;
     private Directions collisionDirections;
     private Directions.Direction collisionDirection;
 
@@ -46,6 +72,20 @@ public class CollisionEvent {
         this.collisionDirection = collisionDirection;
     }
 
+    /**
+     * Sets all parameters of this event at once, to reuse it for another collision.
+     *
+     * @param root                the GameObject that was collided with
+     * @param collisionDirections all directions of the collisions of the GameObject
+     * @param collisionDirection  the direction of this collision
+     */
+    public void set(final GameObject root, final Directions collisionDirections, final Directions.Direction collisionDirection) {
+
+        this.root = root;
+        this.collisionDirections = collisionDirections;
+        this.collisionDirection = collisionDirection;
+    }
+
     public GameObject getRoot() {
         return root;
     }
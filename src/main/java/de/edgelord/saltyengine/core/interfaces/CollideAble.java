@@ -36,4 +36,26 @@ public interface CollideAble {
     void onCollision(CollisionEvent e);
 
     void onCollisionDetectionFinish(List<CollisionEvent> collisions);
+
+    /**
+     * Called on the first tick of a collision with another GameObject, if {@link CollisionEvent#ENTER} is subscribed.
+     *
+     * @param e the collision that just began
+     */
+    void onCollisionEnter(CollisionEvent e);
+
+    /**
+     * Called on every further tick of a collision with another GameObject, if {@link CollisionEvent#STAY} is subscribed.
+     *
+     * @param e the collision that goes on
+     */
+    void onCollisionStay(CollisionEvent e);
+
+    /**
+     * Called on the first tick without a collision with a GameObject that was collided with on the tick before, if
+     * {@link CollisionEvent#EXIT} is subscribed. The direction of the event is the last one of the collision.
+     *
+     * @param e the collision that ended
+     */
+    void onCollisionExit(CollisionEvent e);
 }
@@ -28,22 +28,32 @@
 package de.edgelord.saltyengine.core.physics;
 
 import de.edgelord.saltyengine.gameobject.GameObject;
-import de.edgelord.saltyengine.scene.SceneManager;
 import de.edgelord.saltyengine.utils.Directions;
 
-public class Force {
+/**
+ * A force that moves its parent GameObject in one direction. Its state is stored in a {@link PhysicsWorld}, this is
+ * only a handle to its slot there. A Force created with one of the public constructors has a small world on its own
+ * until it's {@link de.edgelord.saltyengine.components.SimplePhysicsComponent#addForce(Force) added} to a component.
+ */
+public strictfp class Force {
 
     private static final float VALUE_SCALE = 1000;
 
+    /**
+     * The factor between the acceleration passed to {@link #setAcceleration(float)} and the one that is stored.
+     */
+    public static final float ACCELERATION_SCALE = VALUE_SCALE * VALUE_SCALE;
+
+    /**
+     * The factor between the velocity passed to {@link #setVelocity(float)} and the one that is stored.
+     */
+    public static final float VELOCITY_SCALE = VALUE_SCALE * 10;
+
     public static float DEFAULT_FRICTION = 0.0025f;
-    private float acceleration;
-    private float velocity;
-    private float distance;
-    private float deltaDistance;
-    private Directions.Direction direction;
+    private PhysicsWorld world;
+    private int slot;
     private String name;
     private GameObject parent;
-    private boolean countersCollision = false;
 
     public Force(final float acceleration, final GameObject parent, final Directions.Direction direction, final String name) {
         this(acceleration, 0, 0, parent, direction, name);
@@ -54,82 +64,140 @@ public class Force {
     }
 
     public Force(final float acceleration, final float velocity, final float distance, final GameObject parent, final Directions.Direction direction, final String name) {
-        this.acceleration = acceleration;
-        this.velocity = velocity;
-        this.distance = distance;
+        this(new PhysicsWorld(0, 1), PhysicsWorld.NO_SLOT, acceleration, velocity, distance, parent, direction, name);
+    }
+
+    Force(final PhysicsWorld world, final int body, final float acceleration, final float velocity, final float distance, final GameObject parent, final Directions.Direction direction, final String name) {
         this.parent = parent;
-        this.direction = direction;
         this.name = name;
+        this.world = world;
+        this.slot = world.addForce(body, this, acceleration, velocity, distance, direction);
     }
 
-    public float deltaDistance(final int deltaT) {
-
-        final float counterForce = velocity * SceneManager.getCurrentScene().getFriction();
-        float counterAcceleration = 0f;
-
-        if (!countersCollision) {
-            counterAcceleration = -(counterForce * parent.getMass());
-        }
-
-        final float accelerationRes = acceleration + counterAcceleration;
+    /**
+     * Points this handle to the given slot, after the force was moved there.
+     */
+    void bind(final PhysicsWorld world, final int slot) {
+        this.world = world;
+        this.slot = slot;
+    }
 
-        velocity += accelerationRes * deltaT;
+    /**
+     * @return the world the state of this force is stored in
+     */
+    public PhysicsWorld getWorld() {
+        return world;
+    }
 
-        if (countersCollision) {
-            velocity = 0;
-        }
+    /**
+     * @return the slot of this force in its {@link #getWorld() world}
+     */
+    public int getSlot() {
+        return slot;
+    }
 
-        deltaDistance = velocity * deltaT;
-        distance += deltaDistance;
-        if (countersCollision) {
-            return 0;
-        }
-        return deltaDistance;
+    /**
+     * Integrates this force over the given number of milliseconds.
+     *
+     * @param deltaT the time step in milliseconds
+     * @return the distance the parent moves due to this force within the time step
+     * @see #deltaDistance(float)
+     */
+    public float deltaDistance(final int deltaT) {
+        return deltaDistance((float) deltaT);
+    }
+
+    /**
+     * Integrates this force over the given time step and returns the distance the parent moves because of it.
+     * <p>
+     * The friction of the scene slows the velocity down proportionally to it, so the velocity follows
+     * <code>dv/dt = acceleration - friction * mass * velocity</code>. That equation is solved exactly for the step
+     * instead of approximating it with one Euler step, which is why the result is the same no matter how the time is
+     * split up: ten steps of 1 millisecond move the parent as far as one step of 10 milliseconds. That lets games run
+     * with a much longer {@link de.edgelord.saltyengine.utils.SaltySystem#fixedTickMillis} without changing their feel.
+     *
+     * The friction is taken from the {@link PhysicsWorld#getContext() context} of the world of this force.
+     *
+     * @param deltaMillis the time step in milliseconds
+     * @return the distance the parent moves due to this force within the time step
+     * @see PhysicsWorld#integrateForce(int, float, float)
+     */
+    public float deltaDistance(final float deltaMillis) {
+        return world.integrateForce(slot, deltaMillis, world.getContext().getFriction());
+    }
+
+    /**
+     * Integrates this force over the time step of the given context with its friction.
+     *
+     * @param context the parameters to integrate with
+     * @return the distance the parent moves due to this force within the time step
+     * @see #deltaDistance(float)
+     */
+    public float deltaDistance(final PhysicsContext context) {
+        return world.integrateForce(slot, context.getDeltaMillis(), context.getFriction());
     }
 
     public float getDistance() {
-        return distance;
+        return world.getDistance(slot);
     }
 
     public void setDistance(final float distance) {
-        this.distance = distance;
+        world.setDistance(slot, distance);
     }
 
     public float getDeltaDistance() {
-        return deltaDistance;
+        return world.getDeltaDistance(slot);
     }
 
     public void setDeltaDistance(final float deltaDistance) {
-        this.deltaDistance = deltaDistance;
+        world.setDeltaDistance(slot, deltaDistance);
     }
 
     public float getVelocity() {
-        return velocity;
+        return world.getVelocity(slot);
     }
 
+    /**
+     * Sets the velocity of this force. A velocity other than 0 wakes up the parent if it's sleeping.
+     *
+     * @param velocity the new velocity
+     */
     public void setVelocity(final float velocity) {
-        if (!countersCollision) {
-            this.velocity = velocity / (VALUE_SCALE * 10);
+        if (!world.isCountersCollision(slot)) {
+            world.setVelocity(slot, velocity / VELOCITY_SCALE);
+
+            if (velocity != 0f && parent != null) {
+                parent.wakeUp();
+            }
         }
     }
 
     public float getAcceleration() {
-        return acceleration;
+        return world.getAcceleration(slot);
     }
 
+    /**
+     * Sets the acceleration of this force. An acceleration other than 0 wakes up the parent if it's sleeping.
+     *
+     * @param acceleration the new acceleration
+     */
     public void setAcceleration(final float acceleration) {
 
-        if (!countersCollision) {
-            this.acceleration = acceleration / (VALUE_SCALE * VALUE_SCALE);
+        if (!world.isCountersCollision(slot)) {
+            world.setAcceleration(slot, acceleration / ACCELERATION_SCALE);
+
+            if (acceleration != 0f && parent != null) {
+                parent.wakeUp();
+            }
         }
     }
 
     public Directions.Direction getDirection() {
-        return direction;
+        return world.getDirection(slot);
     }
 
     public void setDirection(final Directions.Direction direction) {
-        this.direction = direction;
+        world.setDirection(slot, direction);
     }
 
     public String getName() {
@@ -149,10 +217,10 @@ public class Force {
     }
 
     public boolean isCountersCollision() {
-        return countersCollision;
+        return world.isCountersCollision(slot);
     }
 
     public void setCountersCollision(final boolean countersCollision) {
-        this.countersCollision = countersCollision;
+        world.setCountersCollision(slot, countersCollision);
     }
 }
@@ -0,0 +1,68 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.core.physics;
+
+/**
+ * The index of a {@link Force} in the force table of a
+ * {@link de.edgelord.saltyengine.components.SimplePhysicsComponent}, to get the force with
+ * {@link de.edgelord.saltyengine.components.SimplePhysicsComponent#getForce(ForceHandle)} without looking it up by its
+ * name.
+ * <p>
+ * The default forces are in the same slots of every component, so their handles, like
+ * {@link de.edgelord.saltyengine.components.SimplePhysicsComponent#DEFAULT_GRAVITY_HANDLE}, work for all of them.
+ * The handle of any other force is only valid for the component that handed it out.
+ */
+public final class ForceHandle {
+
+    private final int index;
+
+    public ForceHandle(final int index) {
+        this.index = index;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof ForceHandle && ((ForceHandle) o).index == index;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "ForceHandle{" +
+                "index=" + index +
+                '}';
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.core.physics;
+
+/**
+ * How a {@link PhysicsWorld} moves its bodies.
+ *
+ * @see PhysicsWorld#setIntegrator(Integrator)
+ */
+public enum Integrator {
+
+    /**
+     * Every body is moved by its {@link Force}s, one per direction, each of which is integrated on its own with the
+     * exact solution of {@link Force#deltaDistance(float)}. This is the default.
+     */
+    FORCES,
+
+    /**
+     * Every body has one velocity vector, and the forces applied to it during a tick are summed up in one
+     * acceleration vector. The velocity is updated with that acceleration first and then moves the body.
+     * The {@link Force}s of the bodies are not integrated.
+     */
+    SEMI_IMPLICIT_EULER,
+
+    /**
+     * Like {@link #SEMI_IMPLICIT_EULER}, but the velocity of a body is derived from how far it actually moved since
+     * the last tick, so that it picks up being pushed out of other GameObjects or moved directly.
+     * The {@link Force}s of the bodies are not integrated.
+     */
+    VERLET
+}
@@ -0,0 +1,111 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.core.physics;
+
+import de.edgelord.saltyengine.components.SimplePhysicsComponent;
+import de.edgelord.saltyengine.scene.Scene;
+
+/**
+ * The parameters of a Scene that its physics are integrated with. A Scene resolves them once per fixed tick and passes
+ * them to its {@link PhysicsWorld}, so that integrating the bodies doesn't look up the current scene for every body and
+ * force, and so that multiple scenes can be simulated at the same time with their own parameters.
+ * <p>
+ * A context is immutable, so it can be read by all threads of a parallel tick.
+ *
+ * @see PhysicsWorld#getContext()
+ */
+public final class PhysicsContext {
+
+    private final float gravity;
+    private final float friction;
+    private final float deltaMillis;
+    private final boolean sleepingEnabled;
+    private final float sleepVelocity;
+    private final float sleepDelay;
+
+    /**
+     * @param gravity         the acceleration of the gravity forces
+     * @param friction        the friction that slows down all bodies, see {@link Force#deltaDistance(float)}
+     * @param deltaMillis     the time step of a fixed tick in milliseconds
+     * @param sleepingEnabled whether bodies that came to rest are put to sleep
+     * @param sleepVelocity   the speed in units per second below which a body is at rest
+     * @param sleepDelay      the time in milliseconds a body has to be at rest for before it's put to sleep
+     */
+    public PhysicsContext(final float gravity, final float friction, final float deltaMillis,
+                          final boolean sleepingEnabled, final float sleepVelocity, final float sleepDelay) {
+        this.gravity = gravity;
+        this.friction = friction;
+        this.deltaMillis = deltaMillis;
+        this.sleepingEnabled = sleepingEnabled;
+        this.sleepVelocity = sleepVelocity;
+        this.sleepDelay = sleepDelay;
+    }
+
+    /**
+     * @param deltaMillis the time step of a fixed tick in milliseconds
+     * @return a context with the default gravity and friction, without sleeping
+     */
+    public static PhysicsContext defaults(final float deltaMillis) {
+        return new PhysicsContext(SimplePhysicsComponent.DEFAULT_GRAVITY_ACCELERATION, Force.DEFAULT_FRICTION, deltaMillis,
+                false, Scene.DEFAULT_SLEEP_VELOCITY, Scene.DEFAULT_SLEEP_DELAY);
+    }
+
+    /**
+     * @return whether this context has the given parameters, so that it can be used again instead of a new one
+     */
+    public boolean matches(final float gravity, final float friction, final float deltaMillis,
+                           final boolean sleepingEnabled, final float sleepVelocity, final float sleepDelay) {
+        return this.gravity == gravity && this.friction == friction && this.deltaMillis == deltaMillis
+                && this.sleepingEnabled == sleepingEnabled && this.sleepVelocity == sleepVelocity
+                && this.sleepDelay == sleepDelay;
+    }
+
+    public float getGravity() {
+        return gravity;
+    }
+
+    public float getFriction() {
+        return friction;
+    }
+
+    public float getDeltaMillis() {
+        return deltaMillis;
+    }
+
+    public boolean isSleepingEnabled() {
+        return sleepingEnabled;
+    }
+
+    public float getSleepVelocity() {
+        return sleepVelocity;
+    }
+
+    public float getSleepDelay() {
+        return sleepDelay;
+    }
+}
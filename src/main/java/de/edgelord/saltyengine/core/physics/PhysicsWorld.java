@@ -0,0 +1,1015 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.core.physics;
+
+import de.edgelord.saltyengine.components.SimplePhysicsComponent;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.utils.Directions;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import de.edgelord.saltyengine.utils.StateHash;
+
+import java.util.Arrays;
+
+/**
+ * Stores the state of the bodies of {@link SimplePhysicsComponent}s and of their {@link Force}s in primitive arrays,
+ * so that they can be integrated with one tight loop instead of chasing a list of objects per body.
+ * The components and forces are only handles to a body or force slot of a world.
+ * <p>
+ * Every {@link de.edgelord.saltyengine.scene.Scene} has one world that the physics of its GameObjects are moved into
+ * when they're added and out of when they're removed. A component that isn't part of a scene has a small world on its
+ * own, and so does a Force that was created with one of its public constructors until it's added to a component.
+ * <p>
+ * How the bodies are moved depends on the {@link Integrator} of the world. By default, each of their forces is
+ * integrated on its own. With one of the vector integrators, the forces applied to a body during a tick are summed up
+ * in one acceleration vector instead, which changes one velocity vector per body.
+ * <p>
+ * The forces of a body are chained in the order they were added, so they are summed up in the same order as before.
+ * Slots of removed bodies and forces are reused. Adding or removing bodies and forces is synchronized, but it may
+ * grow the arrays, so it mustn't happen while other threads change the values of the same world, e.g. during the
+ * parallel phases of a Scene.
+ */
+public final strictfp class PhysicsWorld {
+
+    /**
+     * The slot of no body, e.g. the body of a Force that isn't part of a component.
+     */
+    public static final int NO_SLOT = -1;
+
+    // Indexed by the ordinal of a Directions.Direction, so that integrating a force doesn't need a switch
+    private static final float[] SIGN_X = {1f, -1f, 0f, 0f, 0f};
+    private static final float[] SIGN_Y = {0f, 0f, -1f, 1f, 0f};
+    private static final int[] DIRECTION_BITS = {1, 2, 4, 8, 0};
+
+    private static final Directions.Direction[] DIRECTIONS = Directions.Direction.values();
+
+    private static final int RIGHT_BIT = 1;
+    private static final int LEFT_BIT = 2;
+    private static final int UP_BIT = 4;
+    private static final int DOWN_BIT = 8;
+
+    private Integrator integrator = Integrator.FORCES;
+    private PhysicsContext context;
+
+    /**
+     * Whether {@link StrictMath} is used instead of {@link Math}, whose results may differ between machines.
+     *
+     * @see #setStrictMath(boolean)
+     */
+    private boolean strictMath = false;
+
+    // Bodies
+    private SimplePhysicsComponent[] bodies;
+    private float[] mass;
+    private int[] lockedDirections;
+    private int[] firstForce;
+    private int[] lastForce;
+    private int[] gravityForce;
+    private boolean[] gravityEnabled;
+    private float[] deltaX;
+    private float[] deltaY;
+    private float[] accelerationX;
+    private float[] accelerationY;
+    private boolean[] integrated;
+
+    // The vectors of the bodies for the vector integrators, in the internal scale of the forces
+    private float[] velocityX;
+    private float[] velocityY;
+    private float[] forceX;
+    private float[] forceY;
+    private float[] tickVelocityX;
+    private float[] tickVelocityY;
+    private float[] previousX;
+    private float[] previousY;
+    private int bodySlots = 0;
+    private int bodyCount = 0;
+    private int freeBody = NO_SLOT;
+
+    // Forces
+    private Force[] forces;
+    private int[] forceBody;
+    private int[] nextForce;
+    private int[] direction;
+    private float[] acceleration;
+    private float[] velocity;
+    private float[] distance;
+    private float[] deltaDistance;
+    private boolean[] countersCollision;
+    private int forceSlots = 0;
+    private int forceCount = 0;
+    private int freeForce = NO_SLOT;
+
+    public PhysicsWorld() {
+        this(64, 576);
+    }
+
+    /**
+     * @param bodyCapacity  the number of bodies to allocate space for
+     * @param forceCapacity the number of forces to allocate space for
+     */
+    public PhysicsWorld(final int bodyCapacity, final int forceCapacity) {
+        allocateBodies(Math.max(1, bodyCapacity));
+        allocateForces(Math.max(1, forceCapacity));
+        context = PhysicsContext.defaults(SaltySystem.fixedTickMillis);
+    }
+
+    /**
+     * Adds a body without forces.
+     *
+     * @param component the component the body belongs to
+     * @param mass      the mass of the body
+     * @return the slot of the body
+     */
+    public synchronized int addBody(final SimplePhysicsComponent component, final float mass) {
+
+        final int body;
+
+        if (freeBody != NO_SLOT) {
+            body = freeBody;
+            freeBody = firstForce[body];
+        } else {
+            if (bodySlots == bodies.length) {
+                allocateBodies(bodySlots * 2);
+            }
+            body = bodySlots++;
+        }
+
+        bodies[body] = component;
+        this.mass[body] = mass;
+        lockedDirections[body] = 0;
+        firstForce[body] = NO_SLOT;
+        lastForce[body] = NO_SLOT;
+        gravityForce[body] = NO_SLOT;
+        gravityEnabled[body] = true;
+        deltaX[body] = 0f;
+        deltaY[body] = 0f;
+        accelerationX[body] = 0f;
+        accelerationY[body] = 0f;
+        integrated[body] = false;
+        velocityX[body] = 0f;
+        velocityY[body] = 0f;
+        forceX[body] = 0f;
+        forceY[body] = 0f;
+        tickVelocityX[body] = 0f;
+        tickVelocityY[body] = 0f;
+        previousX[body] = Float.NaN;
+        previousY[body] = Float.NaN;
+        bodyCount++;
+
+        return body;
+    }
+
+    /**
+     * Removes the given body together with all of its forces.
+     *
+     * @param body the slot of the body
+     */
+    public synchronized void removeBody(final int body) {
+
+        int force = firstForce[body];
+
+        while (force != NO_SLOT) {
+            final int next = nextForce[force];
+            freeForce(force);
+            force = next;
+        }
+
+        bodies[body] = null;
+        firstForce[body] = freeBody;
+        freeBody = body;
+        bodyCount--;
+    }
+
+    /**
+     * Moves the given body with all of its forces to another world and points the handles of the forces to their new
+     * slots. The handle of the body itself has to be updated by the caller.
+     *
+     * @param body   the slot of the body in this world
+     * @param target the world to move the body to
+     * @return the slot of the body in the target world
+     */
+    public synchronized int moveBody(final int body, final PhysicsWorld target) {
+
+        final int targetBody = target.addBody(bodies[body], mass[body]);
+        target.lockedDirections[targetBody] = lockedDirections[body];
+        target.gravityEnabled[targetBody] = gravityEnabled[body];
+        target.velocityX[targetBody] = velocityX[body];
+        target.velocityY[targetBody] = velocityY[body];
+        target.forceX[targetBody] = forceX[body];
+        target.forceY[targetBody] = forceY[body];
+        target.tickVelocityX[targetBody] = tickVelocityX[body];
+        target.tickVelocityY[targetBody] = tickVelocityY[body];
+
+        for (int force = firstForce[body]; force != NO_SLOT; force = nextForce[force]) {
+            final int targetForce = target.copyForce(targetBody, this, force);
+
+            if (force == gravityForce[body]) {
+                target.gravityForce[targetBody] = targetForce;
+            }
+        }
+
+        removeBody(body);
+
+        return targetBody;
+    }
+
+    /**
+     * Creates a new Force on the given body.
+     *
+     * @param body         the slot of the body, or {@link #NO_SLOT} for a force that doesn't belong to a body yet
+     * @param acceleration the initial acceleration, in the internal scale of the forces
+     * @param parent       the GameObject the force moves
+     * @param direction    the direction of the force
+     * @param name         the name of the force
+     * @return the new Force
+     */
+    public Force createForce(final int body, final float acceleration, final GameObject parent, final Directions.Direction direction, final String name) {
+        return new Force(this, body, acceleration, 0f, 0f, parent, direction, name);
+    }
+
+    /**
+     * Moves the given force to the given body of this world, out of whatever world and body it was part of before.
+     *
+     * @param body  the slot of the body
+     * @param force the force to add
+     */
+    public void addForce(final int body, final Force force) {
+
+        final PhysicsWorld source = force.getWorld();
+        final int sourceSlot = force.getSlot();
+
+        synchronized (this) {
+            copyForce(body, source, sourceSlot);
+        }
+        source.removeForce(sourceSlot);
+    }
+
+    /**
+     * Removes the given force from its body and frees its slot.
+     * The Force still points to the freed slot, so it mustn't be used anymore afterwards.
+     *
+     * @param force the slot of the force
+     */
+    public synchronized void removeForce(final int force) {
+
+        final int body = forceBody[force];
+
+        if (body != NO_SLOT) {
+            int previous = NO_SLOT;
+            int current = firstForce[body];
+
+            while (current != force) {
+                previous = current;
+                current = nextForce[current];
+            }
+
+            if (previous == NO_SLOT) {
+                firstForce[body] = nextForce[force];
+            } else {
+                nextForce[previous] = nextForce[force];
+            }
+
+            if (lastForce[body] == force) {
+                lastForce[body] = previous;
+            }
+
+            if (gravityForce[body] == force) {
+                gravityForce[body] = NO_SLOT;
+            }
+        }
+
+        freeForce(force);
+    }
+
+    synchronized int addForce(final int body, final Force force, final float acceleration, final float velocity,
+                              final float distance, final Directions.Direction direction) {
+
+        final int slot;
+
+        if (freeForce != NO_SLOT) {
+            slot = freeForce;
+            freeForce = nextForce[slot];
+        } else {
+            if (forceSlots == forces.length) {
+                allocateForces(forceSlots * 2);
+            }
+            slot = forceSlots++;
+        }
+
+        forces[slot] = force;
+        forceBody[slot] = body;
+        nextForce[slot] = NO_SLOT;
+        this.direction[slot] = direction.ordinal();
+        this.acceleration[slot] = acceleration;
+        this.velocity[slot] = velocity;
+        this.distance[slot] = distance;
+        deltaDistance[slot] = 0f;
+        countersCollision[slot] = false;
+        forceCount++;
+
+        if (body != NO_SLOT) {
+            if (lastForce[body] == NO_SLOT) {
+                firstForce[body] = slot;
+            } else {
+                nextForce[lastForce[body]] = slot;
+            }
+            lastForce[body] = slot;
+        }
+
+        return slot;
+    }
+
+    private int copyForce(final int body, final PhysicsWorld source, final int sourceSlot) {
+
+        final Force force = source.forces[sourceSlot];
+        final int slot = addForce(body, force, source.acceleration[sourceSlot], source.velocity[sourceSlot],
+                source.distance[sourceSlot], DIRECTIONS[source.direction[sourceSlot]]);
+
+        deltaDistance[slot] = source.deltaDistance[sourceSlot];
+        countersCollision[slot] = source.countersCollision[sourceSlot];
+        force.bind(this, slot);
+
+        return slot;
+    }
+
+    private void freeForce(final int force) {
+        forces[force] = null;
+        forceBody[force] = NO_SLOT;
+        nextForce[force] = freeForce;
+        freeForce = force;
+        forceCount--;
+    }
+
+    /**
+     * Integrates all bodies of this world whose component is enabled and whose GameObject is neither sleeping nor
+     * stationary, one body after another.
+     * The gravity is applied to them first and their GameObjects are moved by the result afterwards, one after
+     * another on the calling thread.
+     * Their components find out with {@link #takeIntegration(int)} on their next fixed tick that they neither have to
+     * integrate the body nor move the GameObject themselves anymore.
+     *
+     * @param context the parameters to integrate with
+     * @see #integrateBody(int, PhysicsContext)
+     */
+    public void integrateAll(final PhysicsContext context) {
+
+        final float deltaMillis = context.getDeltaMillis();
+        final float gravity = context.getGravity();
+        final float friction = context.getFriction();
+
+        for (int body = 0; body < bodySlots; body++) {
+            final SimplePhysicsComponent component = bodies[body];
+            final boolean active = component != null && component.isEnabled()
+                    && !component.getParent().isSleeping() && !component.getParent().isStationary();
+
+            integrated[body] = active;
+
+            if (active) {
+                applyGravity(body, gravity);
+                deltaX[body] = 0f;
+                deltaY[body] = 0f;
+                accelerationX[body] = 0f;
+                accelerationY[body] = 0f;
+            }
+        }
+
+        if (integrator == Integrator.FORCES) {
+            // Along the chain of each body, so that the distances are summed up in the same order as by integrateBody
+            for (int body = 0; body < bodySlots; body++) {
+                if (integrated[body]) {
+                    for (int force = firstForce[body]; force != NO_SLOT; force = nextForce[force]) {
+                        accumulate(body, force, deltaMillis, friction);
+                    }
+                }
+            }
+        } else {
+            for (int body = 0; body < bodySlots; body++) {
+                if (integrated[body]) {
+                    integrateVectors(body, deltaMillis, friction);
+                }
+            }
+        }
+
+        for (int body = 0; body < bodySlots; body++) {
+            if (integrated[body]) {
+                final GameObject parent = bodies[body].getParent();
+
+                parent.moveX(deltaX[body]);
+                parent.moveY(deltaY[body]);
+            }
+        }
+    }
+
+    /**
+     * Integrates all forces of the given body over the given time step and sums up the distance it moves and the
+     * acceleration of the forces that aren't countered by a collision. With a vector {@link Integrator}, its
+     * velocity and accumulated forces are integrated instead.
+     *
+     * @param body    the slot of the body
+     * @param context the parameters to integrate with
+     * @see #getDeltaX(int)
+     * @see #getAccelerationX(int)
+     */
+    public void integrateBody(final int body, final PhysicsContext context) {
+
+        final float deltaMillis = context.getDeltaMillis();
+        final float friction = context.getFriction();
+
+        deltaX[body] = 0f;
+        deltaY[body] = 0f;
+        accelerationX[body] = 0f;
+        accelerationY[body] = 0f;
+
+        if (integrator == Integrator.FORCES) {
+            for (int force = firstForce[body]; force != NO_SLOT; force = nextForce[force]) {
+                accumulate(body, force, deltaMillis, friction);
+            }
+        } else {
+            integrateVectors(body, deltaMillis, friction);
+        }
+    }
+
+    /**
+     * Integrates the velocity and the accumulated forces of the given body once with the vector integrator of this
+     * world and clears the accumulated forces. Forces that push the body into a direction in which it collided with
+     * something are dropped, like the {@link Force}s that {@link Force#isCountersCollision() counter a collision}.
+     */
+    private void integrateVectors(final int body, final float deltaMillis, final float friction) {
+
+        final int locked = lockedDirections[body];
+        float ax = forceX[body];
+        float ay = forceY[body];
+
+        final int gravity = gravityForce[body];
+
+        if (gravity != NO_SLOT) {
+            ax += SIGN_X[direction[gravity]] * acceleration[gravity];
+            ay += SIGN_Y[direction[gravity]] * acceleration[gravity];
+        }
+
+        if (ax > 0f ? (locked & RIGHT_BIT) != 0 : ax < 0f && (locked & LEFT_BIT) != 0) {
+            ax = 0f;
+        }
+        if (ay > 0f ? (locked & DOWN_BIT) != 0 : ay < 0f && (locked & UP_BIT) != 0) {
+            ay = 0f;
+        }
+
+        final float decay = (float) exp(-friction * mass[body] * deltaMillis);
+        final float dx;
+        final float dy;
+
+        if (integrator == Integrator.SEMI_IMPLICIT_EULER) {
+            velocityX[body] = (velocityX[body] + ax * deltaMillis) * decay;
+            velocityY[body] = (velocityY[body] + ay * deltaMillis) * decay;
+            dx = velocityX[body] * deltaMillis;
+            dy = velocityY[body] * deltaMillis;
+        } else {
+            final GameObject parent = bodies[body].getParent();
+            final float x = parent.getX();
+            final float y = parent.getY();
+            final float inertiaX = Float.isNaN(previousX[body]) ? velocityX[body] * deltaMillis : x - previousX[body];
+            final float inertiaY = Float.isNaN(previousY[body]) ? velocityY[body] * deltaMillis : y - previousY[body];
+
+            dx = inertiaX * decay + ax * deltaMillis * deltaMillis;
+            dy = inertiaY * decay + ay * deltaMillis * deltaMillis;
+            velocityX[body] = dx / deltaMillis;
+            velocityY[body] = dy / deltaMillis;
+
+            // The velocity for one tick mustn't become inertia on the next one
+            previousX[body] = x + tickVelocityX[body] * deltaMillis;
+            previousY[body] = y + tickVelocityY[body] * deltaMillis;
+        }
+
+        deltaX[body] = dx + tickVelocityX[body] * deltaMillis;
+        deltaY[body] = dy + tickVelocityY[body] * deltaMillis;
+        accelerationX[body] = ax;
+        accelerationY[body] = ay;
+        forceX[body] = 0f;
+        forceY[body] = 0f;
+        tickVelocityX[body] = 0f;
+        tickVelocityY[body] = 0f;
+    }
+
+    private void accumulate(final int body, final int force, final float deltaMillis, final float friction) {
+
+        final int direction = this.direction[force];
+        final float acceleration = countersCollision[force] ? 0f : this.acceleration[force];
+        final float delta = integrate(force, deltaMillis, friction * mass[body]);
+
+        deltaX[body] += SIGN_X[direction] * delta;
+        deltaY[body] += SIGN_Y[direction] * delta;
+        accelerationX[body] += SIGN_X[direction] * acceleration;
+        accelerationY[body] += SIGN_Y[direction] * acceleration;
+    }
+
+    /**
+     * Integrates the given force over the given time step.
+     *
+     * @param force       the slot of the force
+     * @param deltaMillis the time step in milliseconds
+     * @param friction    the friction of the scene
+     * @return the distance the parent of the force moves because of it
+     * @see Force#deltaDistance(float)
+     */
+    public float integrateForce(final int force, final float deltaMillis, final float friction) {
+
+        final int body = forceBody[force];
+        final float mass = body == NO_SLOT ? forces[force].getParent().getMass() : this.mass[body];
+
+        return integrate(force, deltaMillis, friction * mass);
+    }
+
+    private float integrate(final int force, final float deltaMillis, final double damping) {
+
+        if (countersCollision[force]) {
+            velocity[force] = 0;
+            deltaDistance[force] = 0;
+            return 0;
+        }
+
+        final double startVelocity = velocity[force];
+        final double acceleration = this.acceleration[force];
+        final double delta;
+
+        if (damping * deltaMillis > 1e-9) {
+            final double terminalVelocity = acceleration / damping;
+            final double decay = exp(-damping * deltaMillis);
+
+            velocity[force] = (float) (terminalVelocity + (startVelocity - terminalVelocity) * decay);
+            delta = terminalVelocity * deltaMillis + (startVelocity - terminalVelocity) * (1 - decay) / damping;
+        } else {
+            velocity[force] = (float) (startVelocity + acceleration * deltaMillis);
+            delta = (startVelocity + velocity[force]) * 0.5 * deltaMillis;
+        }
+
+        deltaDistance[force] = (float) delta;
+        distance[force] += deltaDistance[force];
+
+        return deltaDistance[force];
+    }
+
+    private double exp(final double value) {
+        return strictMath ? StrictMath.exp(value) : Math.exp(value);
+    }
+
+    /**
+     * Sets the acceleration of the gravity force of the given body to the given gravity, or to 0 if gravity is
+     * disabled for it, unless that force counters a collision. The vector integrators add the acceleration of that
+     * force to the accumulated forces of the body.
+     *
+     * @param body    the slot of the body
+     * @param gravity the gravity of the scene
+     */
+    public void applyGravity(final int body, final float gravity) {
+
+        final int force = gravityForce[body];
+
+        if (force != NO_SLOT && !countersCollision[force]) {
+            acceleration[force] = gravityEnabled[body] ? gravity / Force.ACCELERATION_SCALE : 0f;
+        }
+    }
+
+    /**
+     * Returns whether {@link #integrateAll(PhysicsContext)} integrated the given body and moved its GameObject since
+     * this was last called for it, and resets that.
+     *
+     * @param body the slot of the body
+     * @return whether the body was integrated already
+     */
+    public boolean takeIntegration(final int body) {
+
+        final boolean integrated = this.integrated[body];
+        this.integrated[body] = false;
+
+        return integrated;
+    }
+
+    /**
+     * Sets the directions in which the given body collided with something, so that its forces in these directions
+     * counter the collision and the others don't. The velocity of the body towards these directions is stopped.
+     *
+     * @param body              the slot of the body
+     * @param lockedDirections  a bitmask of {@link #directionBit(Directions.Direction)}s
+     */
+    public void setLockedDirections(final int body, final int lockedDirections) {
+
+        this.lockedDirections[body] = lockedDirections;
+
+        if (integrator != Integrator.FORCES) {
+            if (velocityX[body] > 0f ? (lockedDirections & RIGHT_BIT) != 0 : velocityX[body] < 0f && (lockedDirections & LEFT_BIT) != 0) {
+                velocityX[body] = 0f;
+                previousX[body] = Float.NaN;
+            }
+            if (velocityY[body] > 0f ? (lockedDirections & DOWN_BIT) != 0 : velocityY[body] < 0f && (lockedDirections & UP_BIT) != 0) {
+                velocityY[body] = 0f;
+                previousY[body] = Float.NaN;
+            }
+        }
+
+        for (int force = firstForce[body]; force != NO_SLOT; force = nextForce[force]) {
+            final int bit = DIRECTION_BITS[direction[force]];
+
+            if (bit != 0) {
+                countersCollision[force] = (lockedDirections & bit) != 0;
+            }
+        }
+    }
+
+    public int getLockedDirections(final int body) {
+        return lockedDirections[body];
+    }
+
+    /**
+     * @return the parameters the bodies of this world are integrated with, which the Scene of this world sets on
+     * every fixed tick
+     */
+    public PhysicsContext getContext() {
+        return context;
+    }
+
+    public void setContext(final PhysicsContext context) {
+        this.context = context;
+    }
+
+    public boolean isStrictMath() {
+        return strictMath;
+    }
+
+    /**
+     * Sets whether the integration uses {@link StrictMath}, which gives bit-identical results on all machines, instead
+     * of {@link Math}, which may be faster. Everything else the integration does is plain float and double arithmetic
+     * in the fixed order of the bodies and their forces. This class is <code>strictfp</code>, so that arithmetic is
+     * evaluated the same way everywhere on Java 8 too, where that isn't the default before Java 17.
+     *
+     * @param strictMath whether to use {@link StrictMath}
+     */
+    public void setStrictMath(final boolean strictMath) {
+        this.strictMath = strictMath;
+    }
+
+    /**
+     * Mixes the state of the given body and of its forces into the given hash.
+     *
+     * @param hash the hash so far
+     * @param body the slot of the body
+     * @return the new hash
+     * @see StateHash
+     */
+    public long hashBody(long hash, final int body) {
+
+        hash = StateHash.mix(hash, mass[body]);
+        hash = StateHash.mix(hash, lockedDirections[body]);
+        hash = StateHash.mix(hash, velocityX[body]);
+        hash = StateHash.mix(hash, velocityY[body]);
+
+        for (int force = firstForce[body]; force != NO_SLOT; force = nextForce[force]) {
+            hash = StateHash.mix(hash, direction[force]);
+            hash = StateHash.mix(hash, acceleration[force]);
+            hash = StateHash.mix(hash, velocity[force]);
+            hash = StateHash.mix(hash, distance[force]);
+            hash = StateHash.mix(hash, countersCollision[force]);
+        }
+
+        return hash;
+    }
+
+    public Integrator getIntegrator() {
+        return integrator;
+    }
+
+    /**
+     * Sets how the bodies of this world are moved. Switching between the {@link Integrator#FORCES forces} and a
+     * vector integrator doesn't carry the momentum of the bodies over.
+     *
+     * @param integrator the integrator to use from the next tick on
+     */
+    public void setIntegrator(final Integrator integrator) {
+        this.integrator = integrator;
+    }
+
+    /**
+     * Adds the given acceleration to the forces accumulated for the given body during this tick, which are used by
+     * the vector integrators.
+     *
+     * @param body the slot of the body
+     * @param x    the horizontal acceleration, in the internal scale of the forces
+     * @param y    the vertical acceleration, in the internal scale of the forces
+     */
+    public void addForce(final int body, final float x, final float y) {
+        forceX[body] += x;
+        forceY[body] += y;
+    }
+
+    /**
+     * Adds the given velocity to the given body for this tick only, so that it doesn't keep any momentum of it.
+     *
+     * @param body the slot of the body
+     * @param x    the horizontal velocity, in the internal scale of the forces
+     * @param y    the vertical velocity, in the internal scale of the forces
+     */
+    public void addTickVelocity(final int body, final float x, final float y) {
+        tickVelocityX[body] += x;
+        tickVelocityY[body] += y;
+    }
+
+    /**
+     * Clears the forces accumulated for the given body during this tick without integrating them.
+     *
+     * @param body the slot of the body
+     */
+    public void clearForces(final int body) {
+        forceX[body] = 0f;
+        forceY[body] = 0f;
+        tickVelocityX[body] = 0f;
+        tickVelocityY[body] = 0f;
+    }
+
+    public float getVelocityX(final int body) {
+        return velocityX[body];
+    }
+
+    public float getVelocityY(final int body) {
+        return velocityY[body];
+    }
+
+    /**
+     * Sets the velocity of the given body for the vector integrators.
+     *
+     * @param body the slot of the body
+     * @param x    the horizontal velocity, in the internal scale of the forces
+     * @param y    the vertical velocity, in the internal scale of the forces
+     */
+    public void setVelocity(final int body, final float x, final float y) {
+        velocityX[body] = x;
+        velocityY[body] = y;
+        previousX[body] = Float.NaN;
+        previousY[body] = Float.NaN;
+    }
+
+    /**
+     * @param direction a direction
+     * @return 1 for right, -1 for left and 0 otherwise
+     */
+    public static float signX(final Directions.Direction direction) {
+        return SIGN_X[direction.ordinal()];
+    }
+
+    /**
+     * @param direction a direction
+     * @return 1 for down, -1 for up and 0 otherwise
+     */
+    public static float signY(final Directions.Direction direction) {
+        return SIGN_Y[direction.ordinal()];
+    }
+
+    /**
+     * @param direction a direction
+     * @return the bit of the given direction in a bitmask of locked directions, 0 for {@link Directions.Direction#EMPTY}
+     */
+    public static int directionBit(final Directions.Direction direction) {
+        return DIRECTION_BITS[direction.ordinal()];
+    }
+
+    public float getMass(final int body) {
+        return mass[body];
+    }
+
+    public void setMass(final int body, final float mass) {
+        this.mass[body] = mass;
+    }
+
+    public boolean isGravityEnabled(final int body) {
+        return gravityEnabled[body];
+    }
+
+    public void setGravityEnabled(final int body, final boolean gravityEnabled) {
+        this.gravityEnabled[body] = gravityEnabled;
+    }
+
+    /**
+     * Makes the given force the one that {@link #applyGravity(int, float)} sets.
+     *
+     * @param body  the slot of the body
+     * @param force the slot of the force, or {@link #NO_SLOT}
+     */
+    public void setGravityForce(final int body, final int force) {
+        gravityForce[body] = force;
+    }
+
+    /**
+     * @param body the slot of the body
+     * @return the horizontal distance the body moves because of its last integration
+     */
+    public float getDeltaX(final int body) {
+        return deltaX[body];
+    }
+
+    /**
+     * @param body the slot of the body
+     * @return the vertical distance the body moves because of its last integration
+     */
+    public float getDeltaY(final int body) {
+        return deltaY[body];
+    }
+
+    /**
+     * @param body the slot of the body
+     * @return the horizontal acceleration of the forces of the body that weren't countered by a collision during its
+     * last integration, in the internal scale of the forces
+     */
+    public float getAccelerationX(final int body) {
+        return accelerationX[body];
+    }
+
+    /**
+     * @param body the slot of the body
+     * @return the vertical acceleration of the forces of the body that weren't countered by a collision during its
+     * last integration, in the internal scale of the forces
+     */
+    public float getAccelerationY(final int body) {
+        return accelerationY[body];
+    }
+
+    /**
+     * @param body the slot of the body
+     * @return the slot of the first force of the given body, or {@link #NO_SLOT} if it has none
+     * @see #getNextForce(int)
+     */
+    public int getFirstForce(final int body) {
+        return firstForce[body];
+    }
+
+    /**
+     * @param force the slot of a force
+     * @return the slot of the force that was added to the same body after the given one, or {@link #NO_SLOT}
+     */
+    public int getNextForce(final int force) {
+        return nextForce[force];
+    }
+
+    /**
+     * @param force the slot of a force
+     * @return the handle of the force in the given slot
+     */
+    public Force getForce(final int force) {
+        return forces[force];
+    }
+
+    /**
+     * @return the number of bodies in this world
+     */
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    /**
+     * @return the number of forces in this world
+     */
+    public int getForceCount() {
+        return forceCount;
+    }
+
+    float getAcceleration(final int force) {
+        return acceleration[force];
+    }
+
+    void setAcceleration(final int force, final float acceleration) {
+        this.acceleration[force] = acceleration;
+    }
+
+    float getVelocity(final int force) {
+        return velocity[force];
+    }
+
+    void setVelocity(final int force, final float velocity) {
+        this.velocity[force] = velocity;
+    }
+
+    float getDistance(final int force) {
+        return distance[force];
+    }
+
+    void setDistance(final int force, final float distance) {
+        this.distance[force] = distance;
+    }
+
+    float getDeltaDistance(final int force) {
+        return deltaDistance[force];
+    }
+
+    void setDeltaDistance(final int force, final float deltaDistance) {
+        this.deltaDistance[force] = deltaDistance;
+    }
+
+    Directions.Direction getDirection(final int force) {
+        return DIRECTIONS[direction[force]];
+    }
+
+    void setDirection(final int force, final Directions.Direction direction) {
+        this.direction[force] = direction.ordinal();
+    }
+
+    boolean isCountersCollision(final int force) {
+        return countersCollision[force];
+    }
+
+    void setCountersCollision(final int force, final boolean countersCollision) {
+        this.countersCollision[force] = countersCollision;
+    }
+
+    private void allocateBodies(final int capacity) {
+
+        if (bodies == null) {
+            bodies = new SimplePhysicsComponent[capacity];
+            mass = new float[capacity];
+            lockedDirections = new int[capacity];
+            firstForce = new int[capacity];
+            lastForce = new int[capacity];
+            gravityForce = new int[capacity];
+            gravityEnabled = new boolean[capacity];
+            deltaX = new float[capacity];
+            deltaY = new float[capacity];
+            accelerationX = new float[capacity];
+            accelerationY = new float[capacity];
+            integrated = new boolean[capacity];
+            velocityX = new float[capacity];
+            velocityY = new float[capacity];
+            forceX = new float[capacity];
+            forceY = new float[capacity];
+            tickVelocityX = new float[capacity];
+            tickVelocityY = new float[capacity];
+            previousX = new float[capacity];
+            previousY = new float[capacity];
+        } else {
+            bodies = Arrays.copyOf(bodies, capacity);
+            mass = Arrays.copyOf(mass, capacity);
+            lockedDirections = Arrays.copyOf(lockedDirections, capacity);
+            firstForce = Arrays.copyOf(firstForce, capacity);
+            lastForce = Arrays.copyOf(lastForce, capacity);
+            gravityForce = Arrays.copyOf(gravityForce, capacity);
+            gravityEnabled = Arrays.copyOf(gravityEnabled, capacity);
+            deltaX = Arrays.copyOf(deltaX, capacity);
+            deltaY = Arrays.copyOf(deltaY, capacity);
+            accelerationX = Arrays.copyOf(accelerationX, capacity);
+            accelerationY = Arrays.copyOf(accelerationY, capacity);
+            integrated = Arrays.copyOf(integrated, capacity);
+            velocityX = Arrays.copyOf(velocityX, capacity);
+            velocityY = Arrays.copyOf(velocityY, capacity);
+            forceX = Arrays.copyOf(forceX, capacity);
+            forceY = Arrays.copyOf(forceY, capacity);
+            tickVelocityX = Arrays.copyOf(tickVelocityX, capacity);
+            tickVelocityY = Arrays.copyOf(tickVelocityY, capacity);
+            previousX = Arrays.copyOf(previousX, capacity);
+            previousY = Arrays.copyOf(previousY, capacity);
+        }
+    }
+
+    private void allocateForces(final int capacity) {
+
+        if (forces == null) {
+            forces = new Force[capacity];
+            forceBody = new int[capacity];
+            nextForce = new int[capacity];
+            direction = new int[capacity];
+            acceleration = new float[capacity];
+            velocity = new float[capacity];
+            distance = new float[capacity];
+            deltaDistance = new float[capacity];
+            countersCollision = new boolean[capacity];
+        } else {
+            forces = Arrays.copyOf(forces, capacity);
+            forceBody = Arrays.copyOf(forceBody, capacity);
+            nextForce = Arrays.copyOf(nextForce, capacity);
+            direction = Arrays.copyOf(direction, capacity);
+            acceleration = Arrays.copyOf(acceleration, capacity);
+            velocity = Arrays.copyOf(velocity, capacity);
+            distance = Arrays.copyOf(distance, capacity);
+            deltaDistance = Arrays.copyOf(deltaDistance, capacity);
+            countersCollision = Arrays.copyOf(countersCollision, capacity);
+        }
+    }
+}
@@ -73,10 +73,18 @@ public class DisplayManager extends Host {
         return (getHeight() / 2) - (height / 2);
     }
 
+    /**
+     * Repaints the {@link Stage}. If {@link #isActiveRendering()} is true, the frame is rendered and presented
+     * on the calling thread, otherwise it is scheduled to the Swing repaint manager.
+     */
     @Override
     public void repaint() {
 
-        stage.repaint();
+        if (stage.isActiveRendering()) {
+            stage.renderActively();
+        } else {
+            stage.repaint();
+        }
         setDimensions(display.getDisplayRatio().getCurrentDimensions());
         stage.scaleTo(display.getDisplayRatio().getScale());
     }
@@ -162,6 +170,23 @@ public class DisplayManager extends Host {
         return stage;
     }
 
+    public boolean isActiveRendering() {
+        return stage.isActiveRendering();
+    }
+
+    /**
+     * Sets whether the game is rendered actively from the {@link Engine} into a
+     * {@link java.awt.image.VolatileImage} that is copied to the screen immediately, instead of
+     * being scheduled to the Swing repaint manager on the event dispatch thread.
+     * Active rendering is best combined with {@link Engine.LoopMode#SINGLE_THREAD}.
+     *
+     * @param activeRendering whether to render actively or not
+     * @see Stage#getLastFrameNanos()
+     */
+    public void setActiveRendering(boolean activeRendering) {
+        stage.setActiveRendering(activeRendering);
+    }
+
     public void setResizeable(boolean resizeable) {
         display.setResizable(resizeable);
     }
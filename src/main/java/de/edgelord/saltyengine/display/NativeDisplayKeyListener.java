@@ -53,6 +53,8 @@ public class NativeDisplayKeyListener implements KeyListener {
     @Override
     public void keyTyped(final KeyEvent e) {
 
+        Game.requestRender();
+
         if (keyboardHandler != null) {
             keyboardHandler.keyTyped(e);
         }
@@ -73,6 +75,8 @@ public class NativeDisplayKeyListener implements KeyListener {
     @Override
     public void keyPressed(final KeyEvent e) {
 
+        Game.requestRender();
+
         if (keyboardHandler != null) {
             keyboardHandler.keyPressed(e);
         }
@@ -112,6 +116,8 @@ public class NativeDisplayKeyListener implements KeyListener {
     @Override
     public void keyReleased(final KeyEvent e) {
 
+        Game.requestRender();
+
         if (keyboardHandler != null) {
             keyboardHandler.keyReleased(e);
         }
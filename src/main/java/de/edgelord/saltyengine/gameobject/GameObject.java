@@ -27,6 +27,7 @@
 
 package de.edgelord.saltyengine.gameobject;
 
+import de.edgelord.saltyengine.collision.CollisionMatrix;
 import de.edgelord.saltyengine.components.RecalculateHitboxComponent;
 import de.edgelord.saltyengine.components.SimplePhysicsComponent;
 import de.edgelord.saltyengine.components.collider.ColliderComponent;
@@ -37,6 +38,8 @@ import de.edgelord.saltyengine.core.interfaces.CollideAble;
 import de.edgelord.saltyengine.core.interfaces.Drawable;
 import de.edgelord.saltyengine.core.interfaces.FixedTickRoutine;
 import de.edgelord.saltyengine.core.interfaces.InitializeAble;
+import de.edgelord.saltyengine.core.physics.ForceHandle;
+import de.edgelord.saltyengine.core.physics.PhysicsWorld;
 import de.edgelord.saltyengine.core.stereotypes.ComponentParent;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
 import de.edgelord.saltyengine.hitbox.Hitbox;
@@ -52,6 +55,7 @@ import de.edgelord.saltyengine.utils.Directions;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static de.edgelord.saltyengine.scene.Scene.concurrentBlock;
 
@@ -61,8 +65,15 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
     public static final String DEFAULT_RECALCULATE_HITBOX_NAME = "de.edgelord.saltyengine.coreComponents.recalculateHitbox";
     public static final String DEFAULT_COLLIDER_COMPONENT_NAME = "de.edgelord.saltyengine.coreComponents.collider";
 
+    private static final AtomicInteger nextId = new AtomicInteger();
+
     private final List<Component> components = new CopyOnWriteArrayList<>();
 
+    /**
+     * Identifies this GameObject among all others, e.g. in the contact cache of the Scene.
+     */
+    private final int id = nextId.getAndIncrement();
+
     private final SimplePhysicsComponent physicsComponent;
     private final RecalculateHitboxComponent recalculateHitboxComponent;
     private final HitboxCollider defaultCollider;
@@ -87,11 +98,55 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
      */
     private boolean isTrigger = false;
 
+    /**
+     * If this is true, the Scene skips the physics, the hitbox recalculation and the collision detection of this
+     * GameObject, because it came to rest. Other GameObjects still collide with it.
+     *
+     * @see de.edgelord.saltyengine.scene.Scene#enableSleeping()
+     */
+    private boolean sleeping = false;
+    private boolean sleepingAllowed = true;
+
+    // The position this GameObject fell asleep at, to notice when it's moved
+    private float sleepX;
+    private float sleepY;
+
+    /**
+     * The position and size of this GameObject on the last fixed tick of a Scene that allows sleeping, to wake up
+     * the GameObjects sleeping on or next to it when it's moved, resized or removed.
+     */
+    private final Transform lastBounds = new Transform(Float.NaN, Float.NaN, Float.NaN, Float.NaN);
+
+    /**
+     * The collision layer of this GameObject, between 0 and {@link CollisionMatrix#LAYER_COUNT} - 1.
+     * Which layers collide with each other is decided by the {@link CollisionMatrix} of the Scene.
+     */
+    private int collisionLayer = 0;
+
+    /**
+     * The layers this GameObject collides with, as a bitmask of {@link CollisionMatrix#layerBit(int)}s.
+     * Two GameObjects only collide if both of their masks contain the layer of the other one.
+     */
+    private int collisionMask = CollisionMatrix.ALL_LAYERS;
+
+    /**
+     * The result of {@link #detectCollisions(List)}, reused for every collision detection together with its events
+     * and directions, so that a collision detection in the steady state doesn't allocate anything.
+     */
+    private final List<CollisionEvent> collisions = new ArrayList<>();
+    private final List<CollisionEvent> collisionEventPool = new ArrayList<>();
+    private final Directions collisionDirections = new Directions();
+
+    /**
+     * The contact events this GameObject subscribed to, as a bitmask of {@link CollisionEvent#ENTER},
+     * {@link CollisionEvent#STAY} and {@link CollisionEvent#EXIT}.
+     */
+    private int contactEvents = 0;
+
     private String colliderComponent = DEFAULT_COLLIDER_COMPONENT_NAME;
 
     private Transform transform;
     private Hitbox hitbox;
-    private float mass = 1f;
 
     private boolean initialized = false;
 
@@ -151,59 +206,223 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
 
     }
 
+    /**
+     * Only called if {@link CollisionEvent#ENTER} is subscribed with {@link #setContactEvents(int)}.
+     *
+     * @param event the collision that just began
+     */
+    @Override
+    public void onCollisionEnter(CollisionEvent event) {
+
+    }
+
+    /**
+     * Only called if {@link CollisionEvent#STAY} is subscribed with {@link #setContactEvents(int)}.
+     *
+     * @param event the collision that goes on
+     */
+    @Override
+    public void onCollisionStay(CollisionEvent event) {
+
+    }
+
+    /**
+     * Only called if {@link CollisionEvent#EXIT} is subscribed with {@link #setContactEvents(int)}.
+     *
+     * @param event the collision that ended
+     */
+    @Override
+    public void onCollisionExit(CollisionEvent event) {
+
+    }
+
     public void doFixedTick() {
-        // Remove acceleration from default forces
-        getPhysics().getForce(SimplePhysicsComponent.DEFAULT_LEFTWARDS_FORCE).setAcceleration(0f);
-        getPhysics().getForce(SimplePhysicsComponent.DEFAULT_RIGHTWARDS_FORCE).setAcceleration(0f);
-        getPhysics().getForce(SimplePhysicsComponent.DEFAULT_UPWARDS_FORCE).setAcceleration(0f);
-        getPhysics().getForce(SimplePhysicsComponent.DEFAULT_DOWNWARDS_FORCE).setAcceleration(0f);
 
-        // Remove velocity from default velocity forces
-        getPhysics().getForce(SimplePhysicsComponent.DEFAULT_LEFTWARDS_VELOCITY_FORCE).setVelocity(0f);
-        getPhysics().getForce(SimplePhysicsComponent.DEFAULT_RIGHTWARDS_VELOCITY_FORCE).setVelocity(0f);
-        getPhysics().getForce(SimplePhysicsComponent.DEFAULT_UPWARDS_VELOCITY_FORCE).setVelocity(0f);
-        getPhysics().getForce(SimplePhysicsComponent.DEFAULT_DOWNWARDS_VELOCITY_FORCE).setVelocity(0f);
+        if (physicsComponent.usesForces()) {
+            resetDefaultForces();
+        }
 
         onFixedTick();
     }
 
+    private void resetDefaultForces() {
+        // Remove acceleration from default forces
+        physicsComponent.getForce(SimplePhysicsComponent.DEFAULT_LEFTWARDS_FORCE_HANDLE).setAcceleration(0f);
+        physicsComponent.getForce(SimplePhysicsComponent.DEFAULT_RIGHTWARDS_FORCE_HANDLE).setAcceleration(0f);
+        physicsComponent.getForce(SimplePhysicsComponent.DEFAULT_UPWARDS_FORCE_HANDLE).setAcceleration(0f);
+        physicsComponent.getForce(SimplePhysicsComponent.DEFAULT_DOWNWARDS_FORCE_HANDLE).setAcceleration(0f);
+
+        // Remove velocity from default velocity forces
+        physicsComponent.getForce(SimplePhysicsComponent.DEFAULT_LEFTWARDS_VELOCITY_FORCE_HANDLE).setVelocity(0f);
+        physicsComponent.getForce(SimplePhysicsComponent.DEFAULT_RIGHTWARDS_VELOCITY_FORCE_HANDLE).setVelocity(0f);
+        physicsComponent.getForce(SimplePhysicsComponent.DEFAULT_UPWARDS_VELOCITY_FORCE_HANDLE).setVelocity(0f);
+        physicsComponent.getForce(SimplePhysicsComponent.DEFAULT_DOWNWARDS_VELOCITY_FORCE_HANDLE).setVelocity(0f);
+    }
+
     public void doCollisionDetection(final List<GameObject> gameObjects) {
 
-        Directions collisionDirections = new Directions();
-        List<CollisionEvent> collisions = new ArrayList<>();
+        if (!stationary && !sleeping) {
 
-        if (!stationary) {
+            final List<CollisionEvent> collisions;
 
             synchronized (concurrentBlock) {
+                collisions = detectCollisions(gameObjects);
+            }
 
-                for (int i = 0; i < gameObjects.size(); i++) {
-                    GameObject other = gameObjects.get(i);
+            dispatchCollisions(collisions);
+        }
+    }
+
+    /**
+     * Detects the collisions of this GameObject with the given ones without calling any of the
+     * collision callbacks. This method only reads the state of the GameObjects, which makes it safe to call it
+     * for many GameObjects at the same time, as long as none of them is modified meanwhile.
+     * <p>
+     * The returned list and its events are reused by the next collision detection of this GameObject.
+     * Only the collision layers and masks of the GameObjects are taken into account, see
+     * {@link #detectCollisions(List, CollisionMatrix)} to filter by the {@link CollisionMatrix} of a Scene as well.
+     *
+     * @param gameObjects the GameObjects to test the collision with
+     * @return the detected collisions, to be passed to {@link #dispatchCollisions(List)}
+     */
+    public List<CollisionEvent> detectCollisions(final List<GameObject> gameObjects) {
+        return detectCollisions(gameObjects, null);
+    }
+
+    /**
+     * Detects the collisions of this GameObject with the given ones like {@link #detectCollisions(List)}, but skips
+     * the ones whose layers don't collide according to the given {@link CollisionMatrix}.
+     *
+     * @param gameObjects the GameObjects to test the collision with
+     * @param matrix      the collision matrix of the Scene the GameObjects are in, or <code>null</code> to only
+     *                    filter by the layers and masks of the GameObjects
+     * @return the detected collisions, to be passed to {@link #dispatchCollisions(List)}
+     */
+    public List<CollisionEvent> detectCollisions(final List<GameObject> gameObjects, final CollisionMatrix matrix) {
+
+        clearCollisions();
+
+        final ColliderComponent collider = requestCollider();
+        final int layerMask = collisionMask & (matrix == null ? CollisionMatrix.ALL_LAYERS : matrix.getMask(collisionLayer));
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            GameObject other = gameObjects.get(i);
+
+            if (other == this) {
+                continue;
+            }
+
+            // Filtered by layer before any geometry is tested
+            if ((layerMask & (1 << other.collisionLayer)) == 0 || (other.collisionMask & (1 << collisionLayer)) == 0) {
+                continue;
+            }
+
+            if (collider.requestCollision(other)) {
+                addCollision(other, collider.getCollisionDirection(other));
+            }
+        }
+
+        return collisions;
+    }
+
+    /**
+     * Removes the collisions of the last collision detection, to add the ones of the next one with
+     * {@link #addCollision(GameObject, Directions.Direction)}.
+     * {@link #detectCollisions(List)} does this by itself.
+     */
+    public void clearCollisions() {
+        collisions.clear();
+        collisionDirections.clear();
+    }
+
+    /**
+     * Adds a collision with the given GameObject to the result of the current collision detection, for collision
+     * detections that test the GameObjects pair by pair instead of with {@link #detectCollisions(List)}.
+     *
+     * @param other     the GameObject this one collides with
+     * @param direction the direction of the collision from the perspective of this GameObject
+     * @see #clearCollisions()
+     * @see #getCollisions()
+     */
+    public void addCollision(GameObject other, Directions.Direction direction) {
 
-                    if (other == this) {
-                        continue;
-                    }
+        final int index = collisions.size();
+        collisionDirections.setDirection(direction);
 
-                    if (!stationary) {
-                        if (requestCollider().requestCollision(other)) {
+        if (index == collisionEventPool.size()) {
+            collisionEventPool.add(new CollisionEvent(other, collisionDirections, direction));
+        } else {
+            collisionEventPool.get(index).set(other, collisionDirections, direction);
+        }
 
-                            Directions.Direction currentCollisionDirection =
-                                    requestCollider().getCollisionDirection(other);
+        collisions.add(collisionEventPool.get(index));
+    }
 
-                            collisionDirections.setDirection(currentCollisionDirection);
-                            final CollisionEvent eSelf = new CollisionEvent(other, collisionDirections, currentCollisionDirection);
+    /**
+     * @return the collisions of the last collision detection, to be passed to {@link #dispatchCollisions(List)}
+     */
+    public List<CollisionEvent> getCollisions() {
+        return collisions;
+    }
 
-                            collisions.add(eSelf);
-                            onCollision(eSelf);
+    /**
+     * Calls {@link #onCollision(CollisionEvent)} and {@link Component#onCollision(CollisionEvent)} for each of the given
+     * collisions and {@link #onCollisionDetectionFinish(List)} and {@link Component#onCollisionDetectionFinish(List)}
+     * afterwards.
+     *
+     * @param collisions the collisions detected by {@link #detectCollisions(List)}
+     */
+    public void dispatchCollisions(final List<CollisionEvent> collisions) {
 
-                            components.forEach(component -> component.onCollision(eSelf));
+        for (int i = 0; i < collisions.size(); i++) {
+            final CollisionEvent collision = collisions.get(i);
 
-                        }
-                    }
-                }
+            onCollision(collision);
+            for (int j = 0; j < components.size(); j++) {
+                components.get(j).onCollision(collision);
             }
+        }
 
-            components.forEach(component -> component.onCollisionDetectionFinish(collisions));
-            onCollisionDetectionFinish(collisions);
+        for (int i = 0; i < components.size(); i++) {
+            components.get(i).onCollisionDetectionFinish(collisions);
+        }
+        onCollisionDetectionFinish(collisions);
+    }
+
+    /**
+     * Calls the callback of the given contact event of this GameObject and of each enabled component that
+     * subscribed to it.
+     *
+     * @param contactEvent {@link CollisionEvent#ENTER}, {@link CollisionEvent#STAY} or {@link CollisionEvent#EXIT}
+     * @param collision    the collision the event is about
+     */
+    public void dispatchContactEvent(final int contactEvent, final CollisionEvent collision) {
+
+        if ((contactEvents & contactEvent) != 0) {
+            callContactEvent(this, contactEvent, collision);
+        }
+
+        for (int i = 0; i < components.size(); i++) {
+            final Component component = components.get(i);
+
+            if (component.isEnabled() && (component.getContactEvents() & contactEvent) != 0) {
+                callContactEvent(component, contactEvent, collision);
+            }
+        }
+    }
+
+    private static void callContactEvent(final CollideAble target, final int contactEvent, final CollisionEvent collision) {
+
+        switch (contactEvent) {
+            case CollisionEvent.ENTER:
+                target.onCollisionEnter(collision);
+                break;
+            case CollisionEvent.STAY:
+                target.onCollisionStay(collision);
+                break;
+            case CollisionEvent.EXIT:
+                target.onCollisionExit(collision);
+                break;
         }
     }
 
@@ -293,6 +512,10 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
      * given direction to the given acceleration. On the next fixed tick, this acceleration is reset to 0f.
      * This is the recommended way fro player control in a few cases because the momentum of this GameObject will
      * slowly fade out and so the controls aren't precise. However, this might be useful for some physics-related games.
+     * <p>
+     * If the Scene uses one of the vector {@link de.edgelord.saltyengine.core.physics.Integrator}s, the acceleration is
+     * {@link SimplePhysicsComponent#applyForce(float, float) applied} for this tick instead, so calling this more than
+     * once per tick adds up.
      *
      * @param acceleration the acceleration to be set to the specific default force
      * @param direction    the direction in which to accelerate the GameObject
@@ -303,23 +526,14 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
             return;
         }
 
-        switch (direction) {
+        final ForceHandle handle = SimplePhysicsComponent.getDefaultForceHandle(direction);
 
-            case RIGHT:
-                getPhysics().getForce(SimplePhysicsComponent.DEFAULT_RIGHTWARDS_FORCE).setAcceleration(acceleration);
-                break;
-            case LEFT:
-                getPhysics().getForce(SimplePhysicsComponent.DEFAULT_LEFTWARDS_FORCE).setAcceleration(acceleration);
-                break;
-            case UP:
-                getPhysics().getForce(SimplePhysicsComponent.DEFAULT_UPWARDS_FORCE).setAcceleration(acceleration);
-                break;
-            case DOWN:
-                getPhysics().getForce(SimplePhysicsComponent.DEFAULT_DOWNWARDS_FORCE).setAcceleration(acceleration);
-                break;
-            case EMPTY:
-                System.out.println("[WARNING] Can not accelerate in Direction Directions.Direction.EMPTY!");
-                break;
+        if (handle == null) {
+            System.out.println("[WARNING] Can not accelerate in Direction Directions.Direction.EMPTY!");
+        } else if (physicsComponent.usesForces()) {
+            physicsComponent.getForce(handle).setAcceleration(acceleration);
+        } else {
+            physicsComponent.applyForce(PhysicsWorld.signX(direction) * acceleration, PhysicsWorld.signY(direction) * acceleration);
         }
     }
 
@@ -354,6 +568,9 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
      * This method sets the {@link de.edgelord.saltyengine.core.physics.Force#velocity} of the default velocity force with the
      * given direction to the given value. This velocity only rests for one tick.
      * This is the recommended way for player control in most cases because it's more precise than working with acceleration.
+     * <p>
+     * If the Scene uses one of the vector {@link de.edgelord.saltyengine.core.physics.Integrator}s, the velocity is
+     * {@link SimplePhysicsComponent#addTickVelocity(float, float) added} for this tick instead.
      *
      * @param velocity  the velocity to be set to the specific force
      * @param direction the directon of the default force to be manipulated.
@@ -364,23 +581,14 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
             return;
         }
 
-        switch (direction) {
+        final ForceHandle handle = SimplePhysicsComponent.getDefaultVelocityForceHandle(direction);
 
-            case RIGHT:
-                getPhysics().getForce(SimplePhysicsComponent.DEFAULT_RIGHTWARDS_VELOCITY_FORCE).setVelocity(velocity);
-                break;
-            case LEFT:
-                getPhysics().getForce(SimplePhysicsComponent.DEFAULT_LEFTWARDS_VELOCITY_FORCE).setVelocity(velocity);
-                break;
-            case UP:
-                getPhysics().getForce(SimplePhysicsComponent.DEFAULT_UPWARDS_VELOCITY_FORCE).setVelocity(velocity);
-                break;
-            case DOWN:
-                getPhysics().getForce(SimplePhysicsComponent.DEFAULT_DOWNWARDS_VELOCITY_FORCE).setVelocity(velocity);
-                break;
-            case EMPTY:
-                System.out.println("[WARNING] Can not set the velocity for Direction Directions.Direction.EMPTY!");
-                break;
+        if (handle == null) {
+            System.out.println("[WARNING] Can not set the velocity for Direction Directions.Direction.EMPTY!");
+        } else if (physicsComponent.usesForces()) {
+            physicsComponent.getForce(handle).setVelocity(velocity);
+        } else {
+            physicsComponent.addTickVelocity(PhysicsWorld.signX(direction) * velocity, PhysicsWorld.signY(direction) * velocity);
         }
     }
 
@@ -451,6 +659,21 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
         return recalculateHitboxComponent;
     }
 
+    /**
+     * Sets whether the default collider of this GameObject uses continuous collision detection, so that this
+     * GameObject can't tunnel through thin hitboxes when it moves fast.
+     *
+     * @param continuous whether to use continuous collision detection
+     * @see HitboxCollider#setContinuous(boolean)
+     */
+    public void setContinuousCollision(boolean continuous) {
+        defaultCollider.setContinuous(continuous);
+    }
+
+    public boolean isContinuousCollision() {
+        return defaultCollider.isContinuous();
+    }
+
     public ColliderComponent getDefaultColliderCollider() {
         return defaultCollider;
     }
@@ -459,20 +682,149 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
         this.colliderComponent = colliderComponent;
     }
 
+    /**
+     * @return the id of this GameObject, which is unique among all GameObjects created in this JVM
+     */
+    public int getId() {
+        return id;
+    }
+
+    public int getContactEvents() {
+        return contactEvents;
+    }
+
+    /**
+     * Returns the contact events this GameObject or any of its enabled components subscribed to.
+     * The Scene only tracks the contacts of a GameObject if this is not 0.
+     *
+     * @return a bitmask of {@link CollisionEvent#ENTER}, {@link CollisionEvent#STAY} and {@link CollisionEvent#EXIT}
+     */
+    public int getSubscribedContactEvents() {
+
+        int subscribed = contactEvents;
+
+        for (int i = 0; i < components.size(); i++) {
+            final Component component = components.get(i);
+
+            if (component.isEnabled()) {
+                subscribed |= component.getContactEvents();
+            }
+        }
+
+        return subscribed;
+    }
+
+    /**
+     * Subscribes this GameObject to the given contact events. Unlike {@link #onCollision(CollisionEvent)}, which is
+     * called on every tick for as long as two GameObjects collide, {@link #onCollisionEnter(CollisionEvent)} and
+     * {@link #onCollisionExit(CollisionEvent)} are only called when a collision begins or ends, and
+     * {@link #onCollisionStay(CollisionEvent)} on each tick in between. Only the subscribed ones are called.
+     * <p>
+     * The contacts are kept by the Scene from one tick to the next. Stationary GameObjects don't detect collisions,
+     * so they don't get any contact events either.
+     *
+     * @param contactEvents a bitmask of {@link CollisionEvent#ENTER}, {@link CollisionEvent#STAY} and
+     *                      {@link CollisionEvent#EXIT}, 0 by default
+     * @see Component#setContactEvents(int)
+     */
+    public void setContactEvents(int contactEvents) {
+        this.contactEvents = contactEvents;
+    }
+
     public boolean isStationary() {
         return stationary;
     }
 
     public void setStationary(boolean stationary) {
         this.stationary = stationary;
+
+        if (stationary) {
+            wakeUp();
+        }
+    }
+
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * Puts this GameObject to sleep, which the {@link SimplePhysicsComponent} does by itself once this GameObject
+     * came to rest, if the Scene {@link de.edgelord.saltyengine.scene.Scene#enableSleeping() allows sleeping}.
+     * While sleeping, the physics, the hitbox recalculation and the collision detection of this GameObject are
+     * skipped. Its components and {@link #onFixedTick()} still tick.
+     * <p>
+     * It wakes up when a force is applied to it, when it's moved, when a moving GameObject collides with it or when
+     * a GameObject it touches is moved, resized or removed.
+     * Stationary GameObjects and ones that aren't {@link #setSleepingAllowed(boolean) allowed to sleep} never sleep.
+     */
+    public void sleep() {
+
+        if (stationary || !sleepingAllowed) {
+            return;
+        }
+
+        sleeping = true;
+        sleepX = getX();
+        sleepY = getY();
+    }
+
+    /**
+     * Wakes this GameObject up if it's sleeping, so that the time until it can sleep again starts over.
+     *
+     * @see #sleep()
+     */
+    public void wakeUp() {
+
+        if (sleeping) {
+            sleeping = false;
+            physicsComponent.resetRestingTime();
+        }
+    }
+
+    /**
+     * Wakes this GameObject up if it was moved since it fell asleep.
+     */
+    public void wakeUpIfMoved() {
+
+        if (sleeping && (getX() != sleepX || getY() != sleepY)) {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Returns the position and size of this GameObject on the last fixed tick of its Scene, if the Scene
+     * {@link de.edgelord.saltyengine.scene.Scene#enableSleeping() allows sleeping}. The Scene updates them by itself.
+     *
+     * @return the bounds of this GameObject on the last fixed tick, or NaN if there was none yet
+     */
+    public Transform getLastBounds() {
+        return lastBounds;
+    }
+
+    public boolean isSleepingAllowed() {
+        return sleepingAllowed;
+    }
+
+    /**
+     * Sets whether this GameObject may sleep, e.g. to keep the player awake at all times.
+     *
+     * @param sleepingAllowed whether this GameObject may sleep, true by default
+     * @see #sleep()
+     */
+    public void setSleepingAllowed(boolean sleepingAllowed) {
+        this.sleepingAllowed = sleepingAllowed;
+
+        if (!sleepingAllowed) {
+            wakeUp();
+        }
     }
 
     public float getMass() {
-        return mass;
+        return physicsComponent.getMass();
     }
 
     public void setMass(final float mass) {
-        this.mass = mass;
+        physicsComponent.setMass(mass);
     }
 
     public void removeFromCurrentScene() {
@@ -502,4 +854,57 @@ public abstract class GameObject extends ComponentParent implements Drawable, Fi
     public void setTrigger(boolean trigger) {
         isTrigger = trigger;
     }
+
+    public int getCollisionLayer() {
+        return collisionLayer;
+    }
+
+    /**
+     * Puts this GameObject on the given collision layer.
+     *
+     * @param collisionLayer the layer, between 0 and {@link CollisionMatrix#LAYER_COUNT} - 1
+     * @throws IllegalArgumentException if there's no such layer
+     * @see CollisionMatrix
+     */
+    public void setCollisionLayer(int collisionLayer) {
+        CollisionMatrix.layerBit(collisionLayer);
+        this.collisionLayer = collisionLayer;
+    }
+
+    public int getCollisionMask() {
+        return collisionMask;
+    }
+
+    /**
+     * Sets the layers this GameObject collides with. Two GameObjects only collide if both of their masks contain the
+     * layer of the other one and the {@link CollisionMatrix} of the Scene lets their layers collide.
+     *
+     * @param collisionMask a bitmask of {@link CollisionMatrix#layerBit(int)}s, {@link CollisionMatrix#ALL_LAYERS} by default
+     */
+    public void setCollisionMask(int collisionMask) {
+        this.collisionMask = collisionMask;
+    }
+
+    /**
+     * Returns whether this GameObject and the given one might collide according to their collision layers and masks,
+     * ignoring the {@link CollisionMatrix} of the Scene.
+     *
+     * @param other another GameObject
+     * @return whether the masks of both GameObjects contain the layer of the other one
+     */
+    public boolean canCollideWith(GameObject other) {
+        return (collisionMask & (1 << other.collisionLayer)) != 0 && (other.collisionMask & (1 << collisionLayer)) != 0;
+    }
+
+    /**
+     * Returns whether this GameObject and the given one might collide according to their collision layers and masks
+     * and the given {@link CollisionMatrix}.
+     *
+     * @param other  another GameObject
+     * @param matrix the collision matrix of the Scene
+     * @return whether the two GameObjects might collide
+     */
+    public boolean canCollideWith(GameObject other, CollisionMatrix matrix) {
+        return canCollideWith(other) && matrix.collides(collisionLayer, other.collisionLayer);
+    }
 }
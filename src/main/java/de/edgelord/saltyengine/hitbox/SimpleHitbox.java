@@ -49,7 +49,8 @@ public class SimpleHitbox implements Hitbox {
 
     public void recalculate() {
 
-        transform.setPosition(new Vector2f(parent.getPosition().getX() + offsetX, parent.getPosition().getY() + offsetY));
+        transform.setX(parent.getX() + offsetX);
+        transform.setY(parent.getY() + offsetY);
     }
 
     @Override
@@ -0,0 +1,108 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.edgelord.saltyengine.profiling;
+
+import java.util.Arrays;
+
+/**
+ * A ring buffer of the latest samples of a measured value, e.g. the duration of a phase in nanoseconds.
+ * Recording a sample never allocates memory, so it can be done on every fixed tick and every frame.
+ * Percentiles are computed on request from the samples that are currently in the buffer.
+ */
+public class Histogram {
+
+    private final long[] samples;
+    private final long[] sorted;
+    private final int mask;
+
+    private long count = 0;
+
+    /**
+     * Creates a new Histogram that holds the latest <code>capacity</code> samples.
+     *
+     * @param capacity the number of samples to hold, which is rounded up to the next power of two
+     */
+    public Histogram(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+
+        this.samples = new long[size];
+        this.sorted = new long[size];
+        this.mask = size - 1;
+    }
+
+    public void record(long sample) {
+        samples[(int) (count & mask)] = sample;
+        count++;
+    }
+
+    /**
+     * Returns the given percentile of the samples that are currently in the buffer.
+     *
+     * @param percentile the percentile between <code>0</code> and <code>100</code>, e.g. <code>95</code> for the p95
+     * @return the given percentile, or <code>0</code> if nothing was recorded yet
+     */
+    public synchronized long getPercentile(double percentile) {
+
+        final int size = getSize();
+
+        if (size == 0) {
+            return 0;
+        }
+
+        System.arraycopy(samples, 0, sorted, 0, size);
+        Arrays.sort(sorted, 0, size);
+
+        final int index = (int) Math.ceil(percentile / 100d * size) - 1;
+
+        return sorted[Math.min(size - 1, Math.max(0, index))];
+    }
+
+    /**
+     * @return the latest recorded sample
+     */
+    public long getLast() {
+        return count == 0 ? 0 : samples[(int) ((count - 1) & mask)];
+    }
+
+    /**
+     * @return the number of samples that are currently in the buffer
+     */
+    public int getSize() {
+        return (int) Math.min(count, samples.length);
+    }
+
+    /**
+     * @return the total number of samples that were recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.edgelord.saltyengine.profiling;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures the duration of the phases of {@link de.edgelord.saltyengine.scene.Scene#onFixedTick()} and
+ * {@link de.edgelord.saltyengine.scene.Scene#draw(de.edgelord.saltyengine.graphics.SaltyGraphics)}.
+ * The samples of each {@link Phase} are recorded into a {@link Histogram}, from which percentiles can be read.
+ * Besides that, the latest value of each {@link Counter} is kept.
+ * <p>
+ * The profiler is disabled by default. A typical usage would be:
+ * <pre>
+ * {@code
+ * Profiler.setEnabled(true);
+ * Profiler.setOverlayEnabled(true);
+ *
+ * // ...
+ *
+ * long p99 = Profiler.getPercentile(Profiler.Phase.COLLISION, 99);
+ * }
+ * </pre>
+ */
+public class Profiler {
+
+    /**
+     * The number of samples each {@link Histogram} holds.
+     */
+    public static final int SAMPLES = 512;
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Histogram[] histograms = new Histogram[PHASES.length];
+
+    private static final Counter[] COUNTERS = Counter.values();
+    private static final AtomicLongArray counts = new AtomicLongArray(COUNTERS.length);
+
+    private static volatile boolean enabled = false;
+    private static volatile boolean overlayEnabled = false;
+
+    static {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram(SAMPLES);
+        }
+    }
+
+    /**
+     * Records the time from the given start until now as a sample of the given {@link Phase}.
+     * The returned time can be used as the start of the next phase.
+     *
+     * @param phase      the phase to record the sample for
+     * @param startNanos the start of the phase, as returned by {@link System#nanoTime()}
+     * @return the current {@link System#nanoTime()}
+     */
+    public static long record(Phase phase, long startNanos) {
+        final long now = System.nanoTime();
+        histograms[phase.ordinal()].record(now - startNanos);
+
+        return now;
+    }
+
+    /**
+     * Records the given duration as a sample of the given {@link Phase}.
+     *
+     * @param phase the phase to record the sample for
+     * @param nanos the duration of the phase in nanoseconds
+     */
+    public static void recordNanos(Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Sets the latest value of the given {@link Counter}.
+     *
+     * @param counter the counter
+     * @param value   its current value
+     */
+    public static void count(Counter counter, long value) {
+        counts.set(counter.ordinal(), value);
+    }
+
+    /**
+     * @param counter the counter
+     * @return the latest value of the given counter
+     */
+    public static long getCount(Counter counter) {
+        return counts.get(counter.ordinal());
+    }
+
+    public static Histogram getHistogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * @param phase      the phase
+     * @param percentile the percentile between <code>0</code> and <code>100</code>
+     * @return the given percentile of the latest samples of the given phase in nanoseconds
+     * @see Histogram#getPercentile(double)
+     */
+    public static long getPercentile(Phase phase, double percentile) {
+        return getHistogram(phase).getPercentile(percentile);
+    }
+
+    public static void clear() {
+        for (Histogram histogram : histograms) {
+            histogram.clear();
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Profiler.enabled = enabled;
+    }
+
+    public static boolean isOverlayEnabled() {
+        return overlayEnabled;
+    }
+
+    /**
+     * Proposes the <code>Host</code> to draw the {@link ProfilerOverlay} or not.
+     * The overlay only shows something while the profiler is enabled.
+     *
+     * @param overlayEnabled whether to draw the overlay or not
+     */
+    public static void setOverlayEnabled(boolean overlayEnabled) {
+        Profiler.overlayEnabled = overlayEnabled;
+    }
+
+    static Phase[] getPhases() {
+        return PHASES;
+    }
+
+    static Counter[] getCounters() {
+        return COUNTERS;
+    }
+
+    public enum Counter {
+
+        /**
+         * The GameObjects of the scene at the end of the last fixed tick.
+         */
+        GAME_OBJECTS,
+
+        /**
+         * The sleeping GameObjects of the scene at the end of the last fixed tick.
+         *
+         * @see de.edgelord.saltyengine.scene.Scene#enableSleeping()
+         */
+        SLEEPING_GAME_OBJECTS
+    }
+
+    public enum Phase {
+
+        /**
+         * The whole fixed tick of the scene.
+         */
+        TICK,
+        FIXED_TASKS,
+        COLLISION,
+        COMPONENT_TICK,
+        USER_TICK,
+
+        /**
+         * The whole drawing of the scene.
+         */
+        FRAME,
+        GAME_OBJECTS,
+        UI,
+        GFX,
+        DRAWING_ROUTINES,
+        LIGHT_SYSTEM
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.edgelord.saltyengine.profiling;
+
+import de.edgelord.saltyengine.graphics.SaltyGraphics;
+
+import java.awt.*;
+
+/**
+ * Draws the p50, p95 and p99 of every {@link Profiler.Phase} as a table in milliseconds, followed by the values of
+ * the {@link Profiler.Counter}s.
+ * The values are only recomputed every {@link #REFRESH_FRAMES} frames.
+ */
+public class ProfilerOverlay {
+
+    public static final int REFRESH_FRAMES = 30;
+
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+
+    private static final String[] lines = new String[Profiler.getPhases().length + 1 + Profiler.getCounters().length];
+    private static int frames = REFRESH_FRAMES;
+
+    public static void draw(SaltyGraphics saltyGraphics, float x, float y) {
+
+        if (frames++ >= REFRESH_FRAMES) {
+            refresh();
+            frames = 0;
+        }
+
+        saltyGraphics.setFont(FONT);
+        final float lineHeight = saltyGraphics.getFontMetrics().getHeight();
+
+        saltyGraphics.setColor(BACKGROUND);
+        saltyGraphics.drawRect(x, y, 420, lineHeight * lines.length + lineHeight / 2);
+
+        saltyGraphics.setColor(Color.GREEN);
+        for (int i = 0; i < lines.length; i++) {
+            saltyGraphics.drawText(lines[i], x + 5, y + lineHeight * (i + 1));
+        }
+    }
+
+    private static void refresh() {
+
+        lines[0] = String.format("%-17s %9s %9s %9s", "phase [ms]", "p50", "p95", "p99");
+
+        final Profiler.Phase[] phases = Profiler.getPhases();
+        for (int i = 0; i < phases.length; i++) {
+            final Histogram histogram = Profiler.getHistogram(phases[i]);
+
+            lines[i + 1] = String.format("%-17s %9.3f %9.3f %9.3f", phases[i].name(),
+                    histogram.getPercentile(50) / 1_000_000d,
+                    histogram.getPercentile(95) / 1_000_000d,
+                    histogram.getPercentile(99) / 1_000_000d);
+        }
+
+        final Profiler.Counter[] counters = Profiler.getCounters();
+        for (int i = 0; i < counters.length; i++) {
+            lines[phases.length + 1 + i] = String.format("%-21s %9d", counters[i].name(), Profiler.getCount(counters[i]));
+        }
+    }
+}
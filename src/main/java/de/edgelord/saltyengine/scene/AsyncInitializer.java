@@ -0,0 +1,136 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.gameobject.GameObject;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Initializes {@link GameObject}s of a {@link Scene} on worker threads, so that heavy initializers
+ * (e.g. loading images) don't block the fixed tick.
+ * Initialized objects are queued until the scene takes them with {@link #pollReady()} at the beginning of its next
+ * fixed tick.
+ */
+class AsyncInitializer {
+
+    private Executor executor = null;
+
+    private final Queue<Ready> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Initializes the given object on the {@link #executor} and queues it afterwards.
+     * If the initialization throws, the stack trace is printed and the object is dropped.
+     *
+     * @param gameObject the object to initialize
+     * @param onReady    called on the tick thread once the object joined the scene, can be <code>null</code>
+     */
+    void submit(GameObject gameObject, Runnable onReady) {
+
+        pending.incrementAndGet();
+
+        getExecutor().execute(() -> {
+            try {
+                if (!gameObject.isInitialized()) {
+                    gameObject.initialize();
+                    gameObject.setInitialized(true);
+                }
+
+                ready.add(new Ready(gameObject, onReady));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * @return the next initialized object or <code>null</code> if there is none
+     */
+    Ready pollReady() {
+        return ready.poll();
+    }
+
+    /**
+     * @return the number of objects that are currently being initialized
+     */
+    int getPending() {
+        return pending.get();
+    }
+
+    Executor getExecutor() {
+        if (executor == null) {
+            executor = DefaultExecutor.INSTANCE;
+        }
+
+        return executor;
+    }
+
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    static class Ready {
+
+        final GameObject gameObject;
+        final Runnable onReady;
+
+        Ready(GameObject gameObject, Runnable onReady) {
+            this.gameObject = gameObject;
+            this.onReady = onReady;
+        }
+    }
+
+    /**
+     * The executor shared by all scenes that don't have their own.
+     * It's created on first use and its daemon threads don't keep the JVM alive.
+     */
+    private static class DefaultExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newFixedThreadPool(
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1), new ThreadFactory() {
+
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "salty-engine-init-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+}
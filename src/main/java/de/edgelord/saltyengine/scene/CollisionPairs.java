@@ -0,0 +1,227 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.collision.BroadPhase;
+import de.edgelord.saltyengine.collision.CollisionMatrix;
+import de.edgelord.saltyengine.collision.IntList;
+import de.edgelord.saltyengine.components.collider.ColliderComponent;
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.utils.Directions;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Detects the collisions of all {@link GameObject}s of a {@link Scene} pair by pair, so that each unordered pair is
+ * only tested once. If the colliders of both GameObjects are {@link ColliderComponent#isSymmetric() symmetric}, the
+ * direction is computed once as well and mirrored for the other GameObject.
+ * <p>
+ * This is done in three steps, so that the first and the last one can run for many GameObjects in parallel:
+ * <ol>
+ * <li>{@link #detect(int, GameObject[], BroadPhase, CollisionMatrix, IntList, List)} tests the pairs each
+ * GameObject is responsible for, which are the ones with a stationary or sleeping GameObject or a GameObject with a
+ * greater index</li>
+ * <li>{@link #distribute(int)} sorts the collisions found for the other GameObject of each pair by that one</li>
+ * <li>{@link #collect(int, GameObject[])} merges both into the collisions of a GameObject, ordered by the index of
+ * the other GameObject, exactly as {@link GameObject#detectCollisions(List)} would have returned them</li>
+ * </ol>
+ */
+class CollisionPairs {
+
+    private static final Directions.Direction[] DIRECTIONS = Directions.Direction.values();
+
+    // The collisions found for the pairs each GameObject is responsible for, as pairs of other index and direction
+    private IntList[] hits = new IntList[0];
+    private IntList[] mirroredHits = new IntList[0];
+
+    // The mirrored hits, sorted by the GameObject they are for
+    private int[] incomingStart = new int[0];
+    private int[] incomingCount = new int[0];
+    private int[] incoming = new int[0];
+
+    void prepare(final int count) {
+
+        if (hits.length < count) {
+            final int length = Math.max(count, hits.length * 2);
+
+            hits = Arrays.copyOf(hits, length);
+            mirroredHits = Arrays.copyOf(mirroredHits, length);
+            incomingStart = new int[length];
+            incomingCount = new int[length];
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (hits[i] == null) {
+                hits[i] = new IntList(8);
+                mirroredHits[i] = new IntList(8);
+            }
+        }
+    }
+
+    /**
+     * Tests the pairs the GameObject with the given index is responsible for.
+     * Only writes the state of that index, so it can run for different indices at once.
+     */
+    void detect(final int index, final GameObject[] objects, final BroadPhase broadPhase, final CollisionMatrix matrix,
+                final IntList indices, final List<GameObject> candidates) {
+
+        final IntList hits = this.hits[index];
+        final IntList mirroredHits = this.mirroredHits[index];
+        final GameObject gameObject = objects[index];
+
+        hits.clear();
+        mirroredHits.clear();
+
+        if (gameObject.isStationary() || gameObject.isSleeping()) {
+            return;
+        }
+
+        broadPhase.query(index, indices, candidates);
+        candidates.clear();
+
+        final ColliderComponent collider = gameObject.requestCollider();
+
+        for (int i = 0; i < indices.size(); i++) {
+            final int otherIndex = indices.get(i);
+            final GameObject other = objects[otherIndex];
+            // Sleeping GameObjects don't detect collisions either, so they are treated like stationary ones
+            final boolean otherStationary = other.isStationary() || other.isSleeping();
+
+            // The other GameObject tests this pair itself
+            if (!otherStationary && otherIndex < index) {
+                continue;
+            }
+
+            if (!gameObject.canCollideWith(other, matrix)) {
+                continue;
+            }
+
+            Directions.Direction direction = null;
+            if (collider.requestCollision(other)) {
+                direction = collider.getCollisionDirection(other);
+                hits.add(otherIndex);
+                hits.add(direction.ordinal());
+            }
+
+            if (otherStationary) {
+                continue;
+            }
+
+            final ColliderComponent otherCollider = other.requestCollider();
+
+            if (collider.isSymmetric() && otherCollider.isSymmetric()) {
+                if (direction != null) {
+                    mirroredHits.add(otherIndex);
+                    mirroredHits.add(Directions.mirrorDirection(direction).ordinal());
+                }
+            } else if (otherCollider.requestCollision(gameObject)) {
+                mirroredHits.add(otherIndex);
+                mirroredHits.add(otherCollider.getCollisionDirection(gameObject).ordinal());
+            }
+        }
+    }
+
+    /**
+     * Sorts the mirrored collisions by the GameObject they are for, keeping them ordered by the index of the
+     * GameObject that found them.
+     */
+    void distribute(final int count) {
+
+        Arrays.fill(incomingCount, 0, count, 0);
+
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            final IntList mirroredHits = this.mirroredHits[i];
+
+            for (int j = 0; j < mirroredHits.size(); j += 2) {
+                incomingCount[mirroredHits.get(j)]++;
+            }
+            total += mirroredHits.size() / 2;
+        }
+
+        if (incoming.length < total * 2) {
+            incoming = new int[Math.max(total * 2, incoming.length * 2)];
+        }
+
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            incomingStart[i] = start;
+            start += incomingCount[i] * 2;
+            incomingCount[i] = 0;
+        }
+
+        for (int i = 0; i < count; i++) {
+            final IntList mirroredHits = this.mirroredHits[i];
+
+            for (int j = 0; j < mirroredHits.size(); j += 2) {
+                final int target = mirroredHits.get(j);
+                final int position = incomingStart[target] + incomingCount[target] * 2;
+
+                incoming[position] = i;
+                incoming[position + 1] = mirroredHits.get(j + 1);
+                incomingCount[target]++;
+            }
+        }
+    }
+
+    /**
+     * Merges the collisions of the GameObject with the given index.
+     * Only writes that GameObject, so it can run for different indices at once.
+     *
+     * @return the collisions of the GameObject, or <code>null</code> if it's stationary or sleeping
+     */
+    List<CollisionEvent> collect(final int index, final GameObject[] objects) {
+
+        final GameObject gameObject = objects[index];
+
+        if (gameObject.isStationary() || gameObject.isSleeping()) {
+            return null;
+        }
+
+        gameObject.clearCollisions();
+
+        final IntList hits = this.hits[index];
+        final int incomingEnd = incomingStart[index] + incomingCount[index] * 2;
+        int hit = 0;
+        int incomingHit = incomingStart[index];
+
+        while (hit < hits.size() || incomingHit < incomingEnd) {
+            if (incomingHit == incomingEnd || (hit < hits.size() && hits.get(hit) < incoming[incomingHit])) {
+                gameObject.addCollision(objects[hits.get(hit)], DIRECTIONS[hits.get(hit + 1)]);
+                hit += 2;
+            } else {
+                gameObject.addCollision(objects[incoming[incomingHit]], DIRECTIONS[incoming[incomingHit + 1]]);
+                incomingHit += 2;
+            }
+        }
+
+        return gameObject.getCollisions();
+    }
+}
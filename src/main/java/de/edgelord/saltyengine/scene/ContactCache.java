@@ -0,0 +1,190 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.collision.LongIntHashMap;
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.utils.Directions;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the collisions of the GameObjects that subscribed to contact events from one tick to the next, to report
+ * when a collision begins, goes on and ends. A contact is stored from the perspective of the GameObject that
+ * detected it, keyed by the ids of both GameObjects in a {@link LongIntHashMap} that points into dense arrays.
+ * <p>
+ * The contacts are only ever accessed from one thread at a time.
+ */
+class ContactCache {
+
+    private static final Directions.Direction[] DIRECTIONS = Directions.Direction.values();
+
+    private final LongIntHashMap slots = new LongIntHashMap(256);
+
+    private long[] keys = new long[64];
+    private GameObject[] gameObjects = new GameObject[64];
+    private GameObject[] others = new GameObject[64];
+    private int[] directions = new int[64];
+    private int[] lastTicks = new int[64];
+    private int size = 0;
+
+    private int tick = 0;
+
+    private final CollisionEvent exitEvent = new CollisionEvent(null, new Directions(), Directions.Direction.EMPTY);
+
+    /**
+     * Starts a new tick, after which each GameObject reports its collisions with {@link #update(GameObject, List)}.
+     */
+    void beginTick() {
+        tick++;
+    }
+
+    /**
+     * Stores the collisions of the given GameObject on this tick and calls its enter and stay events.
+     *
+     * @param gameObject the GameObject
+     * @param collisions the collisions it detected on this tick
+     */
+    void update(final GameObject gameObject, final List<CollisionEvent> collisions) {
+
+        final int subscribed = gameObject.getSubscribedContactEvents();
+
+        // Without a subscription, the contacts of the last tick end silently with the next endTick
+        if (subscribed == 0) {
+            return;
+        }
+
+        for (int i = 0; i < collisions.size(); i++) {
+            final CollisionEvent collision = collisions.get(i);
+            final GameObject other = collision.getRoot();
+            final long key = key(gameObject, other);
+            final int slot = slots.get(key, -1);
+
+            if (slot == -1) {
+                add(key, gameObject, other, collision.getCollisionDirection());
+
+                if ((subscribed & CollisionEvent.ENTER) != 0) {
+                    gameObject.dispatchContactEvent(CollisionEvent.ENTER, collision);
+                }
+            } else {
+                lastTicks[slot] = tick;
+                directions[slot] = collision.getCollisionDirection().ordinal();
+
+                if ((subscribed & CollisionEvent.STAY) != 0) {
+                    gameObject.dispatchContactEvent(CollisionEvent.STAY, collision);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the contacts that weren't reported on this tick and calls the exit events for them.
+     */
+    void endTick() {
+
+        int slot = 0;
+
+        while (slot < size) {
+            // A sleeping GameObject doesn't detect its collisions, but keeps its contacts until it wakes up
+            if (lastTicks[slot] == tick || gameObjects[slot].isSleeping()) {
+                lastTicks[slot] = tick;
+                slot++;
+                continue;
+            }
+
+            final GameObject gameObject = gameObjects[slot];
+            final Directions.Direction direction = DIRECTIONS[directions[slot]];
+
+            exitEvent.getCollisionDirections().clear();
+            exitEvent.getCollisionDirections().setDirection(direction);
+            exitEvent.set(others[slot], exitEvent.getCollisionDirections(), direction);
+
+            // The last contact takes the place of the removed one, which is checked next
+            remove(slot);
+
+            if ((gameObject.getSubscribedContactEvents() & CollisionEvent.EXIT) != 0) {
+                gameObject.dispatchContactEvent(CollisionEvent.EXIT, exitEvent);
+            }
+        }
+
+        exitEvent.set(null, exitEvent.getCollisionDirections(), Directions.Direction.EMPTY);
+    }
+
+    /**
+     * @return the number of contacts that are currently stored
+     */
+    int size() {
+        return size;
+    }
+
+    private void add(final long key, final GameObject gameObject, final GameObject other, final Directions.Direction direction) {
+
+        if (size == keys.length) {
+            final int length = size * 2;
+
+            keys = Arrays.copyOf(keys, length);
+            gameObjects = Arrays.copyOf(gameObjects, length);
+            others = Arrays.copyOf(others, length);
+            directions = Arrays.copyOf(directions, length);
+            lastTicks = Arrays.copyOf(lastTicks, length);
+        }
+
+        keys[size] = key;
+        gameObjects[size] = gameObject;
+        others[size] = other;
+        directions[size] = direction.ordinal();
+        lastTicks[size] = tick;
+        slots.put(key, size);
+        size++;
+    }
+
+    private void remove(final int slot) {
+
+        final int last = --size;
+
+        slots.remove(keys[slot], -1);
+
+        if (slot != last) {
+            keys[slot] = keys[last];
+            gameObjects[slot] = gameObjects[last];
+            others[slot] = others[last];
+            directions[slot] = directions[last];
+            lastTicks[slot] = lastTicks[last];
+            slots.put(keys[slot], slot);
+        }
+
+        gameObjects[last] = null;
+        others[last] = null;
+    }
+
+    private static long key(final GameObject gameObject, final GameObject other) {
+        return ((long) gameObject.getId() << 32) | (other.getId() & 0xFFFFFFFFL);
+    }
+}
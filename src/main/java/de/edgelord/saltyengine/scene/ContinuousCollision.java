@@ -0,0 +1,91 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.collision.BroadPhase;
+import de.edgelord.saltyengine.collision.CollisionMatrix;
+import de.edgelord.saltyengine.collision.IntList;
+import de.edgelord.saltyengine.components.collider.ColliderComponent;
+import de.edgelord.saltyengine.components.collider.HitboxCollider;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+
+import java.util.List;
+
+/**
+ * Sweeps the hitboxes of the GameObjects with {@link HitboxCollider#setContinuous(boolean) continuous collision
+ * detection} before their collisions are detected.
+ */
+final strictfp class ContinuousCollision {
+
+    private ContinuousCollision() {
+    }
+
+    /**
+     * Sweeps the hitbox of the given GameObject along the way it moved since the last sweep, if it uses continuous
+     * collision detection, against the GameObjects the broad phase finds in the swept region, and updates it in the
+     * broad phase afterwards.
+     *
+     * @param index      the index of the GameObject in the broad phase
+     * @param gameObject the GameObject
+     * @param broadPhase the prepared broad phase of the scene
+     * @param matrix     the collision matrix of the scene
+     * @param indices    a buffer for the region query
+     * @param candidates an empty buffer for the region query, it's empty again afterwards
+     */
+    static void sweep(final int index, final GameObject gameObject, final BroadPhase broadPhase, final CollisionMatrix matrix,
+                      final IntList indices, final List<GameObject> candidates) {
+
+        if (gameObject.isStationary() || gameObject.isSleeping()) {
+            return;
+        }
+
+        final ColliderComponent collider = gameObject.requestCollider();
+
+        if (!(collider instanceof HitboxCollider) || !((HitboxCollider) collider).isContinuous()) {
+            return;
+        }
+
+        final HitboxCollider hitboxCollider = (HitboxCollider) collider;
+        gameObject.getHitbox().recalculate();
+
+        final Transform bounds = gameObject.getHitbox().getTransform();
+        final float startX = hitboxCollider.getSweepStartX();
+        final float startY = hitboxCollider.getSweepStartY();
+
+        broadPhase.queryRegion(Math.min(startX, bounds.getX()), Math.min(startY, bounds.getY()),
+                Math.max(startX, bounds.getX()) + bounds.getWidth(), Math.max(startY, bounds.getY()) + bounds.getHeight(),
+                indices, candidates);
+
+        hitboxCollider.sweep(candidates, matrix);
+        candidates.clear();
+
+        // The hitbox moved with the recalculation even if nothing was hit
+        broadPhase.update(index);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.collision.BroadPhase;
+import de.edgelord.saltyengine.collision.CollisionMatrix;
+import de.edgelord.saltyengine.collision.IntList;
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.core.physics.PhysicsWorld;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.profiling.Profiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs the fixed tick of the {@link GameObject}s of a {@link Scene} on a {@link ForkJoinPool}, split up into phases.
+ * Every phase is run for all GameObjects in parallel and finished for all of them before the next one starts:
+ * <ol>
+ * <li>initialization of not yet initialized GameObjects, one after another on the calling thread, because
+ * initializers usually add forces to the shared {@link PhysicsWorld}</li>
+ * <li>collision gathering with {@link CollisionPairs}, which only reads the state of the GameObjects and the
+ * {@link BroadPhase} of the scene, after the hitboxes with continuous collision detection were swept one after
+ * another</li>
+ * <li>dispatching the gathered collisions</li>
+ * <li>integrating all bodies of the {@link PhysicsWorld} and moving their GameObjects by the result, in one loop on
+ * the calling thread</li>
+ * <li>the fixed tick of the components</li>
+ * <li>the contact events and waking up the sleeping GameObjects touched by moving ones, one GameObject after
+ * another on the calling thread, because they share the {@link ContactCache} and wake up each other</li>
+ * <li>the fixed tick of the GameObjects themselves</li>
+ * </ol>
+ * The commit phase, in which all modifications of the Scene made during the other phases are applied,
+ * is done by the Scene itself.
+ * <p>
+ * The engine itself only writes the state a GameObject owns within the parallel phases, like the directions its
+ * physics body is locked in. Everything that moves GameObjects or is shared between them is done on the calling
+ * thread between the phases. The callbacks of the GameObjects and their components however run in parallel within
+ * their phase, see {@link Scene#enableParallelTicking(ForkJoinPool)}.
+ * <p>
+ * Without a pool, the phases run one after another on the calling thread.
+ */
+class ParallelTick {
+
+    /**
+     * The number of GameObjects below which a phase is not split up any further.
+     */
+    private static final int THRESHOLD = 64;
+
+    private final ForkJoinPool pool;
+
+    private GameObject[] objects = new GameObject[0];
+    private List<CollisionEvent>[] collisions = newCollisionsArray(0);
+    private final CollisionPairs collisionPairs = new CollisionPairs();
+
+    /**
+     * Per worker buffers for the queries to the {@link BroadPhase}.
+     */
+    private final ThreadLocal<IntList> candidateIndices = ThreadLocal.withInitial(IntList::new);
+    private final ThreadLocal<List<GameObject>> candidates = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * @param pool the pool to run the phases on, or <code>null</code> to run them on the calling thread
+     */
+    ParallelTick(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<CollisionEvent>[] newCollisionsArray(final int length) {
+        return (List<CollisionEvent>[]) new List[length];
+    }
+
+    void run(final List<GameObject> gameObjects, final BroadPhase broadPhase, final CollisionMatrix matrix,
+             final ContactCache contactCache, final PhysicsWorld physicsWorld, final Sleeping sleeping,
+             final boolean profiling) {
+
+        final boolean sleepingEnabled = sleeping != null;
+
+        final int count = gameObjects.size();
+        objects = gameObjects.toArray(objects);
+
+        if (collisions.length < count) {
+            collisions = newCollisionsArray(objects.length);
+        }
+
+        final List<GameObject> snapshot = Arrays.asList(objects).subList(0, count);
+
+        for (int i = 0; i < count; i++) {
+            final GameObject gameObject = objects[i];
+
+            if (!gameObject.isInitialized()) {
+                gameObject.initialize();
+                gameObject.setInitialized(true);
+            }
+        }
+
+        long time = profiling ? System.nanoTime() : 0;
+
+        if (sleepingEnabled) {
+            for (int i = 0; i < count; i++) {
+                objects[i].wakeUpIfMoved();
+                sleeping.trackBounds(objects[i]);
+            }
+        }
+
+        broadPhase.prepare(snapshot);
+
+        if (sleepingEnabled && sleeping.hasWakeRegions()) {
+            sleeping.wakeRegions(broadPhase, candidateIndices.get(), candidates.get());
+        }
+        collisionPairs.prepare(count);
+
+        // Sweeping moves GameObjects, so it can't run in parallel with the others reading them
+        for (int i = 0; i < count; i++) {
+            ContinuousCollision.sweep(i, objects[i], broadPhase, matrix, candidateIndices.get(), candidates.get());
+        }
+
+        phase(count, i -> collisionPairs.detect(i, objects, broadPhase, matrix, candidateIndices.get(), candidates.get()));
+        collisionPairs.distribute(count);
+        phase(count, i -> collisions[i] = collisionPairs.collect(i, objects));
+
+        if (profiling) {
+            time = Profiler.record(Profiler.Phase.COLLISION, time);
+        }
+
+        phase(count, i -> {
+            if (collisions[i] != null) {
+                objects[i].dispatchCollisions(collisions[i]);
+            }
+        });
+
+        physicsWorld.integrateAll(physicsWorld.getContext());
+
+        phase(count, i -> objects[i].doComponentOnFixedTick());
+
+        contactCache.beginTick();
+        for (int i = 0; i < count; i++) {
+            if (collisions[i] != null) {
+                contactCache.update(objects[i], collisions[i]);
+
+                if (sleepingEnabled) {
+                    Sleeping.wakeTouched(objects[i], collisions[i]);
+                }
+                collisions[i] = null;
+            }
+        }
+        contactCache.endTick();
+
+        if (profiling) {
+            time = Profiler.record(Profiler.Phase.COMPONENT_TICK, time);
+        }
+
+        phase(count, i -> objects[i].doFixedTick());
+
+        if (profiling) {
+            Profiler.record(Profiler.Phase.USER_TICK, time);
+        }
+
+        Arrays.fill(objects, 0, count, null);
+    }
+
+    private void phase(final int count, final IntConsumer action) {
+
+        if (pool == null) {
+            for (int i = 0; i < count; i++) {
+                action.accept(i);
+            }
+        } else {
+            pool.invoke(new PhaseTask(action, 0, count));
+        }
+    }
+
+    ForkJoinPool getPool() {
+        return pool;
+    }
+
+    private static class PhaseTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer action;
+        private final int from;
+        private final int to;
+
+        private PhaseTask(final IntConsumer action, final int from, final int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new PhaseTask(action, from, middle), new PhaseTask(action, middle, to));
+            }
+        }
+    }
+}
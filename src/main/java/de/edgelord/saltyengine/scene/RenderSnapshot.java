@@ -0,0 +1,139 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.gameobject.DrawingRoutine;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The state of a {@link Scene} that is needed to render it, captured at the end of a fixed tick.
+ * The drawing order, the positions and the rotations of the {@link GameObject}s are stored in primitive arrays,
+ * which are reused by every capture.
+ */
+class RenderSnapshot {
+
+    private GameObject[] gameObjects = new GameObject[0];
+    private DrawingRoutine[] drawingRoutines = new DrawingRoutine[0];
+    private float[] x = new float[0];
+    private float[] y = new float[0];
+    private float[] rotation = new float[0];
+    private float[] rotationCentreX = new float[0];
+    private float[] rotationCentreY = new float[0];
+
+    private int gameObjectCount = 0;
+    private int drawingRoutineCount = 0;
+
+    /**
+     * Whether this snapshot was captured but not yet taken by the renderer.
+     */
+    volatile boolean fresh = false;
+
+    void capture(final List<GameObject> gameObjects, final List<DrawingRoutine> drawingRoutines) {
+
+        final int count = gameObjects.size();
+        ensureCapacity(count);
+
+        for (int i = 0; i < count; i++) {
+            final GameObject gameObject = gameObjects.get(i);
+            final Transform transform = gameObject.getTransform();
+
+            this.gameObjects[i] = gameObject;
+            x[i] = transform.getX();
+            y[i] = transform.getY();
+            rotation[i] = transform.getRotationDegrees();
+            rotationCentreX[i] = transform.getRotationCentre().getX();
+            rotationCentreY[i] = transform.getRotationCentre().getY();
+        }
+
+        Arrays.fill(this.gameObjects, count, gameObjectCount > count ? gameObjectCount : count, null);
+        gameObjectCount = count;
+
+        final int routineCount = drawingRoutines.size();
+        if (this.drawingRoutines.length < routineCount) {
+            this.drawingRoutines = new DrawingRoutine[routineCount];
+        }
+        for (int i = 0; i < routineCount; i++) {
+            this.drawingRoutines[i] = drawingRoutines.get(i);
+        }
+        Arrays.fill(this.drawingRoutines, routineCount, drawingRoutineCount > routineCount ? drawingRoutineCount : routineCount, null);
+        drawingRoutineCount = routineCount;
+    }
+
+    private void ensureCapacity(final int count) {
+
+        if (gameObjects.length < count) {
+            final int capacity = Math.max(count, gameObjects.length * 2);
+
+            gameObjects = Arrays.copyOf(gameObjects, capacity);
+            x = new float[capacity];
+            y = new float[capacity];
+            rotation = new float[capacity];
+            rotationCentreX = new float[capacity];
+            rotationCentreY = new float[capacity];
+        }
+    }
+
+    int getGameObjectCount() {
+        return gameObjectCount;
+    }
+
+    GameObject getGameObject(final int index) {
+        return gameObjects[index];
+    }
+
+    float getX(final int index) {
+        return x[index];
+    }
+
+    float getY(final int index) {
+        return y[index];
+    }
+
+    float getRotation(final int index) {
+        return rotation[index];
+    }
+
+    float getRotationCentreX(final int index) {
+        return rotationCentreX[index];
+    }
+
+    float getRotationCentreY(final int index) {
+        return rotationCentreY[index];
+    }
+
+    int getDrawingRoutineCount() {
+        return drawingRoutineCount;
+    }
+
+    DrawingRoutine getDrawingRoutine(final int index) {
+        return drawingRoutines[index];
+    }
+}
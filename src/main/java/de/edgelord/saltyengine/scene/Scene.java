@@ -27,21 +27,41 @@
 
 package de.edgelord.saltyengine.scene;
 
+import de.edgelord.saltyengine.collision.BroadPhase;
+import de.edgelord.saltyengine.collision.BruteForceBroadPhase;
+import de.edgelord.saltyengine.collision.CollisionMatrix;
+import de.edgelord.saltyengine.collision.IntList;
+import de.edgelord.saltyengine.collision.SpatialHash;
+import de.edgelord.saltyengine.collision.StaticIndexBroadPhase;
 import de.edgelord.saltyengine.components.SimplePhysicsComponent;
 import de.edgelord.saltyengine.core.Game;
+import de.edgelord.saltyengine.core.event.CollisionEvent;
 import de.edgelord.saltyengine.core.physics.Force;
+import de.edgelord.saltyengine.core.physics.Integrator;
+import de.edgelord.saltyengine.core.physics.PhysicsContext;
+import de.edgelord.saltyengine.core.physics.PhysicsWorld;
 import de.edgelord.saltyengine.cosmetic.light.LightSystem;
 import de.edgelord.saltyengine.gameobject.DrawingRoutine;
 import de.edgelord.saltyengine.gameobject.FixedTask;
 import de.edgelord.saltyengine.gameobject.GameObject;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.profiling.Profiler;
+import de.edgelord.saltyengine.transform.Transform;
 import de.edgelord.saltyengine.transform.Vector2f;
 import de.edgelord.saltyengine.ui.UISystem;
+import de.edgelord.saltyengine.utils.Randomness;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import de.edgelord.saltyengine.utils.StateHash;
 
 import java.awt.geom.AffineTransform;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class represents what is currently drawn and calculated.
@@ -62,121 +82,313 @@ public class Scene {
 
     public static final Object concurrentBlock = "3141592653589793";
 
+    /**
+     * The default speed in units per second below which a GameObject is at rest.
+     */
+    public static final float DEFAULT_SLEEP_VELOCITY = 1f;
+
+    /**
+     * The default time in milliseconds a GameObject has to be at rest for before it's put to sleep.
+     */
+    public static final float DEFAULT_SLEEP_DELAY = 500f;
+
     private float gravity = SimplePhysicsComponent.DEFAULT_GRAVITY_ACCELERATION;
     private float friction = Force.DEFAULT_FRICTION;
 
+    /**
+     * Decides which collision layers of the GameObjects collide with each other.
+     */
+    private final CollisionMatrix collisionMatrix = new CollisionMatrix();
+
     private List<GameObject> gameObjects = Collections.synchronizedList(new ArrayList<>());
     private List<FixedTask> fixedTasks = Collections.synchronizedList(new ArrayList<>());
     private List<DrawingRoutine> drawingRoutines = Collections.synchronizedList(new ArrayList<>());
     private LightSystem lightSystem = null;
     private UISystem ui = new UISystem();
 
+    /**
+     * Runs the fixed tick of the GameObjects in parallel phases if it is not <code>null</code>.
+     *
+     * @see #enableParallelTicking(ForkJoinPool)
+     */
+    private ParallelTick parallelTick = null;
+    private volatile boolean parallelTickRunning = false;
+    private final Queue<Runnable> pendingModifications = new ConcurrentLinkedQueue<>();
+
+    /**
+     * If this is true, {@link #draw(SaltyGraphics)} renders the GameObjects and DrawingRoutines
+     * from the latest {@link RenderSnapshot} without taking {@link #concurrentBlock}.
+     * The snapshots are triple buffered: the fixed tick captures into {@link #captureSnapshot} and exchanges
+     * it with {@link #readySnapshot}, from which the renderer takes it in exchange for {@link #drawSnapshot}.
+     * That way, neither the fixed tick nor the renderer ever wait for each other.
+     */
+    private volatile boolean renderSnapshotEnabled = false;
+    private RenderSnapshot captureSnapshot = new RenderSnapshot();
+    private final AtomicReference<RenderSnapshot> readySnapshot = new AtomicReference<>(new RenderSnapshot());
+    private RenderSnapshot drawSnapshot = new RenderSnapshot();
+
+    /**
+     * Whether this Scene was modified since the last {@link RenderSnapshot} was published. Modifications don't
+     * publish a snapshot themselves, so that adding many GameObjects doesn't capture the whole Scene each time.
+     * The next fixed tick publishes one anyway, or the next frame if this Scene isn't ticking.
+     */
+    private volatile boolean renderSnapshotDirty = false;
+
+    /**
+     * Initializes the GameObjects added with {@link #addGameObjectAsync(GameObject, Runnable)} off the tick thread.
+     */
+    private final AsyncInitializer asyncInitializer = new AsyncInitializer();
+
+    /**
+     * The GameObjects are only tested for collisions with the candidates this returns.
+     *
+     * @see #setBroadPhase(BroadPhase)
+     */
+    private BroadPhase broadPhase = new StaticIndexBroadPhase(new BruteForceBroadPhase());
+    private final IntList candidateIndices = new IntList();
+    private final List<GameObject> collisionCandidates = new ArrayList<>();
+
+    /**
+     * Keeps the collisions of the GameObjects from one tick to the next for their contact events.
+     *
+     * @see GameObject#setContactEvents(int)
+     */
+    private final ContactCache contactCache = new ContactCache();
+
+    /**
+     * Stores the bodies and forces of the physics of all GameObjects of this Scene.
+     */
+    private final PhysicsWorld physicsWorld = new PhysicsWorld();
+
+    /**
+     * Counts the modifications of this Scene, so that the fixed tick notices when it has to
+     * {@link BroadPhase#prepare(List)} the {@link #broadPhase} again.
+     */
+    private int modificationCount = 0;
+
+    /**
+     * Whether the {@link #broadPhase} has to be prepared again before a spatial query, because the GameObjects moved
+     * or changed since it was last prepared. While {@link #ticking}, the queries use it as it is.
+     *
+     * @see #queryRegion(Transform, List)
+     */
+    private boolean spatialIndexDirty = true;
+    private boolean ticking = false;
+    private final ThreadLocal<SpatialQuery> spatialQuery = ThreadLocal.withInitial(SpatialQuery::new);
+
+    /**
+     * Whether GameObjects that came to rest are put to sleep.
+     *
+     * @see #enableSleeping()
+     */
+    private volatile boolean sleepingEnabled = false;
+    private float sleepVelocity = DEFAULT_SLEEP_VELOCITY;
+    private float sleepDelay = DEFAULT_SLEEP_DELAY;
+    private final Sleeping sleeping = new Sleeping();
+
+    /**
+     * Whether the state of this Scene is hashed after every fixed tick.
+     *
+     * @see #enableDeterministicMode(long)
+     */
+    private volatile boolean deterministic = false;
+    private volatile long stateHash = StateHash.INITIAL;
+
     public Scene() {
 
     }
 
     public void disableGravity() {
-        synchronized (concurrentBlock) {
+        modify(() -> {
             for (int i = 0; i < gameObjects.size(); i++) {
                 GameObject gameObject = gameObjects.get(i);
 
                 gameObject.getPhysics().setGravityEnabled(false);
             }
-        }
+        });
     }
 
     public void enableGravity() {
-        synchronized (concurrentBlock) {
+        modify(() -> {
             for (int i = 0; i < gameObjects.size(); i++) {
                 GameObject gameObject = gameObjects.get(i);
 
                 gameObject.getPhysics().setGravityEnabled(true);
             }
-        }
+        });
     }
 
     public void addFixedTask(FixedTask fixedTask) {
 
-        synchronized (concurrentBlock) {
-            fixedTasks.add(fixedTask);
-        }
+        modify(() -> fixedTasks.add(fixedTask));
     }
 
     public void addDrawingRoutine(DrawingRoutine drawingRoutine) {
-        synchronized (concurrentBlock) {
-            drawingRoutines.add(drawingRoutine);
-        }
+        modify(() -> drawingRoutines.add(drawingRoutine));
     }
 
     public void addGameObject(GameObject gameObject) {
 
-        synchronized (concurrentBlock) {
+        modify(() -> {
             gameObjects.add(gameObject);
-        }
+            gameObject.getPhysics().setWorld(physicsWorld);
+        });
+    }
+
+    /**
+     * Adds the given GameObject asynchronously.
+     *
+     * @param gameObject the GameObject to add
+     * @see #addGameObjectAsync(GameObject, Runnable)
+     */
+    public void addGameObjectAsync(GameObject gameObject) {
+        addGameObjectAsync(gameObject, null);
+    }
+
+    /**
+     * Initializes the given GameObject on a worker thread and adds it to this Scene with the first fixed tick after
+     * that. Until then, it's neither ticked nor drawn. This avoids frame spikes when spawning objects with heavy
+     * initializers mid-game, e.g. ones that load images.
+     * <p>
+     * The initializer mustn't rely on running on the tick thread. If it throws, the stack trace is printed and the
+     * object is not added.
+     *
+     * @param gameObject the GameObject to add
+     * @param onReady    called on the tick thread right after the GameObject was added, can be <code>null</code>
+     * @see #setInitializationExecutor(Executor)
+     */
+    public void addGameObjectAsync(GameObject gameObject, Runnable onReady) {
+        asyncInitializer.submit(gameObject, onReady);
     }
 
     public void addGameObject(int index, GameObject gameObject) {
-        synchronized (concurrentBlock) {
+        modify(() -> {
             gameObjects.add(index, gameObject);
-        }
+            gameObject.getPhysics().setWorld(physicsWorld);
+        });
     }
 
     public void removeGameObject(GameObject gameObject) {
-        synchronized (concurrentBlock) {
-            gameObjects.remove(gameObject);
-        }
+        modify(() -> {
+            if (gameObjects.remove(gameObject)) {
+                gameObject.getPhysics().detachFromWorld();
+
+                // A removed GameObject that stays asleep would keep its contacts forever
+                gameObject.wakeUp();
+
+                if (sleepingEnabled) {
+                    sleeping.removed(gameObject);
+                }
+            }
+        });
     }
 
     public void clearGameObjects() {
-        synchronized (concurrentBlock) {
+        modify(() -> {
+            for (int i = 0; i < gameObjects.size(); i++) {
+                gameObjects.get(i).getPhysics().detachFromWorld();
+                gameObjects.get(i).wakeUp();
+            }
             gameObjects.clear();
-        }
+        });
     }
 
     public void removeFixedTask(FixedTask fixedTask) {
-        synchronized (concurrentBlock) {
-            fixedTasks.remove(fixedTask);
-        }
+        modify(() -> fixedTasks.remove(fixedTask));
     }
 
     public void clearFixedTasks() {
-        synchronized (concurrentBlock) {
-            fixedTasks.clear();
-        }
+        modify(() -> fixedTasks.clear());
     }
 
     public void removeDrawingRoutine(DrawingRoutine drawingRoutine) {
-        synchronized (concurrentBlock) {
-            drawingRoutines.remove(drawingRoutine);
-        }
+        modify(() -> drawingRoutines.remove(drawingRoutine));
     }
 
     public void clearDrawingRoutines() {
-        synchronized (concurrentBlock) {
-            drawingRoutines.clear();
-        }
+        modify(() -> drawingRoutines.clear());
     }
 
     public void doFixedTasks() {
 
         synchronized (concurrentBlock) {
-            for (FixedTask fixedTask : fixedTasks) {
+            for (int i = 0; i < fixedTasks.size(); i++) {
 
-                fixedTask.onFixedTick();
+                fixedTasks.get(i).onFixedTick();
             }
         }
     }
 
     public void draw(SaltyGraphics saltyGraphics) {
 
-        synchronized (concurrentBlock) {
-            for (DrawingRoutine drawingRoutine : drawingRoutines) {
-                if (drawingRoutine.getDrawingPosition() == DrawingRoutine.DrawingPosition.BEFORE_GAMEOBJECTS) {
-                    drawingRoutine.draw(saltyGraphics);
+        final boolean profiling = Profiler.isEnabled();
+        final long frameStart = profiling ? System.nanoTime() : 0;
+        if (renderSnapshotEnabled && renderSnapshotDirty) {
+            synchronized (concurrentBlock) {
+                if (renderSnapshotDirty) {
+                    publishRenderSnapshot();
                 }
             }
         }
 
+        final RenderSnapshot snapshot = renderSnapshotEnabled ? takeRenderSnapshot() : null;
+
+        long time = frameStart;
+        long drawingRoutinesNanos = 0;
+
+        drawDrawingRoutines(DrawingRoutine.DrawingPosition.BEFORE_GAMEOBJECTS, snapshot, saltyGraphics);
+
+        if (profiling) {
+            final long now = System.nanoTime();
+            drawingRoutinesNanos += now - time;
+            time = now;
+        }
+
+        if (snapshot != null) {
+            drawGameObjects(snapshot, saltyGraphics);
+        } else {
+            drawGameObjects(saltyGraphics);
+        }
+
+        if (profiling) {
+            time = Profiler.record(Profiler.Phase.GAME_OBJECTS, time);
+        }
+
+        if (ui != null) {
+            ui.drawUI(saltyGraphics);
+        }
+
+        if (profiling) {
+            time = Profiler.record(Profiler.Phase.UI, time);
+        }
+
+        Game.getDefaultGFXController().doGFXDrawing(saltyGraphics);
+
+        if (profiling) {
+            time = Profiler.record(Profiler.Phase.GFX, time);
+        }
+
+        drawDrawingRoutines(DrawingRoutine.DrawingPosition.AFTER_GAMEOBJECTS, snapshot, saltyGraphics);
+
+        if (profiling) {
+            final long now = System.nanoTime();
+            drawingRoutinesNanos += now - time;
+            time = now;
+            Profiler.recordNanos(Profiler.Phase.DRAWING_ROUTINES, drawingRoutinesNanos);
+        }
+
+        if (lightSystem != null) {
+            lightSystem.draw(saltyGraphics);
+        }
+
+        if (profiling) {
+            Profiler.record(Profiler.Phase.LIGHT_SYSTEM, time);
+            Profiler.record(Profiler.Phase.FRAME, frameStart);
+        }
+    }
+
+    private void drawGameObjects(SaltyGraphics saltyGraphics) {
+
         synchronized (concurrentBlock) {
             for (GameObject gameObject : gameObjects) {
                 AffineTransform before = saltyGraphics.getGraphics2D().getTransform();
@@ -190,43 +402,121 @@ public class Scene {
                 saltyGraphics.setTransform(before);
             }
         }
+    }
 
-        if (ui != null) {
-            ui.drawUI(saltyGraphics);
+    /**
+     * Draws the GameObjects from the given {@link RenderSnapshot}.
+     * Each GameObject is drawn at the position it had when the snapshot was captured, even if the
+     * fixed tick already moved it since then.
+     *
+     * @param snapshot      the snapshot to draw
+     * @param saltyGraphics the graphics to draw to
+     */
+    private void drawGameObjects(RenderSnapshot snapshot, SaltyGraphics saltyGraphics) {
+
+        for (int i = 0; i < snapshot.getGameObjectCount(); i++) {
+            final GameObject gameObject = snapshot.getGameObject(i);
+            final float x = snapshot.getX(i);
+            final float y = snapshot.getY(i);
+
+            AffineTransform before = saltyGraphics.getGraphics2D().getTransform();
+            saltyGraphics.getGraphics2D().rotate(Math.toRadians(snapshot.getRotation(i)), snapshot.getRotationCentreX(i) + x, snapshot.getRotationCentreY(i) + y);
+            saltyGraphics.getGraphics2D().translate(x - gameObject.getX(), y - gameObject.getY());
+
+            gameObject.draw(saltyGraphics);
+            gameObject.doComponentDrawing(saltyGraphics);
+
+            saltyGraphics.setTransform(before);
         }
+    }
 
-        Game.getDefaultGFXController().doGFXDrawing(saltyGraphics);
+    private void drawDrawingRoutines(DrawingRoutine.DrawingPosition position, RenderSnapshot snapshot, SaltyGraphics saltyGraphics) {
 
-        synchronized (concurrentBlock) {
-            for (DrawingRoutine drawingRoutine : drawingRoutines) {
-                if (drawingRoutine.getDrawingPosition() == DrawingRoutine.DrawingPosition.AFTER_GAMEOBJECTS) {
+        if (snapshot != null) {
+            for (int i = 0; i < snapshot.getDrawingRoutineCount(); i++) {
+                final DrawingRoutine drawingRoutine = snapshot.getDrawingRoutine(i);
+
+                if (drawingRoutine.getDrawingPosition() == position) {
                     drawingRoutine.draw(saltyGraphics);
                 }
             }
+        } else {
+            synchronized (concurrentBlock) {
+                for (DrawingRoutine drawingRoutine : drawingRoutines) {
+                    if (drawingRoutine.getDrawingPosition() == position) {
+                        drawingRoutine.draw(saltyGraphics);
+                    }
+                }
+            }
         }
+    }
 
-        if (lightSystem != null) {
-            lightSystem.draw(saltyGraphics);
+    /**
+     * Takes the latest published {@link RenderSnapshot} if there is a new one and returns the one to draw.
+     *
+     * @return the snapshot to draw
+     */
+    private RenderSnapshot takeRenderSnapshot() {
+
+        if (readySnapshot.get().fresh) {
+            drawSnapshot = readySnapshot.getAndSet(drawSnapshot);
+            drawSnapshot.fresh = false;
         }
+
+        return drawSnapshot;
+    }
+
+    /**
+     * Captures the current state of this Scene into a {@link RenderSnapshot} and publishes it to the renderer.
+     * This has to be called while holding {@link #concurrentBlock}.
+     */
+    private void publishRenderSnapshot() {
+
+        renderSnapshotDirty = false;
+        captureSnapshot.capture(gameObjects, drawingRoutines);
+        captureSnapshot.fresh = true;
+        captureSnapshot = readySnapshot.getAndSet(captureSnapshot);
     }
 
     public void onFixedTick() {
 
+        final boolean profiling = Profiler.isEnabled();
+        final long tickStart = profiling ? System.nanoTime() : 0;
+
+        addInitializedGameObjects();
         doFixedTasks();
 
+        if (profiling) {
+            Profiler.record(Profiler.Phase.FIXED_TASKS, tickStart);
+        }
+
         synchronized (concurrentBlock) {
 
-            for (int i = 0; i < gameObjects.size(); i++) {
-                GameObject gameObject = gameObjects.get(i);
+            ticking = true;
+            physicsWorld.setContext(resolvePhysicsContext());
 
-                if (!gameObject.isInitialized()) {
-                    gameObject.initialize();
-                    gameObject.setInitialized(true);
+            try {
+                if (parallelTick != null) {
+                    doParallelTick(profiling);
+                } else {
+                    doSerialTick(profiling);
                 }
+            } finally {
+                ticking = false;
+                spatialIndexDirty = true;
+            }
 
-                gameObject.doCollisionDetection(gameObjects);
-                gameObject.doComponentOnFixedTick();
-                gameObject.doFixedTick();
+            if (deterministic) {
+                stateHash = computeStateHash();
+            }
+
+            if (profiling) {
+                Profiler.count(Profiler.Counter.GAME_OBJECTS, gameObjects.size());
+                Profiler.count(Profiler.Counter.SLEEPING_GAME_OBJECTS, countSleeping());
+            }
+
+            if (renderSnapshotEnabled) {
+                publishRenderSnapshot();
             }
         }
 
@@ -236,6 +526,298 @@ public class Scene {
 
             ui.onFixedTick();
         }
+
+        if (profiling) {
+            Profiler.record(Profiler.Phase.TICK, tickStart);
+        }
+    }
+
+    /**
+     * Returns the parameters of the physics of this Scene for the current tick. The context of the last tick is used
+     * again as long as none of them changed.
+     */
+    private PhysicsContext resolvePhysicsContext() {
+
+        final PhysicsContext current = physicsWorld.getContext();
+        final float deltaMillis = SaltySystem.fixedTickMillis;
+
+        if (current.matches(gravity, friction, deltaMillis, sleepingEnabled, sleepVelocity, sleepDelay)) {
+            return current;
+        }
+
+        return new PhysicsContext(gravity, friction, deltaMillis, sleepingEnabled, sleepVelocity, sleepDelay);
+    }
+
+    /**
+     * Adds the GameObjects that finished their asynchronous initialization and calls their ready callbacks.
+     */
+    private void addInitializedGameObjects() {
+
+        AsyncInitializer.Ready ready;
+
+        while ((ready = asyncInitializer.pollReady()) != null) {
+            addGameObject(ready.gameObject);
+
+            if (ready.onReady != null) {
+                ready.onReady.run();
+            }
+        }
+    }
+
+    private void doSerialTick(boolean profiling) {
+
+        long collisionNanos = 0;
+        long componentTickNanos = 0;
+        long userTickNanos = 0;
+
+        final BroadPhase broadPhase = this.broadPhase;
+        int preparedModificationCount = modificationCount - 1;
+
+        contactCache.beginTick();
+
+        if (sleepingEnabled) {
+            for (int i = 0; i < gameObjects.size(); i++) {
+                sleeping.trackBounds(gameObjects.get(i));
+            }
+
+            if (sleeping.hasWakeRegions()) {
+                broadPhase.prepare(gameObjects);
+                preparedModificationCount = modificationCount;
+                sleeping.wakeRegions(broadPhase, candidateIndices, collisionCandidates);
+            }
+        }
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            GameObject gameObject = gameObjects.get(i);
+
+            if (!gameObject.isInitialized()) {
+                gameObject.initialize();
+                gameObject.setInitialized(true);
+            }
+
+            long time = profiling ? System.nanoTime() : 0;
+
+            // The GameObjects might have changed since the last prepare, e.g. when one removed another one
+            if (preparedModificationCount != modificationCount) {
+                broadPhase.prepare(gameObjects);
+                preparedModificationCount = modificationCount;
+            }
+
+            if (sleepingEnabled) {
+                gameObject.wakeUpIfMoved();
+            }
+
+            if (!gameObject.isStationary() && !gameObject.isSleeping()) {
+                broadPhase.update(i);
+                ContinuousCollision.sweep(i, gameObject, broadPhase, collisionMatrix, candidateIndices, collisionCandidates);
+                broadPhase.query(i, candidateIndices, collisionCandidates);
+
+                final List<CollisionEvent> collisions = gameObject.detectCollisions(collisionCandidates, collisionMatrix);
+                gameObject.dispatchCollisions(collisions);
+                contactCache.update(gameObject, collisions);
+
+                if (sleepingEnabled) {
+                    Sleeping.wakeTouched(gameObject, collisions);
+                }
+
+                collisionCandidates.clear();
+            }
+
+            if (profiling) {
+                final long now = System.nanoTime();
+                collisionNanos += now - time;
+                time = now;
+            }
+
+            gameObject.doComponentOnFixedTick();
+
+            if (profiling) {
+                final long now = System.nanoTime();
+                componentTickNanos += now - time;
+                time = now;
+            }
+
+            gameObject.doFixedTick();
+
+            if (preparedModificationCount == modificationCount) {
+                broadPhase.update(i);
+            }
+
+            if (profiling) {
+                userTickNanos += System.nanoTime() - time;
+            }
+        }
+
+        final long exitTime = profiling ? System.nanoTime() : 0;
+        contactCache.endTick();
+
+        if (profiling) {
+            collisionNanos += System.nanoTime() - exitTime;
+            Profiler.recordNanos(Profiler.Phase.COLLISION, collisionNanos);
+            Profiler.recordNanos(Profiler.Phase.COMPONENT_TICK, componentTickNanos);
+            Profiler.recordNanos(Profiler.Phase.USER_TICK, userTickNanos);
+        }
+    }
+
+    /**
+     * Runs the phases of {@link ParallelTick} and commits all modifications of this Scene that were made meanwhile
+     * afterwards, in the order they were made.
+     */
+    private void doParallelTick(boolean profiling) {
+
+        parallelTickRunning = true;
+
+        try {
+            parallelTick.run(gameObjects, broadPhase, collisionMatrix, contactCache, physicsWorld, sleepingEnabled ? sleeping : null, profiling);
+        } finally {
+            // From here on, modifications wait for concurrentBlock instead of being queued
+            synchronized (pendingModifications) {
+                parallelTickRunning = false;
+            }
+        }
+
+        applyPendingModifications();
+    }
+
+    /**
+     * Applies the modifications that were queued during a parallel fixed tick.
+     * This has to be called while holding {@link #concurrentBlock}.
+     */
+    private void applyPendingModifications() {
+
+        Runnable modification;
+        while ((modification = pendingModifications.poll()) != null) {
+            apply(modification);
+        }
+    }
+
+    /**
+     * Runs the given modification of this Scene synchronized with {@link #concurrentBlock}, or,
+     * if a parallel fixed tick is running, as soon as it is finished.
+     *
+     * @param modification the modification of this Scene
+     */
+    private void modify(Runnable modification) {
+
+        Game.requestRender();
+
+        if (parallelTickRunning) {
+            // Checked again under the lock the tick takes to finish, so nothing is queued after the queue was applied
+            synchronized (pendingModifications) {
+                if (parallelTickRunning) {
+                    pendingModifications.add(modification);
+                    return;
+                }
+            }
+        }
+
+        synchronized (concurrentBlock) {
+            apply(modification);
+        }
+    }
+
+    private void apply(Runnable modification) {
+        modification.run();
+        modificationCount++;
+        spatialIndexDirty = true;
+        renderSnapshotDirty = true;
+    }
+
+    /**
+     * Makes the {@link GameObject}s of this Scene tick in parallel on the common {@link ForkJoinPool}.
+     *
+     * @see #enableParallelTicking(ForkJoinPool)
+     */
+    public void enableParallelTicking() {
+        enableParallelTicking(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Makes the {@link GameObject}s of this Scene tick in parallel on the given {@link ForkJoinPool}.
+     * The fixed tick is then split up into phases: initialization, collision gathering,
+     * the fixed tick of the components, the fixed tick of the GameObjects and a commit phase.
+     * Each phase is finished for all GameObjects before the next one starts.
+     * <p>
+     * Modifications of this Scene, like adding or removing GameObjects, that are made during the
+     * fixed tick are buffered and applied in the commit phase.
+     * <p>
+     * The movement of the GameObjects by their physics is integrated and applied on the ticking thread in between
+     * the phases, so that no GameObject is moved by the engine while the others run. The collision callbacks,
+     * {@link GameObject#onFixedTick()} and the fixed tick of the components are called in parallel though, and
+     * whatever they write isn't buffered. They may modify their own GameObject freely, but they have to be
+     * thread-safe towards each other if they read or write other GameObjects, e.g. by only reading the positions
+     * of others. Forces mustn't be added to or removed from the physics of the GameObjects outside of the
+     * initialization either, because their {@link PhysicsWorld} is shared.
+     *
+     * @param pool the pool to run the phases on
+     */
+    public void enableParallelTicking(ForkJoinPool pool) {
+        synchronized (concurrentBlock) {
+            parallelTick = new ParallelTick(pool);
+        }
+    }
+
+    /**
+     * Makes the {@link GameObject}s of this Scene tick in the same phases as with
+     * {@link #enableParallelTicking(ForkJoinPool)}, but one after another on the calling thread.
+     * <p>
+     * Because all collisions are then detected before any GameObject moves, each pair of GameObjects is only tested
+     * once and the direction of the collision is mirrored for the other one, instead of testing both ways while
+     * ticking each of them.
+     */
+    public void enablePhasedTicking() {
+        synchronized (concurrentBlock) {
+            parallelTick = new ParallelTick(null);
+        }
+    }
+
+    /**
+     * Makes the {@link GameObject}s of this Scene tick one after another again, each detecting its collisions
+     * right before its own fixed tick. This disables both parallel and phased ticking.
+     */
+    public void disableParallelTicking() {
+        synchronized (concurrentBlock) {
+            parallelTick = null;
+            applyPendingModifications();
+        }
+    }
+
+    public boolean isParallelTicking() {
+        return parallelTick != null && parallelTick.getPool() != null;
+    }
+
+    /**
+     * @return whether this Scene ticks in phases, either parallel or on the calling thread
+     * @see #enablePhasedTicking()
+     */
+    public boolean isPhasedTicking() {
+        return parallelTick != null;
+    }
+
+    public boolean isRenderSnapshotEnabled() {
+        return renderSnapshotEnabled;
+    }
+
+    /**
+     * Sets whether this Scene is rendered from a snapshot that is published at the end of each fixed tick
+     * (or by the next frame if the Scene was modified in between), instead of holding {@link #concurrentBlock}
+     * while drawing.
+     * That way, a slow frame doesn't stall the fixed tick and a slow fixed tick doesn't stall the frame.
+     * <p>
+     * The snapshot contains the drawing order, the positions and the rotations of the {@link GameObject}s as well as
+     * the {@link DrawingRoutine}s. Everything else, like the size of a GameObject, is read by its draw
+     * methods as usual.
+     *
+     * @param renderSnapshotEnabled whether to render from snapshots or not
+     */
+    public void setRenderSnapshotEnabled(boolean renderSnapshotEnabled) {
+        synchronized (concurrentBlock) {
+            this.renderSnapshotEnabled = renderSnapshotEnabled;
+
+            if (renderSnapshotEnabled) {
+                publishRenderSnapshot();
+            }
+        }
     }
 
     public void setUI(UISystem uiSystem) {
@@ -247,28 +829,389 @@ public class Scene {
     }
 
     public int getGameObjectCount() {
+        if (parallelTickRunning) {
+            return gameObjects.size();
+        }
+
         synchronized (concurrentBlock) {
             return gameObjects.size();
         }
     }
 
     public int getDrawingRoutineCount() {
+        if (parallelTickRunning) {
+            return drawingRoutines.size();
+        }
+
         synchronized (concurrentBlock) {
             return drawingRoutines.size();
         }
     }
 
+    /**
+     * @return the number of collisions that are currently kept for the contact events of the GameObjects
+     * @see GameObject#setContactEvents(int)
+     */
+    public int getContactCount() {
+        if (parallelTickRunning) {
+            return contactCache.size();
+        }
+
+        synchronized (concurrentBlock) {
+            return contactCache.size();
+        }
+    }
+
+    /**
+     * @return the world the bodies and forces of the physics of the GameObjects of this Scene are stored in
+     */
+    public PhysicsWorld getPhysicsWorld() {
+        return physicsWorld;
+    }
+
     public int getFixedTaskCount() {
+        if (parallelTickRunning) {
+            return fixedTasks.size();
+        }
+
         synchronized (concurrentBlock) {
             return fixedTasks.size();
         }
     }
 
+    /**
+     * Makes this Scene use a {@link SpatialHash} with a cell size derived from the average hitbox size
+     * as the broad phase of the collision detection.
+     *
+     * @see #enableSpatialHash(float)
+     */
+    public void enableSpatialHash() {
+        enableSpatialHash(0f);
+    }
+
+    /**
+     * Makes this Scene use a {@link SpatialHash} as the broad phase of the collision detection.
+     * Each GameObject is then only tested against the GameObjects in the same grid cells instead of against all
+     * GameObjects of this Scene, which turns the O(n²) collision detection into roughly O(n) for evenly spread objects.
+     *
+     * @param cellSize the side length of a grid cell, or 0 to derive it from the average hitbox size
+     * @see #setBroadPhase(BroadPhase)
+     */
+    public void enableSpatialHash(float cellSize) {
+        setBroadPhase(new StaticIndexBroadPhase(new SpatialHash(cellSize)));
+    }
+
+    /**
+     * Makes this Scene test every moving GameObject against all other moving ones again.
+     */
+    public void disableSpatialHash() {
+        setBroadPhase(new StaticIndexBroadPhase(new BruteForceBroadPhase()));
+    }
+
+    public BroadPhase getBroadPhase() {
+        return broadPhase;
+    }
+
+    /**
+     * Sets the broad phase of the collision detection, which decides which GameObjects are tested for a collision
+     * with each other. By default, the stationary GameObjects are kept in the static index of a
+     * {@link StaticIndexBroadPhase} and every moving GameObject is tested against all other moving ones with a
+     * {@link BruteForceBroadPhase}. To keep that static index, wrap the new broad phase in a {@link StaticIndexBroadPhase}.
+     * <p>
+     * Note that a GameObject that is moved by another one during the fixed tick is only updated in the broad phase
+     * after its own fixed tick.
+     *
+     * @param broadPhase the new broad phase
+     * @see SpatialHash
+     * @see de.edgelord.saltyengine.collision.SweepAndPrune
+     */
+    public void setBroadPhase(BroadPhase broadPhase) {
+        synchronized (concurrentBlock) {
+            this.broadPhase = broadPhase;
+            spatialIndexDirty = true;
+        }
+    }
+
+    /**
+     * Adds the GameObjects whose hitboxes intersect the given region to <code>results</code>, in the order of this
+     * Scene. Like all spatial queries, this uses the {@link BroadPhase} of the collision detection, so it only tests
+     * the GameObjects near the region instead of all of them.
+     * <p>
+     * Between two fixed ticks, the broad phase is brought up to date once before the first query. During the fixed
+     * tick, the queries see the GameObjects as the collision detection of that tick does, so they might miss
+     * GameObjects that were moved or added since then.
+     *
+     * @param region  the region to look for GameObjects in
+     * @param results the list to add the GameObjects to, it's not cleared
+     * @return the number of GameObjects that were added
+     */
+    public int queryRegion(Transform region, List<GameObject> results) {
+        if (parallelTickRunning) {
+            return spatialQuery.get().queryRegion(broadPhase, region.getX(), region.getY(), region.getWidth(), region.getHeight(), results);
+        }
+
+        synchronized (concurrentBlock) {
+            prepareSpatialIndex();
+            return spatialQuery.get().queryRegion(broadPhase, region.getX(), region.getY(), region.getWidth(), region.getHeight(), results);
+        }
+    }
+
+    /**
+     * Adds the GameObjects whose hitboxes contain the given point to <code>results</code>, in the order of this Scene.
+     * This is what mouse picking needs, e.g. with {@link de.edgelord.saltyengine.input.Input#getRelativeCursorPosition()}.
+     *
+     * @param point   the point to look for GameObjects at
+     * @param results the list to add the GameObjects to, it's not cleared
+     * @return the number of GameObjects that were added
+     * @see #queryRegion(Transform, List)
+     */
+    public int queryPoint(Vector2f point, List<GameObject> results) {
+        if (parallelTickRunning) {
+            return spatialQuery.get().queryPoint(broadPhase, point.getX(), point.getY(), results);
+        }
+
+        synchronized (concurrentBlock) {
+            prepareSpatialIndex();
+            return spatialQuery.get().queryPoint(broadPhase, point.getX(), point.getY(), results);
+        }
+    }
+
+    /**
+     * Adds the <code>k</code> GameObjects whose hitboxes are nearest to the given point to <code>results</code>,
+     * nearest first. The distance to a hitbox that contains the point is 0.
+     *
+     * @param point   the point to measure the distances from
+     * @param k       the maximum number of GameObjects to add
+     * @param results the list to add the GameObjects to, it's not cleared
+     * @return the number of GameObjects that were added, less than <code>k</code> only if this Scene doesn't have more
+     * @see #queryRegion(Transform, List)
+     */
+    public int nearest(Vector2f point, int k, List<GameObject> results) {
+        if (parallelTickRunning) {
+            return spatialQuery.get().nearest(broadPhase, point.getX(), point.getY(), k, gameObjects.size(), results);
+        }
+
+        synchronized (concurrentBlock) {
+            prepareSpatialIndex();
+            return spatialQuery.get().nearest(broadPhase, point.getX(), point.getY(), k, gameObjects.size(), results);
+        }
+    }
+
+    /**
+     * Casts a ray against the hitboxes of all GameObjects.
+     *
+     * @param origin      the start of the ray
+     * @param direction   the direction of the ray, it doesn't have to be normalized
+     * @param maxDistance the length of the ray
+     * @return the first GameObject hit by the ray or <code>null</code>
+     * @see #raycast(Vector2f, Vector2f, float, int)
+     */
+    public GameObject raycast(Vector2f origin, Vector2f direction, float maxDistance) {
+        return raycast(origin, direction, maxDistance, CollisionMatrix.ALL_LAYERS);
+    }
+
+    /**
+     * Casts a ray against the hitboxes of the GameObjects on the given collision layers, e.g. to test the line of
+     * sight of an AI against the walls of a level. Hitboxes that contain the origin are ignored, so a GameObject can
+     * cast a ray from within its own hitbox.
+     *
+     * @param origin      the start of the ray
+     * @param direction   the direction of the ray, it doesn't have to be normalized
+     * @param maxDistance the length of the ray
+     * @param layerMask   the collision layers to hit, as a bitmask of {@link CollisionMatrix#layerBit(int)}s
+     * @return the first GameObject hit by the ray or <code>null</code>
+     * @see #queryRegion(Transform, List)
+     */
+    public GameObject raycast(Vector2f origin, Vector2f direction, float maxDistance, int layerMask) {
+        if (parallelTickRunning) {
+            return spatialQuery.get().raycast(broadPhase, origin.getX(), origin.getY(), direction.getX(), direction.getY(), maxDistance, layerMask);
+        }
+
+        synchronized (concurrentBlock) {
+            prepareSpatialIndex();
+            return spatialQuery.get().raycast(broadPhase, origin.getX(), origin.getY(), direction.getX(), direction.getY(), maxDistance, layerMask);
+        }
+    }
+
+    /**
+     * Casts a ray like {@link #raycast(Vector2f, Vector2f, float, int)} and adds all GameObjects it hits to
+     * <code>results</code>, the first hit first.
+     *
+     * @param origin      the start of the ray
+     * @param direction   the direction of the ray, it doesn't have to be normalized
+     * @param maxDistance the length of the ray
+     * @param layerMask   the collision layers to hit, as a bitmask of {@link CollisionMatrix#layerBit(int)}s
+     * @param results     the list to add the GameObjects to, it's not cleared
+     * @return the number of GameObjects that were added
+     */
+    public int raycastAll(Vector2f origin, Vector2f direction, float maxDistance, int layerMask, List<GameObject> results) {
+        if (parallelTickRunning) {
+            return spatialQuery.get().raycastAll(broadPhase, origin.getX(), origin.getY(), direction.getX(), direction.getY(), maxDistance, layerMask, results);
+        }
+
+        synchronized (concurrentBlock) {
+            prepareSpatialIndex();
+            return spatialQuery.get().raycastAll(broadPhase, origin.getX(), origin.getY(), direction.getX(), direction.getY(), maxDistance, layerMask, results);
+        }
+    }
+
+    /**
+     * Prepares the {@link #broadPhase} for the spatial queries if the GameObjects changed since it was last prepared.
+     * This has to be called while holding {@link #concurrentBlock}.
+     */
+    private void prepareSpatialIndex() {
+
+        if (spatialIndexDirty && !ticking) {
+            broadPhase.prepare(gameObjects);
+            spatialIndexDirty = false;
+        }
+    }
+
+    /**
+     * @return the executor that initializes the GameObjects added with {@link #addGameObjectAsync(GameObject, Runnable)}
+     */
+    public Executor getInitializationExecutor() {
+        return asyncInitializer.getExecutor();
+    }
+
+    /**
+     * Sets the executor that initializes the GameObjects added with {@link #addGameObjectAsync(GameObject, Runnable)}.
+     * By default, a pool of daemon threads that is shared by all scenes is used.
+     *
+     * @param executor the executor to initialize GameObjects with
+     */
+    public void setInitializationExecutor(Executor executor) {
+        asyncInitializer.setExecutor(executor);
+    }
+
+    /**
+     * @return the number of GameObjects that are currently initialized asynchronously
+     */
+    public int getPendingInitializationCount() {
+        return asyncInitializer.getPending();
+    }
+
+    /**
+     * Returns the matrix that decides which collision layers collide with each other in this Scene.
+     * For example, <code>getCollisionMatrix().setCollides(BULLETS, BULLETS, false)</code> makes GameObjects on the
+     * layer <code>BULLETS</code> never test for collisions with each other.
+     *
+     * @return the collision matrix of this Scene
+     * @see GameObject#setCollisionLayer(int)
+     */
+    public CollisionMatrix getCollisionMatrix() {
+        return collisionMatrix;
+    }
+
+    /**
+     * Makes this Scene put {@link GameObject}s to sleep once they were at rest for the
+     * {@link #setSleepDelay(float) sleep delay}, which means that they moved slower than the
+     * {@link #setSleepVelocity(float) sleep velocity} and the forces on them that aren't countered by a collision
+     * wouldn't make them any faster within that time.
+     * <p>
+     * The physics, the hitbox recalculation and the collision detection of sleeping GameObjects are skipped, while
+     * their components and their {@link GameObject#onFixedTick()} still tick. Because of that, a sleeping GameObject
+     * doesn't get {@link GameObject#onCollision(de.edgelord.saltyengine.core.event.CollisionEvent)} calls, but other
+     * GameObjects still collide with it. It wakes up when a force is applied to it, when it's moved, when a moving
+     * GameObject collides with it or when a GameObject it touches is moved, resized or removed.
+     *
+     * @see GameObject#setSleepingAllowed(boolean)
+     */
+    public void enableSleeping() {
+        sleepingEnabled = true;
+    }
+
+    /**
+     * Wakes up all sleeping GameObjects and keeps them awake from now on.
+     */
+    public void disableSleeping() {
+        sleepingEnabled = false;
+        wakeUpAll();
+    }
+
+    public boolean isSleepingEnabled() {
+        return sleepingEnabled;
+    }
+
+    /**
+     * @return the number of sleeping GameObjects
+     */
+    public int getSleepingCount() {
+        if (parallelTickRunning) {
+            return countSleeping();
+        }
+
+        synchronized (concurrentBlock) {
+            return countSleeping();
+        }
+    }
+
+    private int countSleeping() {
+
+        int sleeping = 0;
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            if (gameObjects.get(i).isSleeping()) {
+                sleeping++;
+            }
+        }
+
+        return sleeping;
+    }
+
+    /**
+     * Wakes up all sleeping GameObjects of this Scene.
+     */
+    public void wakeUpAll() {
+        modify(() -> {
+            for (int i = 0; i < gameObjects.size(); i++) {
+                gameObjects.get(i).wakeUp();
+            }
+        });
+    }
+
+    public float getSleepVelocity() {
+        return sleepVelocity;
+    }
+
+    /**
+     * @param sleepVelocity the speed in units per second below which a GameObject is at rest,
+     *                      {@link #DEFAULT_SLEEP_VELOCITY} by default
+     * @see #enableSleeping()
+     */
+    public void setSleepVelocity(float sleepVelocity) {
+        this.sleepVelocity = sleepVelocity;
+    }
+
+    public float getSleepDelay() {
+        return sleepDelay;
+    }
+
+    /**
+     * @param sleepDelay the time in milliseconds a GameObject has to be at rest for before it's put to sleep,
+     *                   {@link #DEFAULT_SLEEP_DELAY} by default
+     * @see #enableSleeping()
+     */
+    public void setSleepDelay(float sleepDelay) {
+        this.sleepDelay = sleepDelay;
+    }
+
     public float getGravity() {
         return gravity;
     }
 
+    /**
+     * Sets the gravity of this Scene and wakes up all sleeping GameObjects if it changed, since they might not rest
+     * anymore.
+     *
+     * @param gravity the new gravity
+     */
     public void setGravity(float gravity) {
+
+        if (gravity != this.gravity && sleepingEnabled) {
+            wakeUpAll();
+        }
+
         this.gravity = gravity;
     }
 
@@ -280,6 +1223,95 @@ public class Scene {
         this.friction = friction;
     }
 
+    public Integrator getIntegrator() {
+        return physicsWorld.getIntegrator();
+    }
+
+    /**
+     * Sets how the GameObjects of this Scene are moved by their physics. With one of the vector integrators,
+     * the forces applied to a GameObject during a tick, e.g. by
+     * {@link GameObject#accelerate(float, de.edgelord.saltyengine.utils.Directions.Direction)}, are summed up in one
+     * vector and integrated once, instead of integrating each of its
+     * {@link de.edgelord.saltyengine.core.physics.Force}s on its own.
+     *
+     * @param integrator the integrator to use, {@link Integrator#FORCES} by default
+     */
+    public void setIntegrator(Integrator integrator) {
+        modify(() -> physicsWorld.setIntegrator(integrator));
+    }
+
+    /**
+     * Makes the simulation of this Scene bit-identical across runs and machines, as long as the same input arrives on
+     * the same ticks, for replays and lockstep multiplayer. For that,
+     * <ul>
+     * <li>the {@link Randomness engine-wide random numbers} are seeded with the given seed</li>
+     * <li>the physics are integrated with {@link StrictMath} instead of {@link Math}, see
+     * {@link PhysicsWorld#setStrictMath(boolean)}. The physics and collision classes of the engine are
+     * <code>strictfp</code> as well, so their float arithmetic doesn't depend on the machine on Java 8 to 16
+     * either</li>
+     * <li>the state of all GameObjects and their physics is hashed after every fixed tick, see
+     * {@link #getStateHash()}</li>
+     * </ul>
+     * The GameObjects are simulated in the order of their list either way, and the collisions of the phased and
+     * parallel ticks don't depend on which thread finds them. The implementations of the GameObjects and their
+     * components have to stay deterministic too though, e.g. by drawing random numbers only from {@link Randomness}
+     * and only on the tick thread, and by being <code>strictfp</code> themselves unless the game runs on Java 17 or
+     * newer. {@link #addGameObjectAsync(GameObject, Runnable)} adds GameObjects on whichever tick their initialization
+     * happens to finish, so use {@link #addGameObject(GameObject)} instead.
+     *
+     * @param seed the seed for the random numbers
+     */
+    public void enableDeterministicMode(long seed) {
+        Randomness.setSeed(seed);
+
+        synchronized (concurrentBlock) {
+            physicsWorld.setStrictMath(true);
+            stateHash = StateHash.INITIAL;
+            deterministic = true;
+        }
+    }
+
+    public void disableDeterministicMode() {
+        synchronized (concurrentBlock) {
+            physicsWorld.setStrictMath(false);
+            deterministic = false;
+        }
+    }
+
+    public boolean isDeterministicModeEnabled() {
+        return deterministic;
+    }
+
+    /**
+     * Returns the hash of the state of this Scene after the last fixed tick in
+     * {@link #enableDeterministicMode(long) deterministic mode}. Comparing it between runs or peers on every tick
+     * catches a desync on the tick it happens.
+     *
+     * @return the hash of the positions, sizes and sleep states of all GameObjects and of their bodies and forces
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    private long computeStateHash() {
+
+        long hash = StateHash.INITIAL;
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            final GameObject gameObject = gameObjects.get(i);
+            final SimplePhysicsComponent physics = gameObject.getPhysics();
+
+            hash = StateHash.mix(hash, gameObject.getX());
+            hash = StateHash.mix(hash, gameObject.getY());
+            hash = StateHash.mix(hash, gameObject.getWidth());
+            hash = StateHash.mix(hash, gameObject.getHeight());
+            hash = StateHash.mix(hash, gameObject.isSleeping());
+            hash = physics.getWorld().hashBody(hash, physics.getBody());
+        }
+
+        return hash;
+    }
+
     public void setGravityEnabled(boolean gravityEnabled) {
         if (gravityEnabled) {
             enableGravity();
@@ -27,6 +27,7 @@
 
 package de.edgelord.saltyengine.scene;
 
+import de.edgelord.saltyengine.core.Game;
 import testing.dummys.DummyScene;
 
 import java.lang.reflect.InvocationTargetException;
@@ -133,6 +134,7 @@ public class SceneManager {
 
         currentScene = scenes.getOrDefault(name, currentScene.getClass()).getConstructor(argTypes).newInstance(args);
         currentSceneName = name;
+        Game.requestRender();
     }
 
     /**
@@ -143,6 +145,7 @@ public class SceneManager {
     public static void setCurrentScene(Scene scene) {
         currentScene = scene;
         currentSceneName = ANONYMOUS_SCENE;
+        Game.requestRender();
     }
 
     /**
@@ -156,6 +159,7 @@ public class SceneManager {
     public static void setCurrentScene(Scene scene, String tmpName) {
         currentScene = scene;
         currentSceneName = tmpName;
+        Game.requestRender();
     }
 
     /**
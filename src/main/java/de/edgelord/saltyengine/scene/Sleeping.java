@@ -0,0 +1,179 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.collision.BroadPhase;
+import de.edgelord.saltyengine.collision.IntList;
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wakes up sleeping GameObjects during the fixed tick of a Scene that {@link Scene#enableSleeping() allows sleeping}.
+ * <p>
+ * Moving GameObjects wake up what they touch by themselves, see {@link #wakeTouched(GameObject, List)}. GameObjects
+ * that are stationary, sleeping or resting don't, so whatever sleeps on them would keep floating once they're moved,
+ * resized or removed. Instead, the region they covered before and after such a change is remembered and the sleeping
+ * GameObjects within it are woken up before the next collision detection.
+ */
+final class Sleeping {
+
+    /**
+     * How far around a region GameObjects are woken up, to catch the ones that only touch its edge.
+     */
+    private static final float WAKE_MARGIN = 1f;
+
+    // The regions to wake up, as minX, minY, maxX and maxY
+    private float[] wakeRegions = new float[16];
+    private int wakeRegionCount = 0;
+
+    /**
+     * Wakes up the sleeping GameObjects the given one collides with, if it's moving itself.
+     *
+     * @param gameObject the GameObject whose collisions were detected
+     * @param collisions its collisions
+     */
+    static void wakeTouched(final GameObject gameObject, final List<CollisionEvent> collisions) {
+
+        if (gameObject.getPhysics().isResting()) {
+            return;
+        }
+
+        for (int i = 0; i < collisions.size(); i++) {
+            collisions.get(i).getRoot().wakeUp();
+        }
+    }
+
+    /**
+     * Remembers the bounds of the given GameObject for the next tick. If they changed since the last one and the
+     * GameObject doesn't wake up what it touches by itself, the region around its old and new bounds is woken up.
+     *
+     * @param gameObject a GameObject of the Scene
+     */
+    void trackBounds(final GameObject gameObject) {
+
+        final Transform last = gameObject.getLastBounds();
+        final float x = gameObject.getX();
+        final float y = gameObject.getY();
+        final float width = gameObject.getWidth();
+        final float height = gameObject.getHeight();
+
+        if (x == last.getX() && y == last.getY() && width == last.getWidth() && height == last.getHeight()) {
+            return;
+        }
+
+        final boolean passive = gameObject.isStationary() || gameObject.isSleeping() || gameObject.getPhysics().isResting();
+
+        // NaN until the first tick, when there's nothing that could rest on it yet
+        if (passive && !Float.isNaN(last.getX())) {
+            addWakeRegion(Math.min(x, last.getX()), Math.min(y, last.getY()),
+                    Math.max(x + width, last.getX() + last.getWidth()), Math.max(y + height, last.getY() + last.getHeight()));
+        }
+
+        last.setX(x);
+        last.setY(y);
+        last.setWidth(width);
+        last.setHeight(height);
+    }
+
+    /**
+     * Remembers the region around the given GameObject, which was removed from the Scene, to wake up whatever sleeps
+     * on it or next to it.
+     *
+     * @param gameObject the removed GameObject
+     */
+    void removed(final GameObject gameObject) {
+
+        final Transform last = gameObject.getLastBounds();
+        float minX = gameObject.getX();
+        float minY = gameObject.getY();
+        float maxX = minX + gameObject.getWidth();
+        float maxY = minY + gameObject.getHeight();
+
+        if (!Float.isNaN(last.getX())) {
+            minX = Math.min(minX, last.getX());
+            minY = Math.min(minY, last.getY());
+            maxX = Math.max(maxX, last.getX() + last.getWidth());
+            maxY = Math.max(maxY, last.getY() + last.getHeight());
+        }
+
+        addWakeRegion(minX, minY, maxX, maxY);
+        last.setX(Float.NaN);
+    }
+
+    boolean hasWakeRegions() {
+        return wakeRegionCount > 0;
+    }
+
+    /**
+     * Wakes up the sleeping GameObjects whose hitboxes are within the remembered regions and forgets the regions.
+     * The broad phase has to be prepared for the GameObjects of the Scene.
+     *
+     * @param broadPhase the broad phase of the Scene
+     * @param indices    a buffer for the query
+     * @param candidates a buffer for the query, which is empty afterwards
+     */
+    void wakeRegions(final BroadPhase broadPhase, final IntList indices, final List<GameObject> candidates) {
+
+        for (int i = 0; i < wakeRegionCount; i += 4) {
+            final float minX = wakeRegions[i] - WAKE_MARGIN;
+            final float minY = wakeRegions[i + 1] - WAKE_MARGIN;
+            final float maxX = wakeRegions[i + 2] + WAKE_MARGIN;
+            final float maxY = wakeRegions[i + 3] + WAKE_MARGIN;
+
+            broadPhase.queryRegion(minX, minY, maxX, maxY, indices, candidates);
+
+            for (int j = 0; j < candidates.size(); j++) {
+                final GameObject candidate = candidates.get(j);
+
+                if (candidate.isSleeping() && candidate.getHitbox().getTransform().intersects(minX, minY, maxX - minX, maxY - minY)) {
+                    candidate.wakeUp();
+                }
+            }
+
+            candidates.clear();
+        }
+
+        wakeRegionCount = 0;
+    }
+
+    private void addWakeRegion(final float minX, final float minY, final float maxX, final float maxY) {
+
+        if (wakeRegionCount + 4 > wakeRegions.length) {
+            wakeRegions = Arrays.copyOf(wakeRegions, wakeRegions.length * 2);
+        }
+
+        wakeRegions[wakeRegionCount++] = minX;
+        wakeRegions[wakeRegionCount++] = minY;
+        wakeRegions[wakeRegionCount++] = maxX;
+        wakeRegions[wakeRegionCount++] = maxY;
+    }
+}
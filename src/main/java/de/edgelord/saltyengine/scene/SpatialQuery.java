@@ -0,0 +1,324 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.collision.BroadPhase;
+import de.edgelord.saltyengine.collision.IntList;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Answers the spatial queries of a {@link Scene} with the {@link BroadPhase} of its collision detection: the broad
+ * phase narrows down the GameObjects in question, which are then tested precisely against their hitboxes.
+ * <p>
+ * Each thread uses its own instance, because the buffers are reused by every query.
+ */
+final class SpatialQuery {
+
+    /**
+     * The half side length of the first square searched by {@link #nearest(BroadPhase, float, float, int, int, List)},
+     * which is doubled until enough GameObjects are found.
+     */
+    private static final float NEAREST_START_RADIUS = 64f;
+
+    /**
+     * Beyond this, floats can't tell neighbouring integer positions apart anymore, so searching further is pointless.
+     */
+    private static final float MAX_RADIUS = 1 << 24;
+
+    /**
+     * The length of the pieces in which {@link #raycast(BroadPhase, float, float, float, float, float, int)} queries
+     * the broad phase, so that a long diagonal ray doesn't query a huge region when it hits something early.
+     */
+    private static final float RAY_SEGMENT_LENGTH = 256f;
+
+    private final IntList indices = new IntList();
+    private final List<GameObject> candidates = new ArrayList<>();
+
+    // The results of the nearest and raycastAll queries, sorted by distance
+    private GameObject[] sorted = new GameObject[16];
+    private float[] distances = new float[16];
+    private int sortedCount = 0;
+
+    int queryRegion(final BroadPhase broadPhase, final float x, final float y, final float width, final float height,
+                    final List<GameObject> results) {
+
+        broadPhase.queryRegion(x, y, x + width, y + height, indices, candidates);
+
+        int count = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            final GameObject candidate = candidates.get(i);
+
+            if (candidate.getHitbox().getTransform().intersects(x, y, width, height)) {
+                results.add(candidate);
+                count++;
+            }
+        }
+
+        candidates.clear();
+        return count;
+    }
+
+    int queryPoint(final BroadPhase broadPhase, final float x, final float y, final List<GameObject> results) {
+
+        broadPhase.queryRegion(x, y, x, y, indices, candidates);
+
+        int count = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            final GameObject candidate = candidates.get(i);
+
+            if (candidate.getHitbox().getTransform().contains(x, y)) {
+                results.add(candidate);
+                count++;
+            }
+        }
+
+        candidates.clear();
+        return count;
+    }
+
+    /**
+     * Searches squares of growing size around the point until at least <code>k</code> GameObjects are within the
+     * radius of the square, because no GameObject outside of it can be nearer than those.
+     */
+    int nearest(final BroadPhase broadPhase, final float x, final float y, final int k, final int objectCount,
+                final List<GameObject> results) {
+
+        if (k <= 0) {
+            return 0;
+        }
+
+        float radius = NEAREST_START_RADIUS;
+
+        while (true) {
+            broadPhase.queryRegion(x - radius, y - radius, x + radius, y + radius, indices, candidates);
+
+            final boolean complete = candidates.size() >= objectCount || radius >= MAX_RADIUS;
+            final float maxDistance = complete ? Float.POSITIVE_INFINITY : radius * radius;
+
+            sortedCount = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                final GameObject candidate = candidates.get(i);
+                final float distance = squaredDistance(candidate.getHitbox().getTransform(), x, y);
+
+                if (distance <= maxDistance) {
+                    insertSorted(candidate, distance, k);
+                }
+            }
+
+            candidates.clear();
+
+            if (sortedCount == k || complete) {
+                return addSorted(results);
+            }
+
+            radius *= 2;
+        }
+    }
+
+    GameObject raycast(final BroadPhase broadPhase, final float originX, final float originY, float directionX, float directionY,
+                       final float maxDistance, final int layerMask) {
+
+        final float length = (float) Math.sqrt(directionX * directionX + directionY * directionY);
+
+        if (length == 0f || !(maxDistance > 0f)) {
+            return null;
+        }
+
+        directionX /= length;
+        directionY /= length;
+
+        GameObject hit = null;
+        float hitDistance = Float.POSITIVE_INFINITY;
+        float start = 0f;
+
+        while (start < maxDistance) {
+            final float end = Math.min(start + RAY_SEGMENT_LENGTH, maxDistance);
+            final float startX = originX + directionX * start;
+            final float startY = originY + directionY * start;
+            final float endX = originX + directionX * end;
+            final float endY = originY + directionY * end;
+
+            broadPhase.queryRegion(Math.min(startX, endX), Math.min(startY, endY), Math.max(startX, endX), Math.max(startY, endY),
+                    indices, candidates);
+
+            for (int i = 0; i < candidates.size(); i++) {
+                final GameObject candidate = candidates.get(i);
+
+                if ((layerMask & (1 << candidate.getCollisionLayer())) == 0) {
+                    continue;
+                }
+
+                final float distance = rayDistance(candidate.getHitbox().getTransform(), originX, originY, directionX, directionY);
+
+                if (distance >= 0f && distance <= maxDistance && distance < hitDistance) {
+                    hit = candidate;
+                    hitDistance = distance;
+                }
+            }
+
+            candidates.clear();
+
+            // Nothing in the following pieces can be hit earlier
+            if (hit != null && hitDistance <= end) {
+                return hit;
+            }
+
+            start = end;
+        }
+
+        return hit;
+    }
+
+    int raycastAll(final BroadPhase broadPhase, final float originX, final float originY, float directionX, float directionY,
+                   final float maxDistance, final int layerMask, final List<GameObject> results) {
+
+        final float length = (float) Math.sqrt(directionX * directionX + directionY * directionY);
+
+        if (length == 0f || !(maxDistance > 0f)) {
+            return 0;
+        }
+
+        directionX /= length;
+        directionY /= length;
+
+        final float endX = originX + directionX * maxDistance;
+        final float endY = originY + directionY * maxDistance;
+
+        broadPhase.queryRegion(Math.min(originX, endX), Math.min(originY, endY), Math.max(originX, endX), Math.max(originY, endY),
+                indices, candidates);
+
+        sortedCount = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            final GameObject candidate = candidates.get(i);
+
+            if ((layerMask & (1 << candidate.getCollisionLayer())) == 0) {
+                continue;
+            }
+
+            final float distance = rayDistance(candidate.getHitbox().getTransform(), originX, originY, directionX, directionY);
+
+            if (distance >= 0f && distance <= maxDistance) {
+                insertSorted(candidate, distance, Integer.MAX_VALUE);
+            }
+        }
+
+        candidates.clear();
+        return addSorted(results);
+    }
+
+    /**
+     * Inserts the GameObject into the ones sorted by distance, behind those with the same distance, and drops the
+     * farthest one if there are more than <code>limit</code>.
+     */
+    private void insertSorted(final GameObject gameObject, final float distance, final int limit) {
+
+        if (sortedCount == limit && distance >= distances[sortedCount - 1]) {
+            return;
+        }
+
+        if (sortedCount == sorted.length) {
+            sorted = Arrays.copyOf(sorted, sortedCount * 2);
+            distances = Arrays.copyOf(distances, sortedCount * 2);
+        }
+
+        int position = sortedCount < limit ? sortedCount++ : sortedCount - 1;
+
+        while (position > 0 && distances[position - 1] > distance) {
+            sorted[position] = sorted[position - 1];
+            distances[position] = distances[position - 1];
+            position--;
+        }
+
+        sorted[position] = gameObject;
+        distances[position] = distance;
+    }
+
+    private int addSorted(final List<GameObject> results) {
+
+        final int count = sortedCount;
+
+        for (int i = 0; i < count; i++) {
+            results.add(sorted[i]);
+        }
+
+        Arrays.fill(sorted, 0, count, null);
+        sortedCount = 0;
+
+        return count;
+    }
+
+    private static float squaredDistance(final Transform bounds, final float x, final float y) {
+
+        final float deltaX = Math.max(0f, Math.max(bounds.getX() - x, x - bounds.getMaxX()));
+        final float deltaY = Math.max(0f, Math.max(bounds.getY() - y, y - bounds.getMaxY()));
+
+        return deltaX * deltaX + deltaY * deltaY;
+    }
+
+    /**
+     * Returns the distance along the normalized direction at which the ray enters the given bounds, or -1 if it
+     * misses them, points away from them or starts within them.
+     */
+    private static float rayDistance(final Transform bounds, final float originX, final float originY,
+                                     final float directionX, final float directionY) {
+
+        float entry = Float.NEGATIVE_INFINITY;
+        float exit = Float.POSITIVE_INFINITY;
+
+        if (directionX != 0f) {
+            final float first = (bounds.getX() - originX) / directionX;
+            final float second = (bounds.getMaxX() - originX) / directionX;
+
+            entry = Math.max(entry, Math.min(first, second));
+            exit = Math.min(exit, Math.max(first, second));
+        } else if (originX < bounds.getX() || originX > bounds.getMaxX()) {
+            return -1f;
+        }
+
+        if (directionY != 0f) {
+            final float first = (bounds.getY() - originY) / directionY;
+            final float second = (bounds.getMaxY() - originY) / directionY;
+
+            entry = Math.max(entry, Math.min(first, second));
+            exit = Math.min(exit, Math.max(first, second));
+        } else if (originY < bounds.getY() || originY > bounds.getMaxY()) {
+            return -1f;
+        }
+
+        if (exit < entry || entry < 0f) {
+            return -1f;
+        }
+
+        return entry;
+    }
+}
@@ -43,6 +43,8 @@ public class NativeStageMouseListener extends MouseInputHandlerListener implemen
 
     @Override
     public void mouseClicked(final MouseEvent e) {
+        Game.requestRender();
+
         if (getMouseHandler() != null) {
             getMouseHandler().mouseClicked(e);
         }
@@ -54,6 +56,8 @@ public class NativeStageMouseListener extends MouseInputHandlerListener implemen
 
     @Override
     public void mousePressed(final MouseEvent e) {
+        Game.requestRender();
+
         if (getMouseHandler() != null) {
             getMouseHandler().mousePressed(e);
         }
@@ -67,6 +71,8 @@ public class NativeStageMouseListener extends MouseInputHandlerListener implemen
 
     @Override
     public void mouseReleased(final MouseEvent e) {
+        Game.requestRender();
+
         if (getMouseHandler() != null) {
             getMouseHandler().mouseReleased(e);
         }
@@ -81,6 +87,8 @@ public class NativeStageMouseListener extends MouseInputHandlerListener implemen
 
     @Override
     public void mouseEntered(final MouseEvent e) {
+        Game.requestRender();
+
         if (getMouseHandler() != null) {
             getMouseHandler().mouseEnteredScreen(e);
         }
@@ -94,6 +102,8 @@ public class NativeStageMouseListener extends MouseInputHandlerListener implemen
 
     @Override
     public void mouseExited(final MouseEvent e) {
+        Game.requestRender();
+
         if (getMouseHandler() != null) {
             getMouseHandler().mouseExitedScreen(e);
         }
@@ -27,6 +27,7 @@
 
 package de.edgelord.saltyengine.stage;
 
+import de.edgelord.saltyengine.core.Game;
 import de.edgelord.saltyengine.core.interfaces.MouseInputHandler;
 import de.edgelord.saltyengine.input.Input;
 import de.edgelord.saltyengine.scene.SceneManager;
@@ -45,6 +46,8 @@ public class NativeStageMouseMotionListener extends MouseInputHandlerListener im
 
     @Override
     public void mouseDragged(final MouseEvent e) {
+        Game.requestRender();
+
         if (getMouseHandler() != null) {
             getMouseHandler().mouseDragged(e);
         }
@@ -58,6 +61,8 @@ public class NativeStageMouseMotionListener extends MouseInputHandlerListener im
 
     @Override
     public void mouseMoved(final MouseEvent e) {
+        Game.requestRender();
+
         if (getMouseHandler() != null) {
             getMouseHandler().mouseMoved(e);
         }
@@ -27,6 +27,7 @@
 
 package de.edgelord.saltyengine.stage;
 
+import de.edgelord.saltyengine.core.Game;
 import de.edgelord.saltyengine.core.interfaces.MouseInputHandler;
 import de.edgelord.saltyengine.scene.SceneManager;
 
@@ -41,6 +42,8 @@ public class NativeStageMouseWheelListener extends MouseInputHandlerListener imp
 
     @Override
     public void mouseWheelMoved(final MouseWheelEvent e) {
+        Game.requestRender();
+
         if (getMouseHandler() != null) {
             getMouseHandler().mouseWheelMoved(e);
         }
@@ -31,11 +31,14 @@ import de.edgelord.saltyengine.core.Engine;
 import de.edgelord.saltyengine.core.Game;
 import de.edgelord.saltyengine.core.interfaces.MouseInputHandler;
 import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.profiling.Profiler;
+import de.edgelord.saltyengine.profiling.ProfilerOverlay;
 import de.edgelord.saltyengine.utils.Time;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 
 import static java.awt.RenderingHints.*;
 
@@ -56,6 +59,16 @@ public class Stage extends JPanel {
     private boolean highQuality = true;
     private RenderingHints renderingHints;
 
+    /**
+     * If this is true, this Stage is not repainted by the Swing repaint manager anymore, but rendered
+     * directly from the thread that calls {@link #renderActively()} into {@link #backBuffer},
+     * which is then copied to the screen immediately.
+     */
+    private boolean activeRendering = false;
+    private VolatileImage backBuffer = null;
+    private final Object backBufferLock = new Object();
+    private long lastFrameNanos = 0;
+
     public Stage(final Container container, final Engine engine) {
         this(container, engine, 0, 0, container.getWidth(), container.getHeight());
     }
@@ -105,9 +118,75 @@ public class Stage extends JPanel {
     }
 
     protected void paintComponent(Graphics graphics) {
+
+        if (activeRendering) {
+            synchronized (backBufferLock) {
+                if (backBuffer != null) {
+                    graphics.drawImage(backBuffer, 0, 0, null);
+                }
+            }
+            return;
+        }
+
+        final long nanosBefore = System.nanoTime();
         ticks++;
         final Graphics2D graphics2D = (Graphics2D) graphics;
         renderToGraphics(graphics2D);
+        lastFrameNanos = System.nanoTime() - nanosBefore;
+    }
+
+    /**
+     * Renders a frame into {@link #backBuffer} and copies it to the screen immediately, on the calling thread.
+     * If the contents of the back buffer get lost meanwhile (e.g. because the display mode changed),
+     * the frame is rendered again.
+     * This does nothing as long as this Stage is not showing.
+     */
+    public void renderActively() {
+
+        if (!isShowing() || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+
+        final long nanosBefore = System.nanoTime();
+
+        synchronized (backBufferLock) {
+            do {
+                if (backBuffer == null || backBuffer.getWidth() != getWidth() || backBuffer.getHeight() != getHeight()
+                        || backBuffer.validate(getGraphicsConfiguration()) == VolatileImage.IMAGE_INCOMPATIBLE) {
+
+                    if (backBuffer != null) {
+                        backBuffer.flush();
+                    }
+                    backBuffer = createVolatileImage(getWidth(), getHeight());
+
+                    if (backBuffer == null) {
+                        return;
+                    }
+                }
+
+                final Graphics2D graphics2D = backBuffer.createGraphics();
+                try {
+                    graphics2D.setColor(getBackground());
+                    graphics2D.fillRect(0, 0, getWidth(), getHeight());
+                    ticks++;
+                    renderToGraphics(graphics2D);
+                } finally {
+                    graphics2D.dispose();
+                }
+
+                final Graphics graphics = getGraphics();
+                if (graphics != null) {
+                    try {
+                        graphics.drawImage(backBuffer, 0, 0, null);
+                    } finally {
+                        graphics.dispose();
+                    }
+                }
+            } while (backBuffer.contentsLost());
+        }
+
+        Toolkit.getDefaultToolkit().sync();
+        lastFrameNanos = System.nanoTime() - nanosBefore;
     }
 
     private void renderToGraphics(Graphics2D graphics2D) {
@@ -133,6 +212,10 @@ public class Stage extends JPanel {
             String fps = String.valueOf(Math.round(lastFps));
             saltyGraphics.drawText("FPS: " + fps, 0, (float) saltyGraphics.getFontMetrics().getStringBounds(fps, saltyGraphics.getGraphics2D()).getHeight());
         }
+
+        if (Profiler.isEnabled() && Profiler.isOverlayEnabled()) {
+            ProfilerOverlay.draw(saltyGraphics, 0, 20);
+        }
     }
 
     public BufferedImage renderToImage() {
@@ -166,4 +249,34 @@ public class Stage extends JPanel {
     public RenderingHints getRenderHints() {
         return renderingHints;
     }
+
+    public boolean isActiveRendering() {
+        return activeRendering;
+    }
+
+    /**
+     * Sets whether this Stage is rendered actively via {@link #renderActively()}, or passively by
+     * the Swing repaint manager via {@link #repaint()}.
+     *
+     * @param activeRendering whether to render actively or not
+     */
+    public void setActiveRendering(final boolean activeRendering) {
+        this.activeRendering = activeRendering;
+
+        if (!activeRendering) {
+            synchronized (backBufferLock) {
+                if (backBuffer != null) {
+                    backBuffer.flush();
+                    backBuffer = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the time it took to render and present the last frame, in nanoseconds
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
 }
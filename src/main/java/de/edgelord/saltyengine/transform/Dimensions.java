@@ -27,7 +27,7 @@
 
 package de.edgelord.saltyengine.transform;
 
-import java.util.Random;
+import de.edgelord.saltyengine.utils.Randomness;
 
 public class Dimensions {
 
@@ -77,8 +77,7 @@ public class Dimensions {
     }
 
     public static Dimensions random(int min, int max) {
-        Random random = new Random();
-        return new Dimensions(random.nextInt(max + min) - min, random.nextInt(max + min) - min);
+        return new Dimensions(Randomness.nextInt(max + min) - min, Randomness.nextInt(max + min) - min);
     }
 
     public static Dimensions one() {
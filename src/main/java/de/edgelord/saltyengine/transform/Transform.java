@@ -31,7 +31,7 @@ import de.edgelord.saltyengine.utils.Directions;
 
 import java.awt.geom.Rectangle2D;
 
-public class Transform {
+public strictfp class Transform {
 
     private Vector2f position;
     private Dimensions dimensions;
@@ -57,7 +57,33 @@ public class Transform {
      */
     public boolean intersects(Transform other) {
 
-        return getRect().intersects(other.getRect());
+        return intersects(other.getX(), other.getY(), other.getWidth(), other.getHeight());
+    }
+
+    /**
+     * Returns whether the rectangle described by this Transform intersects the given one, exactly like
+     * {@link Rectangle2D#intersects(double, double, double, double)} but without creating a rectangle first.
+     *
+     * @param x      the x position of the other rectangle
+     * @param y      the y position of the other rectangle
+     * @param width  the width of the other rectangle
+     * @param height the height of the other rectangle
+     * @return whether this Transform intersects the given rectangle
+     */
+    public boolean intersects(float x, float y, float width, float height) {
+
+        final float thisX = getX();
+        final float thisY = getY();
+        final float thisWidth = getWidth();
+        final float thisHeight = getHeight();
+
+        if (thisWidth <= 0 || thisHeight <= 0 || width <= 0 || height <= 0) {
+            return false;
+        }
+
+        // In double like Rectangle2D, so that the sums round the same way
+        return (double) x + width > thisX && (double) y + height > thisY
+                && x < (double) thisX + thisWidth && y < (double) thisY + thisHeight;
     }
 
     /**
@@ -69,7 +95,46 @@ public class Transform {
      * @see Rectangle2D#contains(Rectangle2D)
      */
     public boolean contains(Transform other) {
-        return getRect().contains(other.getRect());
+
+        final float thisWidth = getWidth();
+        final float thisHeight = getHeight();
+        final float width = other.getWidth();
+        final float height = other.getHeight();
+
+        if (thisWidth <= 0 || thisHeight <= 0 || width <= 0 || height <= 0) {
+            return false;
+        }
+
+        final float x = other.getX();
+        final float y = other.getY();
+
+        return x >= getX() && y >= getY()
+                && (double) x + width <= (double) getX() + thisWidth && (double) y + height <= (double) getY() + thisHeight;
+    }
+
+    /**
+     * Returns whether the given point is within the rectangle described by this Transform, exactly like
+     * {@link Rectangle2D#contains(double, double)}.
+     *
+     * @param x the x position of the point
+     * @param y the y position of the point
+     * @return whether this Transform contains the given point
+     */
+    public boolean contains(float x, float y) {
+
+        final float thisX = getX();
+        final float thisY = getY();
+
+        return x >= thisX && y >= thisY && x < (double) thisX + getWidth() && y < (double) thisY + getHeight();
+    }
+
+    /**
+     * @param point a point
+     * @return whether this Transform contains the given point
+     * @see #contains(float, float)
+     */
+    public boolean contains(Vector2f point) {
+        return contains(point.getX(), point.getY());
     }
 
     /**
@@ -27,9 +27,9 @@
 
 package de.edgelord.saltyengine.transform;
 
-import java.util.Random;
+import de.edgelord.saltyengine.utils.Randomness;
 
-public class Vector2f {
+public strictfp class Vector2f {
 
     private float x;
     private float y;
@@ -107,8 +107,7 @@ public class Vector2f {
     }
 
     public static Vector2f random(int min, int max) {
-        Random random = new Random();
-        return new Vector2f(random.nextInt(max + min) - min, random.nextInt(max + min) - min);
+        return new Vector2f(Randomness.nextInt(max + min) - min, Randomness.nextInt(max + min) - min);
     }
 
     public static Vector2f one() {
@@ -156,6 +156,13 @@ public class Directions {
         this.directions &= ~dir;
     }
 
+    /**
+     * Removes all directions.
+     */
+    public void clear() {
+        this.directions = 0;
+    }
+
     public boolean hasDirection(Direction direction) {
         int dir = getDirNumber(direction);
         return (this.directions & dir) == dir;
@@ -0,0 +1,76 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.utils;
+
+import java.util.Random;
+
+/**
+ * The source of random numbers of the engine, e.g. for {@link de.edgelord.saltyengine.transform.Vector2f#random(int, int)}.
+ * It's unseeded by default. With a {@link #setSeed(long) seed}, the same numbers are drawn in every run, which a
+ * {@link de.edgelord.saltyengine.scene.Scene#enableDeterministicMode(long) deterministic} simulation relies on,
+ * as long as they are drawn in the same order. Drawing them from the parallel phases of a Scene breaks that order.
+ */
+public class Randomness {
+
+    private static volatile Random random = new Random();
+
+    /**
+     * Starts a new sequence of random numbers from the given seed.
+     *
+     * @param seed the seed
+     */
+    public static void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * @return the current random number generator, to draw other kinds of numbers from it
+     */
+    public static Random getRandom() {
+        return random;
+    }
+
+    /**
+     * @param bound the upper bound, exclusive
+     * @return a random number between 0 and the given bound
+     */
+    public static int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * @return a random number between 0 and 1
+     */
+    public static float nextFloat() {
+        return random.nextFloat();
+    }
+
+    public static boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.utils;
+
+/**
+ * Mixes values into a 64 bit FNV-1a hash, to hash the state of a simulation cheaply.
+ * Floats are mixed in with their exact bits, so any difference changes the hash.
+ *
+ * @see de.edgelord.saltyengine.scene.Scene#getStateHash()
+ */
+public class StateHash {
+
+    /**
+     * The hash of no values.
+     */
+    public static final long INITIAL = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    public static long mix(long hash, int value) {
+        hash = (hash ^ (value & 0xff)) * PRIME;
+        hash = (hash ^ ((value >>> 8) & 0xff)) * PRIME;
+        hash = (hash ^ ((value >>> 16) & 0xff)) * PRIME;
+        return (hash ^ (value >>> 24)) * PRIME;
+    }
+
+    public static long mix(long hash, float value) {
+        return mix(hash, Float.floatToIntBits(value));
+    }
+
+    public static long mix(long hash, boolean value) {
+        return mix(hash, value ? 1 : 0);
+    }
+}
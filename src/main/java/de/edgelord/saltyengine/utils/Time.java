@@ -29,6 +29,9 @@ package de.edgelord.saltyengine.utils;
 
 public class Time {
 
+    /**
+     * The time between the last two frames in nanoseconds.
+     */
     private static long deltaNanos = 0;
 
     public static long getDeltaNanos() {
@@ -39,11 +42,43 @@ public class Time {
         Time.deltaNanos = deltaNanos;
     }
 
+    /**
+     * @return the time between the last two frames in milliseconds
+     */
     public static long getDeltaTime() {
-        return deltaNanos / 1000;
+        return deltaNanos / 1_000_000;
     }
 
+    /**
+     * @return the frames per second, derived from the time between the last two frames
+     */
     public static float getFPS() {
-        return 1000f / (float) getDeltaTime();
+        if (deltaNanos <= 0) {
+            return 0f;
+        }
+
+        return 1_000_000_000f / (float) deltaNanos;
+    }
+
+    /**
+     * Converts the given number of fixed ticks into milliseconds using the current {@link SaltySystem#fixedTickMillis}.
+     * This is what the built-in components use to support their old tick-based setters.
+     *
+     * @param ticks the number of fixed ticks
+     * @return the duration of that many fixed ticks in milliseconds
+     */
+    public static long ticksToMillis(long ticks) {
+        return ticks * SaltySystem.fixedTickMillis;
+    }
+
+    /**
+     * Converts the given duration into the number of fixed ticks that fit into it, using the current
+     * {@link SaltySystem#fixedTickMillis}.
+     *
+     * @param millis the duration in milliseconds
+     * @return the number of fixed ticks within the given duration
+     */
+    public static long millisToTicks(long millis) {
+        return millis / Math.max(1, SaltySystem.fixedTickMillis);
     }
 }
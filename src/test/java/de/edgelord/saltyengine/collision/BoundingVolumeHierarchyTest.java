@@ -0,0 +1,144 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BoundingVolumeHierarchyTest {
+
+    /**
+     * Asserts that the hierarchy finds exactly the boxes that a scan over all of them finds, each once.
+     */
+    private static void assertQuery(final BoundingVolumeHierarchy hierarchy, final float[] boxes, final int count,
+                                    final float minX, final float minY, final float maxX, final float maxY) {
+
+        final IntList result = new IntList();
+        hierarchy.query(minX, minY, maxX, maxY, result);
+        result.sortUnique();
+
+        final IntList expected = new IntList();
+        for (int i = 0; i < count; i++) {
+            final int offset = i * 4;
+
+            if (boxes[offset] <= maxX && boxes[offset + 2] >= minX && boxes[offset + 1] <= maxY && boxes[offset + 3] >= minY) {
+                expected.add(i);
+            }
+        }
+
+        assertEquals(expected.size(), result.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), result.get(i));
+        }
+    }
+
+    private static float[] build(final BoundingVolumeHierarchy hierarchy, final Random random, final int count) {
+
+        final float[] boxes = new float[count * 4];
+
+        hierarchy.clear();
+        for (int i = 0; i < count; i++) {
+            final int offset = i * 4;
+            final float x = random.nextFloat() * 1000;
+            final float y = random.nextFloat() * 1000;
+
+            boxes[offset] = x;
+            boxes[offset + 1] = y;
+            boxes[offset + 2] = x + random.nextFloat() * 50;
+            boxes[offset + 3] = y + random.nextFloat() * 50;
+            hierarchy.add(i, boxes[offset], boxes[offset + 1], boxes[offset + 2], boxes[offset + 3]);
+        }
+        hierarchy.build();
+
+        return boxes;
+    }
+
+    @Test
+    public void queryFindsTheSameBoxesAsAScan() {
+
+        final Random random = new Random(1);
+        final BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+
+        for (int count : new int[] {0, 1, 4, 5, 17, 1000}) {
+            final float[] boxes = build(hierarchy, random, count);
+            assertEquals(count, hierarchy.size());
+
+            for (int i = 0; i < 200; i++) {
+                final float x = random.nextFloat() * 1000;
+                final float y = random.nextFloat() * 1000;
+                final float size = random.nextFloat() * (i % 10 == 0 ? 2000 : 100);
+
+                assertQuery(hierarchy, boxes, count, x, y, x + size, y + size);
+            }
+        }
+    }
+
+    @Test
+    public void clearForgetsThePreviousBoxes() {
+
+        final Random random = new Random(2);
+        final BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+
+        build(hierarchy, random, 500);
+        final float[] boxes = build(hierarchy, random, 20);
+
+        assertEquals(20, hierarchy.size());
+        assertTrue(hierarchy.getNodeCount() < 20);
+        assertQuery(hierarchy, boxes, 20, -1000, -1000, 3000, 3000);
+
+        hierarchy.clear();
+        hierarchy.build();
+        assertQuery(hierarchy, boxes, 0, -1000, -1000, 3000, 3000);
+    }
+
+    @Test
+    public void boxesAtTheSamePositionAndTouchingBoxesAreFound() {
+
+        final BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        final float[] boxes = new float[40 * 4];
+
+        for (int i = 0; i < 40; i++) {
+            final int offset = i * 4;
+
+            boxes[offset] = 10;
+            boxes[offset + 1] = 10;
+            boxes[offset + 2] = 20;
+            boxes[offset + 3] = 20;
+            hierarchy.add(i, 10, 10, 20, 20);
+        }
+        hierarchy.build();
+
+        assertQuery(hierarchy, boxes, 40, 20, 20, 30, 30);
+        assertQuery(hierarchy, boxes, 40, 0, 0, 10, 10);
+        assertQuery(hierarchy, boxes, 40, 20.5f, 0, 30, 30);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Helpers for the tests of the {@link BroadPhase}s, which compare them against the {@link BruteForceBroadPhase}.
+ */
+final class BroadPhaseTesting {
+
+    private BroadPhaseTesting() {
+    }
+
+    /**
+     * @return the given number of boxes at random positions within a square of the given size
+     */
+    static List<GameObject> randomBoxes(final Random random, final int count, final float area, final float maxSize) {
+
+        final List<GameObject> boxes = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            boxes.add(new Box(random.nextFloat() * area, random.nextFloat() * area,
+                    1f + random.nextFloat() * maxSize, 1f + random.nextFloat() * maxSize));
+        }
+
+        return boxes;
+    }
+
+    /**
+     * Moves the given GameObject together with its hitbox, like its components would during a fixed tick.
+     */
+    static void move(final GameObject gameObject, final float x, final float y) {
+        gameObject.setX(x);
+        gameObject.setY(y);
+        gameObject.getHitbox().recalculate();
+    }
+
+    /**
+     * Asserts that for every GameObject, the candidates of the broad phase are sorted by their index, don't contain
+     * the GameObject itself and lead to the same collisions as the candidates of the {@link BruteForceBroadPhase},
+     * which are all other GameObjects.
+     */
+    static void assertSameCollisions(final BroadPhase broadPhase, final List<GameObject> gameObjects) {
+
+        final IntList indices = new IntList();
+        final List<GameObject> candidates = new ArrayList<>();
+        final List<GameObject> allCandidates = new ArrayList<>();
+        final BruteForceBroadPhase bruteForce = new BruteForceBroadPhase();
+
+        bruteForce.prepare(gameObjects);
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            final GameObject gameObject = gameObjects.get(i);
+
+            candidates.clear();
+            broadPhase.query(i, indices, candidates);
+
+            assertEquals("Number of indices and candidates of " + i, indices.size(), candidates.size());
+            for (int j = 0; j < indices.size(); j++) {
+                assertTrue("Candidate " + indices.get(j) + " of " + i, indices.get(j) != i);
+                assertTrue("Candidates of " + i + " in order", j == 0 || indices.get(j - 1) < indices.get(j));
+                assertTrue("Candidate " + j + " of " + i, candidates.get(j) == gameObjects.get(indices.get(j)));
+            }
+
+            allCandidates.clear();
+            bruteForce.query(i, indices, allCandidates);
+
+            final List<GameObject> found = roots(gameObject.detectCollisions(candidates));
+            final List<GameObject> expected = roots(gameObject.detectCollisions(allCandidates));
+
+            assertEquals("Collisions of " + i, expected, found);
+        }
+    }
+
+    /**
+     * Asserts that the candidates of the given region contain every GameObject whose hitbox intersects or touches it,
+     * in the order of the list.
+     */
+    static void assertRegionFound(final BroadPhase broadPhase, final List<GameObject> gameObjects,
+                                  final float minX, final float minY, final float maxX, final float maxY) {
+
+        final IntList indices = new IntList();
+        final List<GameObject> candidates = new ArrayList<>();
+
+        broadPhase.queryRegion(minX, minY, maxX, maxY, indices, candidates);
+
+        for (int j = 1; j < indices.size(); j++) {
+            assertTrue("Region candidates in order", indices.get(j - 1) < indices.get(j));
+        }
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            final Transform bounds = gameObjects.get(i).getHitbox().getTransform();
+            final boolean touches = bounds.getX() <= maxX && bounds.getX() + bounds.getWidth() >= minX
+                    && bounds.getY() <= maxY && bounds.getY() + bounds.getHeight() >= minY;
+
+            if (touches) {
+                assertTrue("GameObject " + i + " in the region", candidates.contains(gameObjects.get(i)));
+            }
+        }
+    }
+
+    private static List<GameObject> roots(final List<CollisionEvent> collisions) {
+
+        final List<GameObject> roots = new ArrayList<>(collisions.size());
+
+        for (int i = 0; i < collisions.size(); i++) {
+            roots.add(collisions.get(i).getRoot());
+        }
+
+        return roots;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.scene.Scene;
+import de.edgelord.saltyengine.scene.SceneManager;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the fixed tick of a Scene, including the collision detection, doesn't allocate anything once all
+ * buffers and pools have grown to their steady size. The warmup also gives the JIT the chance to compile the tick,
+ * because the interpreter allocates for iterators and lambdas that the compiled code doesn't need.
+ */
+public class CollisionAllocationTest {
+
+    private static final int OBJECT_COUNT = 60;
+    private static final int WARMUP_TICKS = 10000;
+    private static final int MEASURED_TICKS = 1000;
+
+    @Test
+    public void bruteForceTickDoesNotAllocate() {
+        assertTickDoesNotAllocate(new StaticIndexBroadPhase(new BruteForceBroadPhase()));
+    }
+
+    @Test
+    public void spatialHashTickDoesNotAllocate() {
+        assertTickDoesNotAllocate(new StaticIndexBroadPhase(new SpatialHash()));
+    }
+
+    @Test
+    public void sweepAndPruneTickDoesNotAllocate() {
+        assertTickDoesNotAllocate(new SweepAndPrune());
+    }
+
+    private void assertTickDoesNotAllocate(BroadPhase broadPhase) {
+
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        final Scene scene = new Scene();
+        SceneManager.setCurrentScene(scene);
+        scene.setBroadPhase(broadPhase);
+        scene.setGravity(0f);
+
+        final Random random = new Random(42);
+        final CountingGameObject[] gameObjects = new CountingGameObject[OBJECT_COUNT];
+
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            gameObjects[i] = new CountingGameObject(random.nextFloat() * 150, random.nextFloat() * 150);
+            gameObjects[i].setStationary(i % 3 == 0);
+            scene.addGameObject(gameObjects[i]);
+        }
+
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            scene.onFixedTick();
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            scene.onFixedTick();
+        }
+
+        final long allocated = allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        int collisions = 0;
+        for (CountingGameObject gameObject : gameObjects) {
+            collisions += gameObject.collisions;
+        }
+
+        assertTrue("The objects are dense enough to collide", collisions > 0);
+        assertEquals("Bytes allocated by " + MEASURED_TICKS + " ticks", 0L, allocated);
+    }
+
+    private static class CountingGameObject extends GameObject {
+
+        private int collisions = 0;
+
+        private CountingGameObject(float x, float y) {
+            super(x, y, 20, 20, "counting");
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void onCollision(CollisionEvent event) {
+            collisions++;
+        }
+
+        @Override
+        public void onFixedTick() {
+        }
+
+        @Override
+        public void draw(SaltyGraphics saltyGraphics) {
+        }
+    }
+}
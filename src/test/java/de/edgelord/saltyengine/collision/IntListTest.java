@@ -0,0 +1,120 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntListTest {
+
+    @Test
+    public void sortUniqueMatchesSortedSet() {
+
+        final Random random = new Random(3);
+
+        for (int round = 0; round < 500; round++) {
+            final int size = random.nextInt(400);
+            final int range = 1 + random.nextInt(500);
+            final IntList list = new IntList(1);
+            final TreeSet<Integer> expected = new TreeSet<>();
+
+            for (int i = 0; i < size; i++) {
+                final int value = random.nextInt(range) - range / 2;
+                list.add(value);
+                expected.add(value);
+            }
+
+            list.sortUnique();
+            assertContains(expected, list);
+        }
+    }
+
+    /**
+     * Sorted, reversed and constant input are the worst cases of a naive quicksort.
+     */
+    @Test
+    public void sortUniqueHandlesPresortedInput() {
+
+        final int size = 10000;
+        final IntList ascending = new IntList();
+        final IntList descending = new IntList();
+        final IntList constant = new IntList();
+        final TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < size; i++) {
+            ascending.add(i);
+            descending.add(size - 1 - i);
+            constant.add(42);
+            expected.add(i);
+        }
+
+        ascending.sortUnique();
+        descending.sortUnique();
+        constant.sortUnique();
+
+        assertContains(expected, ascending);
+        assertContains(expected, descending);
+        assertEquals(1, constant.size());
+        assertEquals(42, constant.get(0));
+    }
+
+    @Test
+    public void removeUnorderedReplacesWithTheLastValue() {
+
+        final IntList list = new IntList();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        list.add(2);
+
+        assertTrue(list.removeUnordered(2));
+        assertEquals(3, list.size());
+        assertEquals(1, list.get(0));
+        assertEquals(2, list.get(1));
+        assertEquals(3, list.get(2));
+
+        assertFalse(list.removeUnordered(5));
+        assertEquals(3, list.size());
+    }
+
+    private static void assertContains(final TreeSet<Integer> expected, final IntList list) {
+
+        assertEquals(expected.size(), list.size());
+
+        int i = 0;
+        for (int value : expected) {
+            assertEquals("Value at " + i, value, list.get(i++));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LongIntHashMapTest {
+
+    @Test
+    public void putOverwritesAndGetFallsBack() {
+
+        final LongIntHashMap map = new LongIntHashMap();
+
+        map.put(7L, 1);
+        map.put(-7L, 2);
+        map.put(7L, 3);
+
+        assertEquals(3, map.get(7L, -1));
+        assertEquals(2, map.get(-7L, -1));
+        assertEquals(-1, map.get(8L, -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void reservedKeyIsRejected() {
+
+        final LongIntHashMap map = new LongIntHashMap();
+
+        try {
+            map.put(LongIntHashMap.EMPTY_KEY, 1);
+            fail("The reserved key was stored");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+
+        assertEquals(-1, map.get(LongIntHashMap.EMPTY_KEY, -1));
+        assertEquals(-1, map.remove(LongIntHashMap.EMPTY_KEY, -1));
+        assertFalse(map.containsKey(LongIntHashMap.EMPTY_KEY));
+    }
+
+    /**
+     * Keys that only differ in their upper half end up in long probing chains, which removing from the middle has to
+     * shift back without losing any of the following entries.
+     */
+    @Test
+    public void removingFromCollisionChainsKeepsTheOtherKeys() {
+
+        final LongIntHashMap map = new LongIntHashMap(4);
+        final int count = 200;
+
+        for (int i = 0; i < count; i++) {
+            map.put((long) i << 32, i);
+        }
+
+        for (int i = 0; i < count; i += 3) {
+            assertEquals(i, map.remove((long) i << 32, -1));
+        }
+
+        for (int i = 0; i < count; i++) {
+            final int expected = i % 3 == 0 ? -1 : i;
+            assertEquals("Value of key " + i, expected, map.get((long) i << 32, -1));
+        }
+
+        assertEquals(count - (count + 2) / 3, map.size());
+    }
+
+    @Test
+    public void randomOperationsMatchHashMap() {
+
+        final Random random = new Random(11);
+        final LongIntHashMap map = new LongIntHashMap(8);
+        final Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100000; i++) {
+            // A small key range keeps the map crowded with chains that wrap around the end of the table
+            final long key = (random.nextInt(300) - 150) * 0x100000001L;
+
+            if (random.nextInt(3) == 0) {
+                final Integer removed = expected.remove(key);
+                assertEquals(removed == null ? -1 : removed, map.remove(key, -1));
+            } else {
+                final int value = random.nextInt(1000);
+                expected.put(key, value);
+                map.put(key, value);
+            }
+
+            if (i % 1000 == 0) {
+                assertEquals(expected.size(), map.size());
+
+                for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+                    assertEquals((int) entry.getValue(), map.get(entry.getKey(), -1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void clearRemovesEverything() {
+
+        final LongIntHashMap map = new LongIntHashMap();
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(5L));
+
+        map.put(5L, 1);
+        assertTrue(map.containsKey(5L));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.assertRegionFound;
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.assertSameCollisions;
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.move;
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.randomBoxes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpatialHashTest {
+
+    @Test
+    public void findsTheSameCollisionsAsTestingAllPairs() {
+
+        final List<GameObject> boxes = randomBoxes(new Random(1), 300, 1000, 40);
+
+        final SpatialHash fixedCells = new SpatialHash(32);
+        fixedCells.prepare(boxes);
+        assertSameCollisions(fixedCells, boxes);
+
+        final SpatialHash derivedCells = new SpatialHash();
+        derivedCells.prepare(boxes);
+        assertTrue(derivedCells.getActiveCellSize() > 0f);
+        assertSameCollisions(derivedCells, boxes);
+    }
+
+    @Test
+    public void updateMovesGameObjectsToTheirNewCells() {
+
+        final Random random = new Random(2);
+        final List<GameObject> boxes = randomBoxes(random, 200, 500, 30);
+        final SpatialHash spatialHash = new SpatialHash(16);
+
+        spatialHash.prepare(boxes);
+
+        for (int tick = 0; tick < 50; tick++) {
+            for (int i = 0; i < boxes.size(); i++) {
+                final GameObject box = boxes.get(i);
+
+                if (random.nextInt(4) == 0) {
+                    move(box, box.getX() + random.nextFloat() * 60 - 30, box.getY() + random.nextFloat() * 60 - 30);
+                    spatialHash.update(i);
+                }
+            }
+
+            assertSameCollisions(spatialHash, boxes);
+        }
+    }
+
+    @Test
+    public void oversizedGameObjectsAreCandidatesOfAllOthers() {
+
+        final List<GameObject> boxes = new ArrayList<>(randomBoxes(new Random(4), 50, 200, 10));
+        final GameObject huge = new Box(-500, -500, 2000, 2000);
+        boxes.add(huge);
+
+        final SpatialHash spatialHash = new SpatialHash(8);
+        spatialHash.prepare(boxes);
+
+        final IntList indices = new IntList();
+        final List<GameObject> candidates = new ArrayList<>();
+
+        spatialHash.query(boxes.size() - 1, indices, candidates);
+        assertEquals(boxes.size() - 1, candidates.size());
+
+        for (int i = 0; i < boxes.size() - 1; i++) {
+            candidates.clear();
+            spatialHash.query(i, indices, candidates);
+            assertTrue("The huge GameObject is a candidate of " + i, candidates.contains(huge));
+        }
+
+        assertSameCollisions(spatialHash, boxes);
+
+        // Shrinking it moves it from the oversized list into the cells
+        huge.getHitbox().getTransform().setWidth(5);
+        huge.getHitbox().getTransform().setHeight(5);
+        move(huge, 100, 100);
+        spatialHash.update(boxes.size() - 1);
+        assertSameCollisions(spatialHash, boxes);
+    }
+
+    @Test
+    public void queryRegionFindsEverythingInTheRegion() {
+
+        final Random random = new Random(5);
+        final List<GameObject> boxes = randomBoxes(random, 300, 1000, 40);
+        final SpatialHash spatialHash = new SpatialHash(32);
+
+        spatialHash.prepare(boxes);
+
+        for (int i = 0; i < 200; i++) {
+            final float x = random.nextFloat() * 1000;
+            final float y = random.nextFloat() * 1000;
+            final float size = random.nextFloat() * (i % 10 == 0 ? 2000 : 100);
+
+            assertRegionFound(spatialHash, boxes, x, y, x + size, y + size);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.assertRegionFound;
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.assertSameCollisions;
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.move;
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.randomBoxes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class StaticIndexBroadPhaseTest {
+
+    /**
+     * @return random boxes of which about every third one is stationary
+     */
+    private static List<GameObject> level(final Random random, final int count) {
+
+        final List<GameObject> boxes = randomBoxes(random, count, 800, 40);
+
+        for (int i = 0; i < boxes.size(); i++) {
+            boxes.get(i).setStationary(random.nextInt(3) == 0);
+        }
+
+        return boxes;
+    }
+
+    @Test
+    public void findsTheSameCollisionsAsBruteForce() {
+
+        final List<GameObject> boxes = level(new Random(1), 300);
+
+        final StaticIndexBroadPhase withSweepAndPrune = new StaticIndexBroadPhase(new SweepAndPrune());
+        withSweepAndPrune.prepare(boxes);
+        assertSameCollisions(withSweepAndPrune, boxes);
+
+        final StaticIndexBroadPhase withSpatialHash = new StaticIndexBroadPhase(new SpatialHash(32));
+        withSpatialHash.prepare(boxes);
+        assertSameCollisions(withSpatialHash, boxes);
+    }
+
+    @Test
+    public void staticIndexIsOnlyRebuiltWhenStationaryGameObjectsChange() {
+
+        final Random random = new Random(2);
+        final List<GameObject> boxes = level(random, 200);
+        final StaticIndexBroadPhase broadPhase = new StaticIndexBroadPhase(new SweepAndPrune());
+
+        int firstStationary = -1;
+        for (int i = 0; i < boxes.size() && firstStationary == -1; i++) {
+            if (boxes.get(i).isStationary()) {
+                firstStationary = i;
+            }
+        }
+
+        broadPhase.prepare(boxes);
+        assertEquals(1, broadPhase.getRebuildCount());
+
+        // Moving GameObjects only updates the dynamic broad phase
+        for (int tick = 0; tick < 10; tick++) {
+            for (int i = 0; i < boxes.size(); i++) {
+                final GameObject box = boxes.get(i);
+
+                if (!box.isStationary()) {
+                    move(box, box.getX() + random.nextFloat() * 20 - 10, box.getY() + random.nextFloat() * 20 - 10);
+                    broadPhase.update(i);
+                }
+            }
+
+            broadPhase.prepare(boxes);
+            assertSameCollisions(broadPhase, boxes);
+        }
+        assertEquals(1, broadPhase.getRebuildCount());
+
+        // Moving a stationary GameObject rebuilds it once, on update or on prepare
+        final GameObject platform = boxes.get(firstStationary);
+        move(platform, platform.getX() + 100, platform.getY());
+        broadPhase.update(firstStationary);
+        assertEquals(2, broadPhase.getRebuildCount());
+        assertSameCollisions(broadPhase, boxes);
+
+        broadPhase.prepare(boxes);
+        assertEquals(2, broadPhase.getRebuildCount());
+
+        platform.getHitbox().getTransform().setWidth(platform.getHitbox().getTransform().getWidth() + 50);
+        broadPhase.prepare(boxes);
+        assertEquals(3, broadPhase.getRebuildCount());
+        assertSameCollisions(broadPhase, boxes);
+
+        // So does removing one
+        final List<GameObject> withoutPlatform = new ArrayList<>(boxes);
+        withoutPlatform.remove(firstStationary);
+        broadPhase.prepare(withoutPlatform);
+        assertEquals(4, broadPhase.getRebuildCount());
+        assertSameCollisions(broadPhase, withoutPlatform);
+    }
+
+    @Test
+    public void updateHandlesGameObjectsBecomingStationaryOrDynamic() {
+
+        final Random random = new Random(3);
+        final List<GameObject> boxes = level(random, 150);
+        final StaticIndexBroadPhase broadPhase = new StaticIndexBroadPhase(new SweepAndPrune());
+
+        broadPhase.prepare(boxes);
+
+        for (int round = 0; round < 30; round++) {
+            final int index = random.nextInt(boxes.size());
+            final GameObject box = boxes.get(index);
+            final int stationaryCount = broadPhase.getStationaryCount();
+            final boolean stationary = !box.isStationary();
+
+            box.setStationary(stationary);
+            broadPhase.update(index);
+
+            assertEquals(stationaryCount + (stationary ? 1 : -1), broadPhase.getStationaryCount());
+            assertSameCollisions(broadPhase, boxes);
+
+            // The next move goes to whichever part it is in now
+            move(box, box.getX() + random.nextFloat() * 40 - 20, box.getY() + random.nextFloat() * 40 - 20);
+            broadPhase.update(index);
+            assertSameCollisions(broadPhase, boxes);
+        }
+    }
+
+    @Test
+    public void mergedCandidatesAreInIndexOrder() {
+
+        // Dynamic and stationary GameObjects alternate, all overlapping the first one
+        final List<GameObject> boxes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final GameObject box = new Box(i * 2, 0, 30, 30);
+            box.setStationary(i % 2 == 1);
+            boxes.add(box);
+        }
+
+        final StaticIndexBroadPhase broadPhase = new StaticIndexBroadPhase(new SweepAndPrune());
+        broadPhase.prepare(boxes);
+
+        final IntList indices = new IntList();
+        final List<GameObject> candidates = new ArrayList<>();
+        final GameObject previous = new Box(0, 0, 1, 1);
+
+        // The candidates are added after what was already in the list
+        candidates.add(previous);
+        broadPhase.query(0, indices, candidates);
+
+        assertEquals(10, candidates.size());
+        assertSame(previous, candidates.get(0));
+        for (int i = 1; i < 10; i++) {
+            assertEquals(i, indices.get(i - 1));
+            assertSame(boxes.get(i), candidates.get(i));
+        }
+
+        // A stationary GameObject only gets the dynamic ones, and the stationary ones it overlaps
+        candidates.clear();
+        broadPhase.query(1, indices, candidates);
+        assertEquals(9, candidates.size());
+        assertEquals(0, indices.get(0));
+        assertEquals(9, indices.get(8));
+    }
+
+    @Test
+    public void queryRegionFindsEverythingInTheRegion() {
+
+        final Random random = new Random(5);
+        final List<GameObject> boxes = level(random, 300);
+        final StaticIndexBroadPhase broadPhase = new StaticIndexBroadPhase(new SpatialHash(32));
+
+        broadPhase.prepare(boxes);
+
+        for (int i = 0; i < 200; i++) {
+            final float x = random.nextFloat() * 800;
+            final float y = random.nextFloat() * 800;
+            final float size = random.nextFloat() * 150;
+
+            assertRegionFound(broadPhase, boxes, x, y, x + size, y + size);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.collision;
+
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.assertRegionFound;
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.assertSameCollisions;
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.move;
+import static de.edgelord.saltyengine.collision.BroadPhaseTesting.randomBoxes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SweepAndPruneTest {
+
+    @Test
+    public void findsTheSameCollisionsAsBruteForce() {
+
+        final List<GameObject> boxes = randomBoxes(new Random(1), 300, 1000, 40);
+        final SweepAndPrune sweepAndPrune = new SweepAndPrune();
+
+        sweepAndPrune.prepare(boxes);
+        assertSameCollisions(sweepAndPrune, boxes);
+    }
+
+    /**
+     * Moves the GameObjects a little most of the time and far every now and then, so that edges swap with their
+     * neighbours as well as pass many others at once, in both directions.
+     */
+    @Test
+    public void updateKeepsTheOverlapsUpToDate() {
+
+        final Random random = new Random(2);
+        final List<GameObject> boxes = randomBoxes(random, 200, 600, 30);
+        final SweepAndPrune sweepAndPrune = new SweepAndPrune();
+
+        sweepAndPrune.prepare(boxes);
+
+        for (int tick = 0; tick < 100; tick++) {
+            for (int i = 0; i < boxes.size(); i++) {
+                final GameObject box = boxes.get(i);
+                final float distance = random.nextInt(20) == 0 ? 400 : 8;
+
+                if (random.nextBoolean()) {
+                    move(box, box.getX() + (random.nextFloat() - 0.5f) * distance, box.getY() + (random.nextFloat() - 0.5f) * distance);
+                    sweepAndPrune.update(i);
+                }
+            }
+
+            assertSameCollisions(sweepAndPrune, boxes);
+        }
+    }
+
+    @Test
+    public void prepareSortsGameObjectsMovedWithoutUpdate() {
+
+        final Random random = new Random(3);
+        final List<GameObject> boxes = randomBoxes(random, 200, 600, 30);
+        final SweepAndPrune sweepAndPrune = new SweepAndPrune();
+
+        sweepAndPrune.prepare(boxes);
+
+        for (int tick = 0; tick < 20; tick++) {
+            for (GameObject box : boxes) {
+                move(box, box.getX() + (random.nextFloat() - 0.5f) * 50, box.getY() + (random.nextFloat() - 0.5f) * 50);
+            }
+
+            sweepAndPrune.prepare(boxes);
+            assertSameCollisions(sweepAndPrune, boxes);
+        }
+
+        // A different list is sorted from scratch
+        final List<GameObject> fewer = new ArrayList<>(boxes.subList(50, 150));
+        sweepAndPrune.prepare(fewer);
+        assertEquals(fewer.size(), sweepAndPrune.getObjectCount());
+        assertSameCollisions(sweepAndPrune, fewer);
+    }
+
+    @Test
+    public void touchingHitboxesAreCandidates() {
+
+        final List<GameObject> boxes = new ArrayList<>();
+        boxes.add(new Box(0, 0, 10, 10));
+        boxes.add(new Box(10, 0, 10, 10));
+
+        final SweepAndPrune sweepAndPrune = new SweepAndPrune();
+        sweepAndPrune.prepare(boxes);
+
+        final IntList indices = new IntList();
+        final List<GameObject> candidates = new ArrayList<>();
+
+        sweepAndPrune.query(0, indices, candidates);
+        assertTrue(candidates.contains(boxes.get(1)));
+
+        candidates.clear();
+        sweepAndPrune.query(1, indices, candidates);
+        assertTrue(candidates.contains(boxes.get(0)));
+    }
+
+    @Test
+    public void queryRegionFindsEverythingInTheRegion() {
+
+        final Random random = new Random(5);
+        final List<GameObject> boxes = randomBoxes(random, 300, 1000, 40);
+        final SweepAndPrune sweepAndPrune = new SweepAndPrune();
+
+        sweepAndPrune.prepare(boxes);
+
+        for (int i = 0; i < 300; i++) {
+            if (i % 50 == 0) {
+                for (int j = 0; j < boxes.size(); j++) {
+                    final GameObject box = boxes.get(j);
+                    move(box, box.getX() + random.nextFloat() * 20 - 10, box.getY());
+                    sweepAndPrune.update(j);
+                }
+            }
+
+            final float x = random.nextFloat() * 1000;
+            final float y = random.nextFloat() * 1000;
+            final float size = random.nextFloat() * 150;
+
+            assertRegionFound(sweepAndPrune, boxes, x, y, x + size, y + size);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.components;
+
+import de.edgelord.saltyengine.components.gfx.WobblingEffect;
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TimingComponentsTest {
+
+    private final long fixedTickMillis = SaltySystem.fixedTickMillis;
+
+    @After
+    public void restoreFixedTick() {
+        SaltySystem.fixedTickMillis = fixedTickMillis;
+    }
+
+    @Test
+    public void gateInTicksOpensOnTheTickAfter() {
+
+        SaltySystem.fixedTickMillis = 1;
+        final FixedRate fixedRate = new FixedRate(new Box(0, 0, 10, 10), "gate", 3);
+
+        for (int tick = 1; tick <= 12; tick++) {
+            fixedRate.onFixedTick();
+            assertEquals("Tick " + tick, tick % 4 == 0, fixedRate.now());
+        }
+
+        assertEquals(3, fixedRate.getGate());
+        assertEquals(4, fixedRate.getInterval());
+    }
+
+    @Test
+    public void intervalInMillisDoesNotDriftWithLongTicks() {
+
+        SaltySystem.fixedTickMillis = 16;
+        final FixedRate fixedRate = new FixedRate(new Box(0, 0, 10, 10), "gate", 1);
+        fixedRate.setInterval(40);
+
+        int openings = 0;
+        for (int tick = 0; tick < 100; tick++) {
+            fixedRate.onFixedTick();
+
+            if (fixedRate.now()) {
+                openings++;
+            }
+        }
+
+        assertEquals(100 * 16 / 40, openings);
+    }
+
+    @Test
+    public void wobblingEffectStepsLikeTheGate() {
+
+        SaltySystem.fixedTickMillis = 1;
+        assertEquals(100 / 20, countSteps(effect(19), 100));
+
+        SaltySystem.fixedTickMillis = 16;
+        final WobblingEffect effect = effect(0);
+        effect.setPauseMillis(40);
+        assertEquals(100 * 16 / 40, countSteps(effect, 100));
+    }
+
+    private static WobblingEffect effect(final int pause) {
+
+        final WobblingEffect effect = new WobblingEffect(new Box(0, 0, 100, 100), "wobbling", 0, 0, 0, 0);
+        effect.setPause(pause);
+
+        return effect;
+    }
+
+    private static int countSteps(final WobblingEffect effect, final int ticks) {
+
+        int steps = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            final float width = effect.getParent().getWidth();
+            effect.onFixedTick();
+
+            if (effect.getParent().getWidth() != width) {
+                steps++;
+            }
+        }
+
+        return steps;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.components.collider;
+
+import de.edgelord.saltyengine.collision.CollisionMatrix;
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HitboxColliderTest {
+
+    /**
+     * How far a projectile with a speed of 12.5 pixels per millisecond moves during a fixed tick of 16 milliseconds.
+     */
+    private static final float TICK_DISTANCE = 12.5f * 16;
+
+    private static final float EPSILON = 0.0001f;
+
+    private final CollisionMatrix matrix = new CollisionMatrix();
+
+    private static HitboxCollider continuous(final GameObject gameObject) {
+
+        final HitboxCollider collider = (HitboxCollider) gameObject.getDefaultColliderCollider();
+        collider.setContinuous(true);
+
+        return collider;
+    }
+
+    private static void move(final GameObject gameObject, final float x, final float y) {
+        gameObject.setX(x);
+        gameObject.setY(y);
+    }
+
+    @Test
+    public void fastGameObjectDoesNotTunnelThroughAThinWall() {
+
+        final Box projectile = new Box(0, 10, 4, 4);
+        final Box wall = new Box(100, 0, 2, 40);
+        final List<GameObject> gameObjects = Arrays.asList(projectile, wall);
+        final HitboxCollider collider = continuous(projectile);
+
+        // The first sweep only starts
+        assertNull(collider.sweep(gameObjects, matrix));
+
+        // Within one tick, the projectile moves from one side of the wall to the other
+        move(projectile, TICK_DISTANCE, 10);
+        assertFalse(projectile.getHitbox().collides(wall));
+
+        assertSame(wall, collider.sweep(gameObjects, matrix));
+        assertEquals(100 - 4 + HitboxCollider.CONTACT_DEPTH, projectile.getX(), EPSILON);
+        assertEquals(10, projectile.getY(), EPSILON);
+        assertTrue(projectile.getHitbox().collides(wall));
+
+        // The next sweep starts where the projectile was placed
+        assertEquals(projectile.getX(), collider.getSweepStartX(), 0f);
+    }
+
+    @Test
+    public void diagonalSweepStopsAtTheTimeOfImpact() {
+
+        final Box projectile = new Box(0, 0, 4, 4);
+        final Box wall = new Box(100, -100, 2, 400);
+        final List<GameObject> gameObjects = Arrays.asList(projectile, wall);
+        final HitboxCollider collider = continuous(projectile);
+
+        collider.sweep(gameObjects, matrix);
+        move(projectile, TICK_DISTANCE, TICK_DISTANCE / 2);
+
+        // The right edge reaches the wall after (100 - 4) / 200 of the way
+        assertSame(wall, collider.sweep(gameObjects, matrix));
+        assertEquals(100 - 4 + HitboxCollider.CONTACT_DEPTH, projectile.getX(), EPSILON);
+        assertEquals((100 - 4) / TICK_DISTANCE * (TICK_DISTANCE / 2), projectile.getY(), EPSILON);
+        assertTrue(projectile.getHitbox().collides(wall));
+    }
+
+    @Test
+    public void sweepsInAllDirections() {
+
+        final Box wall = new Box(100, 0, 2, 40);
+        final Box floor = new Box(-100, 150, 400, 1);
+
+        final Box left = new Box(TICK_DISTANCE, 10, 4, 4);
+        final HitboxCollider leftCollider = continuous(left);
+        leftCollider.sweep(Arrays.asList(left, wall), matrix);
+        move(left, 0, 10);
+
+        assertSame(wall, leftCollider.sweep(Arrays.asList(left, wall), matrix));
+        assertEquals(102 - HitboxCollider.CONTACT_DEPTH, left.getX(), EPSILON);
+
+        final Box down = new Box(20, 0, 4, 4);
+        final HitboxCollider downCollider = continuous(down);
+        downCollider.sweep(Arrays.asList(down, floor), matrix);
+        move(down, 20, TICK_DISTANCE * 2);
+
+        assertSame(floor, downCollider.sweep(Arrays.asList(down, floor), matrix));
+        assertEquals(150 - 4 + HitboxCollider.CONTACT_DEPTH, down.getY(), EPSILON);
+        assertEquals(20, down.getX(), EPSILON);
+    }
+
+    @Test
+    public void firstHitWinsRegardlessOfTheOrder() {
+
+        final Box projectile = new Box(0, 10, 4, 4);
+        final Box farWall = new Box(150, 0, 2, 40);
+        final Box nearWall = new Box(100, 0, 2, 40);
+        final List<GameObject> gameObjects = Arrays.asList(farWall, projectile, nearWall);
+        final HitboxCollider collider = continuous(projectile);
+
+        collider.sweep(gameObjects, matrix);
+        move(projectile, TICK_DISTANCE, 10);
+
+        assertSame(nearWall, collider.sweep(gameObjects, matrix));
+        assertEquals(100 - 4 + HitboxCollider.CONTACT_DEPTH, projectile.getX(), EPSILON);
+    }
+
+    @Test
+    public void ignoresWhatItCanNotCollideWith() {
+
+        final Box projectile = new Box(0, 10, 4, 4);
+        final Box trigger = new Box(50, 0, 2, 40);
+        final Box otherLayer = new Box(100, 0, 2, 40);
+        final Box startedInside = new Box(-10, 0, 30, 40);
+        final List<GameObject> gameObjects = new ArrayList<>(Arrays.asList(projectile, trigger, otherLayer, startedInside));
+        final HitboxCollider collider = continuous(projectile);
+
+        trigger.setTrigger(true);
+        otherLayer.setCollisionLayer(1);
+        matrix.setCollides(0, 1, false);
+
+        collider.sweep(gameObjects, matrix);
+        move(projectile, TICK_DISTANCE, 10);
+
+        assertNull(collider.sweep(gameObjects, matrix));
+        assertEquals(TICK_DISTANCE, projectile.getX(), 0f);
+    }
+
+    @Test
+    public void resetSweepForgetsTheWayBeforeATeleport() {
+
+        final Box projectile = new Box(0, 10, 4, 4);
+        final Box wall = new Box(100, 0, 2, 40);
+        final List<GameObject> gameObjects = Arrays.asList(projectile, wall);
+        final HitboxCollider collider = continuous(projectile);
+
+        collider.sweep(gameObjects, matrix);
+        move(projectile, TICK_DISTANCE, 10);
+        collider.resetSweep();
+
+        assertNull(collider.sweep(gameObjects, matrix));
+        assertEquals(TICK_DISTANCE, projectile.getX(), 0f);
+
+        // Standing still doesn't hit anything either
+        assertNull(collider.sweep(gameObjects, matrix));
+    }
+}
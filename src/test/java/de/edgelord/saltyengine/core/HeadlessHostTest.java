@@ -0,0 +1,149 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.core;
+
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.graphics.SaltyGraphics;
+import de.edgelord.saltyengine.scene.Scene;
+import de.edgelord.saltyengine.scene.SceneManager;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HeadlessHostTest {
+
+    private static final int TICKS = 100;
+
+    private final Engine engine = Game.getEngine();
+    private final long fixedTickMillis = SaltySystem.fixedTickMillis;
+
+    private HeadlessHost host;
+    private Counter counter;
+
+    @Before
+    public void setUp() {
+        host = new HeadlessHost(200, 100);
+        new Game(host, "headless-host-test", 5);
+        counter = new Counter();
+
+        final Scene scene = new Scene();
+        scene.addGameObject(counter);
+        SceneManager.setCurrentScene(scene);
+    }
+
+    @After
+    public void restore() {
+        Game.setEngine(engine);
+        SaltySystem.fixedTickMillis = fixedTickMillis;
+    }
+
+    @Test
+    public void simulateRunsTheGivenNumberOfTicks() {
+
+        host.simulate(TICKS);
+
+        assertEquals(TICKS, Game.getEngine().getTickCount());
+        assertEquals(TICKS, counter.ticks);
+        assertTrue(counter.renderedTicks.isEmpty());
+        assertNull(host.getImage());
+    }
+
+    @Test
+    public void simulateMillisRunsTheTicksWithinTheTime() {
+
+        host.simulateMillis(TICKS * 5 + 4);
+
+        assertEquals(TICKS, Game.getEngine().getTickCount());
+        assertEquals(TICKS, counter.ticks);
+    }
+
+    @Test
+    public void renderingDrawsEveryRenderEveryTicksTick() {
+
+        host.setRendering(true);
+        host.setRenderEveryTicks(16);
+        host.simulate(TICKS);
+
+        assertEquals(TICKS, counter.ticks);
+        assertEquals(Arrays.asList(1L, 17L, 33L, 49L, 65L, 81L, 97L), counter.renderedTicks);
+
+        assertNotNull(host.getImage());
+        assertEquals(200, host.getImage().getWidth());
+        assertEquals(100, host.getImage().getHeight());
+        assertEquals(Color.RED.getRGB(), host.getImage().getRGB(15, 15));
+        assertEquals(Color.WHITE.getRGB(), host.getImage().getRGB(150, 80));
+    }
+
+    @Test
+    public void renderingEveryTickDrawsEachOne() {
+
+        host.setRendering(true);
+        host.setRenderEveryTicks(1);
+        host.simulate(10);
+
+        assertEquals(10, counter.renderedTicks.size());
+        assertEquals(10L, (long) counter.renderedTicks.get(9));
+    }
+
+    /**
+     * A stationary red Box that counts its fixed ticks and remembers on which tick it was drawn.
+     */
+    private static class Counter extends Box {
+
+        private final List<Long> renderedTicks = new ArrayList<>();
+        private int ticks = 0;
+
+        private Counter() {
+            super(10, 10, 20, 20, "counter");
+            setStationary(true);
+        }
+
+        @Override
+        public void onFixedTick() {
+            ticks++;
+        }
+
+        @Override
+        public void draw(final SaltyGraphics saltyGraphics) {
+            renderedTicks.add(Game.getEngine().getTickCount());
+            saltyGraphics.setColor(Color.RED);
+            saltyGraphics.drawRect(getTransform());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.core.physics;
+
+import de.edgelord.saltyengine.components.SimplePhysicsComponent;
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.scene.Scene;
+import de.edgelord.saltyengine.scene.SceneManager;
+import de.edgelord.saltyengine.utils.Directions;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PhysicsWorldTest {
+
+    private static final Directions.Direction[] DIRECTIONS = {
+            Directions.Direction.UP, Directions.Direction.DOWN, Directions.Direction.LEFT, Directions.Direction.RIGHT
+    };
+
+    @Test
+    public void removedForceSlotsAreReusedAtTheEndOfTheChain() {
+
+        final Box box = new Box(0, 0, 10, 10);
+        final Box other = new Box(20, 0, 10, 10);
+        final PhysicsWorld world = new PhysicsWorld();
+        box.getPhysics().setWorld(world);
+        other.getPhysics().setWorld(world);
+
+        final SimplePhysicsComponent physics = box.getPhysics();
+        final int forceCount = world.getForceCount();
+
+        final ForceHandle first = physics.addForce("first", Directions.Direction.UP);
+        other.getPhysics().addForce("other", Directions.Direction.UP);
+        final ForceHandle second = physics.addForce("second", Directions.Direction.LEFT);
+        final int freedSlot = physics.getForce(first).getSlot();
+
+        physics.removeForce(first);
+        assertNull(physics.getForce(first));
+        assertNull(physics.getForce("first"));
+        assertEquals(forceCount + 2, world.getForceCount());
+
+        // The new force takes the freed slot but is still integrated after the older ones
+        final ForceHandle third = physics.addForce("third", Directions.Direction.RIGHT);
+        assertEquals(freedSlot, physics.getForce(third).getSlot());
+        assertSame(physics.getForce(third), physics.getForce("third"));
+
+        int last = PhysicsWorld.NO_SLOT;
+        int secondLast = PhysicsWorld.NO_SLOT;
+        for (int force = world.getFirstForce(physics.getBody()); force != PhysicsWorld.NO_SLOT; force = world.getNextForce(force)) {
+            secondLast = last;
+            last = force;
+        }
+
+        assertEquals(physics.getForce(second).getSlot(), secondLast);
+        assertEquals(freedSlot, last);
+    }
+
+    /**
+     * The serial tick integrates each body on its own, the phased tick integrates all of them at once. Both have to
+     * sum up the forces of a body in the same order, also once removed forces left their slots to other forces.
+     */
+    @Test
+    public void reusedForceSlotsIntegrateTheSameSeriallyAndPhased() {
+
+        final float[] serial = run(false);
+        final float[] phased = run(true);
+
+        assertArrayEquals(serial, phased, 0f);
+    }
+
+    @Test
+    public void forcesMoveTheBoxes() {
+
+        final float[] positions = run(false);
+
+        for (int i = 0; i < positions.length / 2; i++) {
+            assertTrue("Box " + i + " moved", positions[i * 2] != i * 100 || positions[i * 2 + 1] != 0);
+        }
+    }
+
+    /**
+     * Pushes boxes that can't collide with each other with random forces, and removes and adds forces in between so
+     * that their slots are reused by other bodies.
+     *
+     * @return the positions of the boxes
+     */
+    private static float[] run(final boolean phased) {
+
+        final Random random = new Random(11);
+        final Scene scene = new Scene();
+        SceneManager.setCurrentScene(scene);
+
+        if (phased) {
+            scene.enablePhasedTicking();
+        }
+
+        final Box[] boxes = new Box[30];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = new Box(i * 100, 0, 10, 10);
+            boxes[i].setCollisionMask(0);
+            scene.addGameObject(boxes[i]);
+
+            for (int j = 0; j < 4; j++) {
+                addRandomForce(boxes[i], "force" + j, random);
+            }
+        }
+
+        for (int tick = 0; tick < 200; tick++) {
+            if (tick == 20) {
+                for (int i = 0; i < boxes.length; i += 2) {
+                    boxes[i].getPhysics().removeForce("force0");
+                    boxes[i].getPhysics().removeForce("force2");
+                }
+            } else if (tick == 40) {
+                for (int i = 1; i < boxes.length; i += 2) {
+                    addRandomForce(boxes[i], "late", random);
+                }
+            }
+
+            scene.onFixedTick();
+        }
+
+        final float[] positions = new float[boxes.length * 2];
+        for (int i = 0; i < boxes.length; i++) {
+            positions[i * 2] = boxes[i].getX();
+            positions[i * 2 + 1] = boxes[i].getY();
+        }
+
+        return positions;
+    }
+
+    private static void addRandomForce(final Box box, final String name, final Random random) {
+        final Directions.Direction direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+        box.getPhysics().addForce(new Force(random.nextFloat() * 0.01f, box, direction, name));
+    }
+}
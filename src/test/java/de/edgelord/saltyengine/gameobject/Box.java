@@ -0,0 +1,62 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.gameobject;
+
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.graphics.SaltyGraphics;
+
+/**
+ * A GameObject that does nothing by itself, for tests that only need its hitbox, components and physics.
+ * Tests override the callbacks they need.
+ */
+public class Box extends GameObject {
+
+    public Box(float x, float y, float width, float height) {
+        this(x, y, width, height, "box");
+    }
+
+    public Box(float x, float y, float width, float height, String tag) {
+        super(x, y, width, height, tag);
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void onCollision(CollisionEvent event) {
+    }
+
+    @Override
+    public void onFixedTick() {
+    }
+
+    @Override
+    public void draw(SaltyGraphics saltyGraphics) {
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.collision.BroadPhase;
+import de.edgelord.saltyengine.collision.BruteForceBroadPhase;
+import de.edgelord.saltyengine.collision.CollisionMatrix;
+import de.edgelord.saltyengine.collision.IntList;
+import de.edgelord.saltyengine.collision.SpatialHash;
+import de.edgelord.saltyengine.components.collider.ColliderComponent;
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+import de.edgelord.saltyengine.utils.Directions;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the collisions that {@link CollisionPairs} finds pair by pair with the ones each GameObject finds with
+ * {@link GameObject#detectCollisions(List, CollisionMatrix)}.
+ */
+public class CollisionPairsTest {
+
+    @Test
+    public void findsTheSameCollisionsAsEachGameObject() {
+
+        for (int seed = 0; seed < 5; seed++) {
+            final Random random = new Random(seed);
+            final List<GameObject> gameObjects = randomScene(random, 150);
+            final CollisionMatrix matrix = new CollisionMatrix();
+            matrix.setCollides(1, 2, false);
+
+            assertSameCollisions(gameObjects, matrix, new BruteForceBroadPhase());
+            assertSameCollisions(gameObjects, matrix, new SpatialHash(16));
+        }
+    }
+
+    @Test
+    public void asymmetricCollidersAreTestedBothWays() {
+
+        // The small box is within the big one, but the center of the big one isn't within the small one
+        final Box big = new Box(0, 0, 100, 100);
+        final Box small = new Box(10, 10, 5, 5);
+        big.addComponent(new CenterCollider(big));
+        big.setColliderComponent(CenterCollider.NAME);
+
+        final List<GameObject> gameObjects = Arrays.asList(big, small);
+        final CollisionMatrix matrix = new CollisionMatrix();
+        final List<String> pairs = pairCollisions(gameObjects, matrix, new BruteForceBroadPhase());
+
+        assertEquals("[]", pairs.get(0));
+        assertEquals("[" + big + " " + small.getHitbox().getTransform().getRelation(big.getHitbox().getTransform()) + "]", pairs.get(1));
+        assertEquals(describe(small.detectCollisions(gameObjects, matrix)), pairs.get(1));
+    }
+
+    private static void assertSameCollisions(final List<GameObject> gameObjects, final CollisionMatrix matrix, final BroadPhase broadPhase) {
+
+        final List<String> pairs = pairCollisions(gameObjects, matrix, broadPhase);
+        int collisions = 0;
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            final GameObject gameObject = gameObjects.get(i);
+
+            if (gameObject.isStationary() || gameObject.isSleeping()) {
+                assertNull("Collisions of " + i, pairs.get(i));
+            } else {
+                final List<CollisionEvent> expected = gameObject.detectCollisions(gameObjects, matrix);
+                collisions += expected.size();
+
+                assertEquals("Collisions of " + i, describe(expected), pairs.get(i));
+            }
+        }
+
+        assertTrue("The scene has collisions", collisions > 0);
+    }
+
+    /**
+     * Runs the three steps of {@link CollisionPairs} for all GameObjects.
+     *
+     * @return the description of the collisions of each GameObject, or <code>null</code> for the ones without
+     */
+    private static List<String> pairCollisions(final List<GameObject> gameObjects, final CollisionMatrix matrix, final BroadPhase broadPhase) {
+
+        final GameObject[] objects = gameObjects.toArray(new GameObject[0]);
+        final CollisionPairs pairs = new CollisionPairs();
+        final IntList indices = new IntList();
+        final List<GameObject> candidates = new ArrayList<>();
+
+        broadPhase.prepare(gameObjects);
+        pairs.prepare(objects.length);
+
+        for (int i = 0; i < objects.length; i++) {
+            pairs.detect(i, objects, broadPhase, matrix, indices, candidates);
+        }
+
+        pairs.distribute(objects.length);
+
+        final List<String> collisions = new ArrayList<>();
+        for (int i = 0; i < objects.length; i++) {
+            final List<CollisionEvent> events = pairs.collect(i, objects);
+            collisions.add(events == null ? null : describe(events));
+        }
+
+        return collisions;
+    }
+
+    private static String describe(final List<CollisionEvent> events) {
+
+        final StringBuilder description = new StringBuilder("[");
+
+        for (int i = 0; i < events.size(); i++) {
+            final CollisionEvent event = events.get(i);
+
+            if (i > 0) {
+                description.append(", ");
+            }
+            description.append(event.getRoot()).append(' ').append(event.getCollisionDirection());
+        }
+
+        return description.append(']').toString();
+    }
+
+    /**
+     * Boxes that overlap a lot, some of them stationary, sleeping, on different layers or with an asymmetric collider.
+     */
+    private static List<GameObject> randomScene(final Random random, final int count) {
+
+        final List<GameObject> gameObjects = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final Box box = new Box(random.nextFloat() * 300, random.nextFloat() * 300,
+                    5 + random.nextFloat() * 35, 5 + random.nextFloat() * 35, "box" + i);
+
+            box.setCollisionLayer(random.nextInt(3));
+            if (random.nextInt(5) == 0) {
+                box.setCollisionMask(~CollisionMatrix.layerBit(random.nextInt(3)));
+            }
+
+            if (random.nextInt(4) == 0) {
+                box.addComponent(new CenterCollider(box));
+                box.setColliderComponent(CenterCollider.NAME);
+            }
+
+            final int state = random.nextInt(10);
+            if (state == 0) {
+                box.setStationary(true);
+            } else if (state == 1) {
+                box.sleep();
+            }
+
+            gameObjects.add(box);
+        }
+
+        return gameObjects;
+    }
+
+    /**
+     * Collides with the GameObjects whose hitbox contains the center of the parent, which isn't symmetric. Hitbox
+     * colliders collide with it like with any other hitbox.
+     */
+    private static class CenterCollider extends ColliderComponent {
+
+        private static final String NAME = "centerCollider";
+
+        private CenterCollider(GameObject parent) {
+            super(parent, NAME, TYPE_HITBOX_COLLIDER);
+        }
+
+        @Override
+        public boolean requestCollision(GameObject other) {
+            final Transform bounds = getParent().getHitbox().getTransform();
+            return other.getHitbox().getTransform().contains(bounds.getX() + bounds.getWidth() / 2, bounds.getY() + bounds.getHeight() / 2);
+        }
+
+        @Override
+        public Directions.Direction getCollisionDirection(GameObject other) {
+            return getParent().getHitbox().getTransform().getRelation(other.getHitbox().getTransform());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.gameobject.Box;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the contact events a Scene calls on the GameObjects that {@link de.edgelord.saltyengine.gameobject.GameObject#setContactEvents(int)
+ * subscribed} to them, which the {@link ContactCache} keeps track of from one tick to the next.
+ */
+public class ContactCacheTest {
+
+    private static final int ALL = CollisionEvent.ENTER | CollisionEvent.STAY | CollisionEvent.EXIT;
+
+    @Test
+    public void contactEntersStaysAndExits() {
+
+        final Scene scene = newScene();
+        final Contacts a = new Contacts(0, 0, 20, 20, "a");
+        final Box b = new Box(10, 10, 20, 20, "b");
+        scene.addGameObject(a);
+        scene.addGameObject(b);
+        scene.disableGravity();
+
+        tick(scene, 4);
+        assertEquals(Arrays.asList("enter b", "stay b", "stay b", "stay b"), a.events);
+        assertEquals(1, scene.getContactCount());
+
+        // The hitbox follows the move on the tick after it, so the contact ends one tick later
+        a.setX(100);
+        tick(scene, 1);
+        a.events.clear();
+        tick(scene, 2);
+        assertEquals(Arrays.asList("exit b"), a.events);
+        assertEquals(0, scene.getContactCount());
+
+        a.setX(0);
+        tick(scene, 1);
+        a.events.clear();
+        tick(scene, 1);
+        assertEquals(Arrays.asList("enter b"), a.events);
+    }
+
+    @Test
+    public void onlySubscribedEventsAreCalled() {
+
+        final Scene scene = newScene();
+        final Contacts a = new Contacts(0, 0, 20, 20, "a");
+        a.setContactEvents(CollisionEvent.EXIT);
+        scene.addGameObject(a);
+        scene.addGameObject(new Box(10, 10, 20, 20, "b"));
+        scene.disableGravity();
+
+        tick(scene, 3);
+        assertTrue(a.events.isEmpty());
+
+        a.setX(100);
+        tick(scene, 2);
+        assertEquals(Arrays.asList("exit b"), a.events);
+    }
+
+    /**
+     * Both GameObjects lose their contact with each other on the same tick and are told so through the same exit
+     * event, which has to carry the right root for each of them.
+     */
+    @Test
+    public void removingATouchingGameObjectEndsTheContactsOfBoth() {
+
+        final Scene scene = newScene();
+        final Contacts a = new Contacts(0, 0, 20, 20, "a");
+        final Contacts b = new Contacts(10, 10, 20, 20, "b");
+        final Contacts c = new Contacts(25, 25, 20, 20, "c");
+        scene.addGameObject(a);
+        scene.addGameObject(b);
+        scene.addGameObject(c);
+        scene.disableGravity();
+
+        tick(scene, 2);
+        assertEquals(Arrays.asList("enter b", "stay b"), a.events);
+        assertEquals(Arrays.asList("enter a", "enter c", "stay a", "stay c"), b.events);
+        assertEquals(4, scene.getContactCount());
+
+        a.events.clear();
+        b.events.clear();
+        c.events.clear();
+        scene.removeGameObject(b);
+        tick(scene, 2);
+
+        assertEquals(Arrays.asList("exit b"), a.events);
+        assertEquals(Arrays.asList("exit b"), c.events);
+        assertTrue(b.events.contains("exit a"));
+        assertTrue(b.events.contains("exit c"));
+        assertEquals(2, b.events.size());
+        assertEquals(0, scene.getContactCount());
+    }
+
+    @Test
+    public void sleepingGameObjectKeepsItsContacts() {
+
+        final Scene scene = newScene();
+        scene.enableSleeping();
+
+        final Box ground = new Box(0, 100, 200, 20, "ground");
+        ground.setStationary(true);
+        final Contacts a = new Contacts(50, 60, 20, 20, "a");
+        scene.addGameObject(ground);
+        scene.addGameObject(a);
+
+        int ticks = 0;
+        while (!a.isSleeping()) {
+            scene.onFixedTick();
+            assertTrue("Fell asleep within 1000 ticks", ++ticks < 1000);
+        }
+
+        assertEquals(1, a.count("enter ground"));
+        assertEquals(0, a.count("exit ground"));
+
+        a.events.clear();
+        tick(scene, 50);
+        assertTrue(a.isSleeping());
+        assertTrue(a.events.isEmpty());
+        assertEquals(1, scene.getContactCount());
+
+        // Waking up continues the same contact instead of starting a new one
+        a.wakeUp();
+        tick(scene, 1);
+        assertEquals(Arrays.asList("stay ground"), a.events);
+
+        a.events.clear();
+        scene.removeGameObject(ground);
+        tick(scene, 1);
+        assertEquals(Arrays.asList("exit ground"), a.events);
+        assertEquals(0, scene.getContactCount());
+    }
+
+    private static Scene newScene() {
+        final Scene scene = new Scene();
+        SceneManager.setCurrentScene(scene);
+
+        return scene;
+    }
+
+    private static void tick(final Scene scene, final int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            scene.onFixedTick();
+        }
+    }
+
+    /**
+     * A Box that records its contact events, as the event followed by the tag of the other GameObject.
+     */
+    private static class Contacts extends Box {
+
+        private final List<String> events = new ArrayList<>();
+
+        private Contacts(final float x, final float y, final float width, final float height, final String tag) {
+            super(x, y, width, height, tag);
+            setContactEvents(ALL);
+        }
+
+        @Override
+        public void onCollisionEnter(final CollisionEvent event) {
+            events.add("enter " + event.getRoot().getTag());
+        }
+
+        @Override
+        public void onCollisionStay(final CollisionEvent event) {
+            events.add("stay " + event.getRoot().getTag());
+        }
+
+        @Override
+        public void onCollisionExit(final CollisionEvent event) {
+            events.add("exit " + event.getRoot().getTag());
+        }
+
+        private int count(final String event) {
+            int count = 0;
+
+            for (int i = 0; i < events.size(); i++) {
+                if (events.get(i).equals(event)) {
+                    count++;
+                }
+            }
+
+            return count;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.components.collider.HitboxCollider;
+import de.edgelord.saltyengine.core.event.CollisionEvent;
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Shoots a projectile that moves further than a thin wall is wide during one fixed tick of 16 milliseconds, with and
+ * without continuous collision detection.
+ */
+public class ContinuousCollisionTest {
+
+    private static final long FIXED_TICK_MILLIS = 16;
+    private static final float SPEED = 12.5f;
+    private static final int TICKS = 5;
+
+    private static final float WALL_X = 300;
+
+    @Test
+    public void serialTickDetectsTheHit() {
+        assertHit(run(true, false, false));
+    }
+
+    @Test
+    public void phasedTickDetectsTheHit() {
+        assertHit(run(true, true, false));
+    }
+
+    @Test
+    public void parallelTickDetectsTheHit() {
+        assertHit(run(true, false, true));
+    }
+
+    @Test
+    public void withoutContinuousCollisionTheProjectileTunnels() {
+        assertNull(run(false, false, false).hitX);
+    }
+
+    private static void assertHit(final Projectile projectile) {
+        assertNotNull("The projectile hit the wall", projectile.hitX);
+        assertEquals(WALL_X - Projectile.SIZE + HitboxCollider.CONTACT_DEPTH, projectile.hitX, 0.0001f);
+    }
+
+    private static Projectile run(final boolean continuous, final boolean phased, final boolean parallel) {
+
+        final long fixedTickMillis = SaltySystem.fixedTickMillis;
+        SaltySystem.fixedTickMillis = FIXED_TICK_MILLIS;
+
+        try {
+            final Scene scene = new Scene();
+            SceneManager.setCurrentScene(scene);
+            scene.disableGravity();
+
+            if (phased) {
+                scene.enablePhasedTicking();
+            } else if (parallel) {
+                scene.enableParallelTicking();
+            }
+
+            final Box wall = new Box(WALL_X, -100, 2, 300);
+            wall.setStationary(true);
+            scene.addGameObject(wall);
+
+            final Projectile projectile = new Projectile();
+            projectile.setContinuousCollision(continuous);
+            scene.addGameObject(projectile);
+
+            for (int i = 0; i < TICKS; i++) {
+                scene.onFixedTick();
+            }
+
+            scene.disableParallelTicking();
+            return projectile;
+        } finally {
+            SaltySystem.fixedTickMillis = fixedTickMillis;
+        }
+    }
+
+    private static class Projectile extends Box {
+
+        private static final float SIZE = 4;
+
+        private Float hitX = null;
+
+        private Projectile() {
+            super(0, 10, SIZE, SIZE, "projectile");
+        }
+
+        @Override
+        public void onCollision(CollisionEvent event) {
+            if (hitX == null) {
+                hitX = getX();
+            }
+        }
+
+        @Override
+        public void onFixedTick() {
+            moveX(SPEED * SaltySystem.fixedTickMillis);
+        }
+    }
+}
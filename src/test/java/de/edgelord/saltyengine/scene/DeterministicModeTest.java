@@ -0,0 +1,139 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.core.physics.Force;
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.utils.Directions;
+import de.edgelord.saltyengine.utils.Randomness;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Verifies that two runs of a Scene in deterministic mode with the same seed and the same input produce the same
+ * {@link Scene#getStateHash() state hash} on every tick, and that a different input is caught on the tick it happens.
+ */
+public class DeterministicModeTest {
+
+    private static final long SEED = 42L;
+    private static final int OBJECT_COUNT = 40;
+    private static final int TICKS = 300;
+    private static final int INPUT_TICK = 150;
+
+    @Test
+    public void serialRunsProduceTheSameHashes() {
+        assertArrayEquals(run(SEED, false, false), run(SEED, false, false));
+    }
+
+    @Test
+    public void phasedRunsProduceTheSameHashes() {
+        assertArrayEquals(run(SEED, true, false), run(SEED, true, false));
+    }
+
+    @Test
+    public void differentSeedsProduceDifferentHashes() {
+
+        final long[] hashes = run(SEED, false, false);
+        final long[] otherHashes = run(SEED + 1, false, false);
+
+        assertNotEquals(hashes[0], otherHashes[0]);
+    }
+
+    @Test
+    public void differentInputIsCaughtOnItsTick() {
+
+        final long[] hashes = run(SEED, false, false);
+        final long[] pushedHashes = run(SEED, false, true);
+
+        for (int i = 0; i < INPUT_TICK; i++) {
+            assertEquals("Hash of tick " + i, hashes[i], pushedHashes[i]);
+        }
+
+        assertNotEquals(hashes[INPUT_TICK], pushedHashes[INPUT_TICK]);
+    }
+
+    /**
+     * Spawns boxes at random positions above a ground and records the state hash of each tick.
+     *
+     * @param seed   the seed of the deterministic mode
+     * @param phased whether to tick in phases
+     * @param push   whether to push the first box on {@link #INPUT_TICK}
+     * @return the state hashes of all ticks
+     */
+    private static long[] run(final long seed, final boolean phased, final boolean push) {
+
+        final Scene scene = new Scene();
+        SceneManager.setCurrentScene(scene);
+        scene.enableDeterministicMode(seed);
+        scene.enableSleeping();
+
+        if (phased) {
+            scene.enablePhasedTicking();
+        }
+
+        final Box ground = new Box(0, 400, 800, 20);
+        ground.setStationary(true);
+        scene.addGameObject(ground);
+
+        final WindBox[] boxes = new WindBox[OBJECT_COUNT];
+        for (int i = 0; i < OBJECT_COUNT; i++) {
+            boxes[i] = new WindBox(Randomness.nextFloat() * 780, Randomness.nextFloat() * 300, 10, 10);
+            boxes[i].setMass(0.5f + Randomness.nextFloat());
+            scene.addGameObject(boxes[i]);
+        }
+
+        final long[] hashes = new long[TICKS];
+
+        for (int i = 0; i < TICKS; i++) {
+            if (push && i == INPUT_TICK) {
+                boxes[0].wakeUp();
+                boxes[0].getPhysics().addForce(new Force(1f, boxes[0], Directions.Direction.UP, "push"));
+            }
+
+            scene.onFixedTick();
+            hashes[i] = scene.getStateHash();
+        }
+
+        return hashes;
+    }
+
+    private static class WindBox extends Box {
+
+        private WindBox(float x, float y, float width, float height) {
+            super(x, y, width, height);
+        }
+
+        @Override
+        public void initialize() {
+            getPhysics().addForce(new Force(Randomness.nextFloat() * 0.1f, this, Directions.Direction.RIGHT, "wind"));
+        }
+    }
+}
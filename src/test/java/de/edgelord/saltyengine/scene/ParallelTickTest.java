@@ -0,0 +1,176 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.utils.Randomness;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs the same Scene with the serial, the phased and the parallel fixed tick and compares the outcome.
+ */
+public class ParallelTickTest {
+
+    private static final int SERIAL = 0;
+    private static final int PHASED = 1;
+    private static final int PARALLEL = 2;
+
+    private static final int TICKS = 300;
+
+    @Test
+    public void separateBodiesEndUpInTheSamePlaceInEveryMode() {
+
+        final float[] serial = run(SERIAL, false);
+
+        assertArrayEquals(serial, run(PHASED, false), 0f);
+        assertArrayEquals(serial, run(PARALLEL, false), 0f);
+    }
+
+    /**
+     * The serial tick detects the collisions of each GameObject right before it moves, so only the phased tick is
+     * expected to match the parallel one once the bodies collide with each other.
+     */
+    @Test
+    public void parallelTickMatchesThePhasedTick() {
+        assertArrayEquals(run(PHASED, true), run(PARALLEL, true), 0f);
+    }
+
+    @Test
+    public void modificationsFromOtherThreadsAreAllApplied() throws InterruptedException {
+
+        final int additions = 2000;
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final Scene scene = new Scene();
+        SceneManager.setCurrentScene(scene);
+        scene.enableParallelTicking(pool);
+
+        final Box ground = new Box(0, 400, 800, 20);
+        ground.setStationary(true);
+        scene.addGameObject(ground);
+
+        // Adds GameObjects while the Scene ticks, so that some of them are queued during a tick
+        final Thread adder = new Thread(() -> {
+            for (int i = 0; i < additions; i++) {
+                scene.addGameObject(new Box(i % 800, 0, 5, 5));
+            }
+        });
+
+        try {
+            adder.start();
+            while (adder.isAlive()) {
+                scene.onFixedTick();
+            }
+            adder.join();
+
+            scene.disableParallelTicking();
+            assertEquals(additions + 1, scene.getGameObjectCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void gameObjectsAddedDuringTheParallelTickAreAddedAfterIt() {
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final Scene scene = new Scene();
+        SceneManager.setCurrentScene(scene);
+        scene.enableParallelTicking(pool);
+
+        for (int i = 0; i < 10; i++) {
+            scene.addGameObject(new Box(i * 20, 0, 10, 10) {
+                @Override
+                public void onFixedTick() {
+                    scene.addGameObject(new Box(getX(), 100, 5, 5));
+                }
+            });
+        }
+
+        try {
+            scene.onFixedTick();
+            assertEquals(20, scene.getGameObjectCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Drops boxes onto a ground, either each in its own column or at random positions where they pile up.
+     *
+     * @return the positions of the boxes after {@link #TICKS} fixed ticks
+     */
+    private static float[] run(final int mode, final boolean pileUp) {
+
+        final ForkJoinPool pool = mode == PARALLEL ? new ForkJoinPool(4) : null;
+        final Scene scene = new Scene();
+        SceneManager.setCurrentScene(scene);
+        scene.enableDeterministicMode(7);
+
+        if (mode == PHASED) {
+            scene.enablePhasedTicking();
+        } else if (mode == PARALLEL) {
+            scene.enableParallelTicking(pool);
+        }
+
+        final Box ground = new Box(0, 400, 800, 20);
+        ground.setStationary(true);
+        scene.addGameObject(ground);
+
+        final Box[] boxes = new Box[40];
+        for (int i = 0; i < boxes.length; i++) {
+            final float x = pileUp ? Randomness.nextFloat() * 780 : i * 20;
+
+            boxes[i] = new Box(x, Randomness.nextFloat() * 300, 10, 10);
+            boxes[i].setMass(0.5f + Randomness.nextFloat());
+            scene.addGameObject(boxes[i]);
+        }
+
+        try {
+            for (int i = 0; i < TICKS; i++) {
+                scene.onFixedTick();
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        final float[] positions = new float[boxes.length * 2];
+        for (int i = 0; i < boxes.length; i++) {
+            positions[i * 2] = boxes[i].getX();
+            positions[i * 2 + 1] = boxes[i].getY();
+        }
+
+        return positions;
+    }
+}
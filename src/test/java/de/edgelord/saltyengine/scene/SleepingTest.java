@@ -0,0 +1,185 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.utils.SaltySystem;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies when GameObjects in a Scene that {@link Scene#enableSleeping() allows sleeping} fall asleep and what
+ * wakes them up again. Each test drops a box onto a stationary ground.
+ */
+public class SleepingTest {
+
+    private static final int MAX_TICKS = 1000;
+
+    private Scene scene;
+    private Box ground;
+    private Box box;
+
+    @Before
+    public void setUp() {
+        scene = new Scene();
+        SceneManager.setCurrentScene(scene);
+        scene.enableSleeping();
+
+        ground = new Box(0, 200, 400, 20, "ground");
+        ground.setStationary(true);
+        box = new Box(100, 150, 20, 20);
+
+        scene.addGameObject(ground);
+        scene.addGameObject(box);
+    }
+
+    @Test
+    public void fallsAsleepAfterRestingForTheSleepDelay() {
+
+        int restingTicks = 0;
+
+        for (int i = 0; i < MAX_TICKS && !box.isSleeping(); i++) {
+            scene.onFixedTick();
+            restingTicks = box.getPhysics().isResting() ? restingTicks + 1 : 0;
+        }
+
+        assertTrue(box.isSleeping());
+        assertTrue(restingTicks * SaltySystem.fixedTickMillis >= scene.getSleepDelay());
+        assertTrue((restingTicks - 1) * SaltySystem.fixedTickMillis < scene.getSleepDelay());
+
+        final float y = box.getY();
+        tick(100);
+        assertTrue(box.isSleeping());
+        assertEquals(1, scene.getSleepingCount());
+        assertEquals(y, box.getY(), 0f);
+    }
+
+    @Test
+    public void neverSleepsIfNotAllowed() {
+
+        box.setSleepingAllowed(false);
+        tick(MAX_TICKS);
+
+        assertFalse(box.isSleeping());
+        assertEquals(0, scene.getSleepingCount());
+    }
+
+    @Test
+    public void forceWakesItUp() {
+
+        fallAsleep();
+        box.getPhysics().applyForce(0f, -1f);
+
+        assertFalse(box.isSleeping());
+    }
+
+    @Test
+    public void movingItWakesItUp() {
+
+        fallAsleep();
+        box.setX(box.getX() + 10);
+        scene.onFixedTick();
+
+        assertFalse(box.isSleeping());
+    }
+
+    @Test
+    public void fallingBoxWakesUpWhatItHits() {
+
+        fallAsleep();
+        final Box faller = new Box(box.getX(), box.getY() - 60, 20, 20, "faller");
+        scene.addGameObject(faller);
+
+        for (int i = 0; i < MAX_TICKS && box.isSleeping(); i++) {
+            scene.onFixedTick();
+        }
+
+        assertFalse(box.isSleeping());
+        assertTrue(faller.getY() + faller.getHeight() >= box.getY() - 1f);
+    }
+
+    @Test
+    public void movingTheSupportWakesItUp() {
+
+        fallAsleep();
+        ground.setY(ground.getY() + 50);
+        scene.onFixedTick();
+
+        assertFalse(box.isSleeping());
+
+        final float y = box.getY();
+        tick(10);
+        assertTrue(box.getY() > y);
+    }
+
+    @Test
+    public void removingTheSupportWakesItUp() {
+
+        fallAsleep();
+        scene.removeGameObject(ground);
+        scene.onFixedTick();
+
+        assertFalse(box.isSleeping());
+    }
+
+    @Test
+    public void changesElsewhereDontWakeItUp() {
+
+        fallAsleep();
+        final Box other = new Box(300, 0, 20, 20, "other");
+        other.setStationary(true);
+        scene.addGameObject(other);
+        scene.onFixedTick();
+
+        other.setX(350);
+        scene.onFixedTick();
+        scene.removeGameObject(other);
+        tick(2);
+
+        assertTrue(box.isSleeping());
+    }
+
+    private void fallAsleep() {
+
+        for (int i = 0; i < MAX_TICKS && !box.isSleeping(); i++) {
+            scene.onFixedTick();
+        }
+
+        assertTrue("Fell asleep within " + MAX_TICKS + " ticks", box.isSleeping());
+    }
+
+    private void tick(final int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            scene.onFixedTick();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * This software was published under the MIT License.
+ * The full LICENSE file can be found here: https://github.com/edgelord314/salty-enigne/tree/master/LICENSE
+ *
+ * Copyright (c) since 2018 by the Salty Engine developers,
+ * Maintained by Malte Dostal
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package de.edgelord.saltyengine.scene;
+
+import de.edgelord.saltyengine.collision.BroadPhase;
+import de.edgelord.saltyengine.collision.BruteForceBroadPhase;
+import de.edgelord.saltyengine.collision.CollisionMatrix;
+import de.edgelord.saltyengine.collision.SpatialHash;
+import de.edgelord.saltyengine.collision.StaticIndexBroadPhase;
+import de.edgelord.saltyengine.collision.SweepAndPrune;
+import de.edgelord.saltyengine.gameobject.Box;
+import de.edgelord.saltyengine.gameobject.GameObject;
+import de.edgelord.saltyengine.transform.Transform;
+import de.edgelord.saltyengine.transform.Vector2f;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Compares the nearest and raycast queries with every {@link BroadPhase} against a scan over all GameObjects.
+ */
+public class SpatialQueryTest {
+
+    private static final float AREA = 1000;
+
+    private static List<BroadPhase> broadPhases() {
+        return Arrays.asList(new BruteForceBroadPhase(), new SpatialHash(32), new SweepAndPrune(),
+                new StaticIndexBroadPhase(new SpatialHash()));
+    }
+
+    private static List<GameObject> randomBoxes(final Random random, final int count) {
+
+        final List<GameObject> boxes = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final Box box = new Box(random.nextFloat() * AREA, random.nextFloat() * AREA, 1 + random.nextFloat() * 30, 1 + random.nextFloat() * 30);
+            box.setStationary(random.nextInt(3) == 0);
+            box.setCollisionLayer(random.nextInt(3));
+            boxes.add(box);
+        }
+
+        return boxes;
+    }
+
+    @Test
+    public void nearestFindsTheSameDistancesAsAScan() {
+
+        final Random random = new Random(1);
+        final List<GameObject> boxes = randomBoxes(random, 300);
+        final SpatialQuery query = new SpatialQuery();
+        final List<GameObject> results = new ArrayList<>();
+
+        for (BroadPhase broadPhase : broadPhases()) {
+            broadPhase.prepare(boxes);
+
+            for (int i = 0; i < 200; i++) {
+                // Some points are far outside, so that the square has to grow a lot
+                final float spread = i % 10 == 0 ? AREA * 20 : AREA;
+                final float x = random.nextFloat() * spread - (spread - AREA) / 2;
+                final float y = random.nextFloat() * spread - (spread - AREA) / 2;
+                final int k = i % 20 == 0 ? boxes.size() + 5 : 1 + random.nextInt(10);
+
+                results.clear();
+                final int count = query.nearest(broadPhase, x, y, k, boxes.size(), results);
+                final float[] expected = sortedDistances(boxes, x, y);
+
+                assertEquals(Math.min(k, boxes.size()), count);
+                assertEquals(count, results.size());
+                for (int j = 0; j < count; j++) {
+                    assertEquals("Distance " + j + " from " + x + ", " + y, expected[j],
+                            squaredDistance(results.get(j).getHitbox().getTransform(), x, y), 0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void nearestWithoutGameObjects() {
+
+        final SpatialQuery query = new SpatialQuery();
+        final List<GameObject> results = new ArrayList<>();
+        final List<GameObject> boxes = randomBoxes(new Random(2), 10);
+        final BroadPhase broadPhase = new SpatialHash(32);
+
+        broadPhase.prepare(new ArrayList<>());
+        assertEquals(0, query.nearest(broadPhase, 10, 10, 3, 0, results));
+
+        broadPhase.prepare(boxes);
+        assertEquals(0, query.nearest(broadPhase, 10, 10, 0, boxes.size(), results));
+        assertEquals(0, results.size());
+    }
+
+    @Test
+    public void raycastHitsTheSameDistanceAsAScan() {
+
+        final Random random = new Random(3);
+        final List<GameObject> boxes = randomBoxes(random, 300);
+        final SpatialQuery query = new SpatialQuery();
+        final List<GameObject> results = new ArrayList<>();
+
+        for (BroadPhase broadPhase : broadPhases()) {
+            broadPhase.prepare(boxes);
+
+            for (int i = 0; i < 300; i++) {
+                final float originX = random.nextFloat() * AREA;
+                final float originY = random.nextFloat() * AREA;
+                final float directionX = random.nextFloat() * 2 - 1;
+                final float directionY = i % 7 == 0 ? 0 : random.nextFloat() * 2 - 1;
+                // Rays longer than a segment have to go on when the first segments miss
+                final float maxDistance = i % 3 == 0 ? 2000 : random.nextFloat() * 600;
+                final int layerMask = i % 4 == 0 ? CollisionMatrix.layerBit(1) : CollisionMatrix.ALL_LAYERS;
+
+                final float[] expected = rayDistances(boxes, originX, originY, directionX, directionY, maxDistance, layerMask);
+                final GameObject hit = query.raycast(broadPhase, originX, originY, directionX, directionY, maxDistance, layerMask);
+
+                if (expected.length == 0) {
+                    assertNull(hit);
+                } else {
+                    assertEquals("First hit of ray " + i, expected[0],
+                            rayDistance(hit.getHitbox().getTransform(), originX, originY, directionX, directionY), 0f);
+                }
+
+                results.clear();
+                assertEquals(expected.length, query.raycastAll(broadPhase, originX, originY, directionX, directionY, maxDistance, layerMask, results));
+                for (int j = 0; j < expected.length; j++) {
+                    assertEquals("Hit " + j + " of ray " + i, expected[j],
+                            rayDistance(results.get(j).getHitbox().getTransform(), originX, originY, directionX, directionY), 0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void raycastStopsAtTheFirstHitAcrossSegments() {
+
+        final Box near = new Box(300, -10, 20, 20);
+        final Box far = new Box(1500, -10, 20, 20);
+        final Box behind = new Box(-100, -10, 20, 20);
+        final Box containsOrigin = new Box(-5, -5, 10, 10);
+        final List<GameObject> boxes = Arrays.asList(far, behind, containsOrigin, near);
+        final SpatialQuery query = new SpatialQuery();
+
+        for (BroadPhase broadPhase : broadPhases()) {
+            broadPhase.prepare(boxes);
+
+            assertSame(near, query.raycast(broadPhase, 0, 0, 1, 0, 2000, CollisionMatrix.ALL_LAYERS));
+            assertSame(far, query.raycast(broadPhase, 400, 0, 3, 0, 2000, CollisionMatrix.ALL_LAYERS));
+            assertNull(query.raycast(broadPhase, 400, 0, 1, 0, 1000, CollisionMatrix.ALL_LAYERS));
+            assertNull(query.raycast(broadPhase, 0, 0, 0, 0, 2000, CollisionMatrix.ALL_LAYERS));
+        }
+    }
+
+    @Test
+    public void sceneAnswersWithItsBroadPhase() {
+
+        final Scene scene = new Scene();
+        final List<GameObject> boxes = randomBoxes(new Random(4), 100);
+
+        scene.enableSpatialHash();
+        for (GameObject box : boxes) {
+            scene.addGameObject(box);
+        }
+
+        final List<GameObject> results = new ArrayList<>();
+        final float[] expected = sortedDistances(boxes, 500, 500);
+
+        assertEquals(5, scene.nearest(new Vector2f(500, 500), 5, results));
+        for (int j = 0; j < 5; j++) {
+            assertEquals(expected[j], squaredDistance(results.get(j).getHitbox().getTransform(), 500, 500), 0f);
+        }
+
+        final float[] hits = rayDistances(boxes, 500, 500, 1, 1, 2000, CollisionMatrix.ALL_LAYERS);
+        final GameObject hit = scene.raycast(new Vector2f(500, 500), new Vector2f(1, 1), 2000);
+
+        if (hits.length == 0) {
+            assertNull(hit);
+        } else {
+            assertEquals(hits[0], rayDistance(hit.getHitbox().getTransform(), 500, 500, 1, 1), 0f);
+        }
+    }
+
+    private static float[] sortedDistances(final List<GameObject> gameObjects, final float x, final float y) {
+
+        final float[] distances = new float[gameObjects.size()];
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            distances[i] = squaredDistance(gameObjects.get(i).getHitbox().getTransform(), x, y);
+        }
+
+        Arrays.sort(distances);
+        return distances;
+    }
+
+    private static float[] rayDistances(final List<GameObject> gameObjects, final float originX, final float originY,
+                                        final float directionX, final float directionY, final float maxDistance, final int layerMask) {
+
+        final float[] distances = new float[gameObjects.size()];
+        int count = 0;
+
+        for (int i = 0; i < gameObjects.size(); i++) {
+            final GameObject gameObject = gameObjects.get(i);
+
+            if ((layerMask & CollisionMatrix.layerBit(gameObject.getCollisionLayer())) != 0) {
+                final float distance = rayDistance(gameObject.getHitbox().getTransform(), originX, originY, directionX, directionY);
+
+                if (distance >= 0f && distance <= maxDistance) {
+                    distances[count++] = distance;
+                }
+            }
+        }
+
+        final float[] hits = Arrays.copyOf(distances, count);
+        Arrays.sort(hits);
+        return hits;
+    }
+
+    private static float squaredDistance(final Transform bounds, final float x, final float y) {
+
+        final float deltaX = Math.max(0f, Math.max(bounds.getX() - x, x - bounds.getMaxX()));
+        final float deltaY = Math.max(0f, Math.max(bounds.getY() - y, y - bounds.getMaxY()));
+
+        return deltaX * deltaX + deltaY * deltaY;
+    }
+
+    /**
+     * The distance along the ray at which it enters the bounds, or -1 if it misses them or starts within them.
+     */
+    private static float rayDistance(final Transform bounds, final float originX, final float originY,
+                                     float directionX, float directionY) {
+
+        final float length = (float) Math.sqrt(directionX * directionX + directionY * directionY);
+        directionX /= length;
+        directionY /= length;
+
+        float entry = Float.NEGATIVE_INFINITY;
+        float exit = Float.POSITIVE_INFINITY;
+
+        if (directionX != 0f) {
+            final float first = (bounds.getX() - originX) / directionX;
+            final float second = (bounds.getMaxX() - originX) / directionX;
+
+            entry = Math.max(entry, Math.min(first, second));
+            exit = Math.min(exit, Math.max(first, second));
+        } else if (originX < bounds.getX() || originX > bounds.getMaxX()) {
+            return -1f;
+        }
+
+        if (directionY != 0f) {
+            final float first = (bounds.getY() - originY) / directionY;
+            final float second = (bounds.getMaxY() - originY) / directionY;
+
+            entry = Math.max(entry, Math.min(first, second));
+            exit = Math.min(exit, Math.max(first, second));
+        } else if (originY < bounds.getY() || originY > bounds.getMaxY()) {
+            return -1f;
+        }
+
+        return exit < entry || entry < 0f ? -1f : entry;
+    }
+}